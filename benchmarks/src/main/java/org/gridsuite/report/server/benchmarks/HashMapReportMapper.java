@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.benchmarks;
+
+import org.gridsuite.report.server.dto.Report;
+import org.gridsuite.report.server.entities.ReportProjection;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The mapping of containers to their tree as it was before ReportMapper built it with a stack, through a lookup table
+ * of the mapped containers by id. Kept as the baseline of {@link ReportMapperBenchmark}.
+ */
+final class HashMapReportMapper {
+
+    private HashMapReportMapper() {
+    }
+
+    static Report map(List<ReportProjection> reportProjections) {
+        if (reportProjections == null || reportProjections.isEmpty()) {
+            return null;
+        }
+        Map<UUID, Report> reportsMap = new HashMap<>();
+        Report rootReport = createReportFromNode(reportProjections.get(0));
+        reportsMap.put(reportProjections.get(0).id(), rootReport);
+        reportProjections.subList(1, reportProjections.size()).forEach(entity -> mapReportNodeEntity(entity, reportsMap));
+        return reportsMap.get(reportProjections.get(0).id());
+    }
+
+    private static void mapReportNodeEntity(ReportProjection reportProjection, Map<UUID, Report> reports) {
+        Optional.ofNullable(reports.get(reportProjection.id()))
+            .ifPresentOrElse(
+                report -> report.setSeverity(reportProjection.severity()),
+                () -> Optional.ofNullable(reportProjection.parentId())
+                    .map(reports::get)
+                    .ifPresent(parentReport -> {
+                        Report report = parentReport.addEmptyReport();
+                        report.setMessage(reportProjection.message());
+                        mapValues(reportProjection, report);
+                        reports.put(reportProjection.id(), report);
+                    }));
+    }
+
+    private static Report createReportFromNode(ReportProjection reportProjection) {
+        Report report = new Report();
+        report.setMessage(Optional.ofNullable(reportProjection.message()).orElse(reportProjection.id().toString()));
+        mapValues(reportProjection, report);
+        return report;
+    }
+
+    private static void mapValues(ReportProjection reportProjection, Report report) {
+        report.setSeverity(reportProjection.severity());
+        report.setDepth(reportProjection.depth());
+        report.setId(reportProjection.id());
+        report.setParentId(reportProjection.parentId());
+    }
+}
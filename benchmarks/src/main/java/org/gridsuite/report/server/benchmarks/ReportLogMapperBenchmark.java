@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.benchmarks;
+
+import org.gridsuite.report.server.ReportLogMapper;
+import org.gridsuite.report.server.Severity;
+import org.gridsuite.report.server.dto.ReportLog;
+import org.gridsuite.report.server.entities.ReportProjection;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping the rows of the logs queries to logs, for a page and for an export of a large report.
+ * Rows are leaves of containers of 20 leaves each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportLogMapperBenchmark {
+
+    private static final int LEAVES_PER_CONTAINER = 20;
+
+    private static final Severity[] SEVERITIES = {Severity.TRACE, Severity.INFO, Severity.WARN, Severity.ERROR};
+
+    @Param({"1000", "100000"})
+    public int rowCount;
+
+    private List<ReportProjection> rows;
+
+    @Setup
+    public void setUp() {
+        rows = new ArrayList<>(rowCount);
+        UUID parentId = null;
+        for (int i = 0; i < rowCount; i++) {
+            if (i % LEAVES_PER_CONTAINER == 0) {
+                parentId = UUID.randomUUID();
+            }
+            rows.add(new ReportProjection(UUID.randomUUID(), "Leaf " + i + " of line LINE_" + i % 997,
+                SEVERITIES[i % SEVERITIES.length], 2, parentId, i));
+        }
+    }
+
+    @Benchmark
+    public List<ReportLog> map() {
+        List<ReportLog> logs = new ArrayList<>(rows.size());
+        for (ReportProjection row : rows) {
+            logs.add(ReportLogMapper.map(row));
+        }
+        return logs;
+    }
+}
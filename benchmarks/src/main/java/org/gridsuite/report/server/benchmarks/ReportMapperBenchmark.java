@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.benchmarks;
+
+import org.gridsuite.report.server.ReportMapper;
+import org.gridsuite.report.server.Severity;
+import org.gridsuite.report.server.dto.Report;
+import org.gridsuite.report.server.entities.ReportProjection;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping the containers of a report to their tree, with the stack of ReportMapper against the former lookup table.
+ * Rows are generated in the order of the containers query, for a tree of containers with 10 sub-containers each, a root
+ * with only sub-containers, and a chain of containers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportMapperBenchmark {
+
+    public enum Shape {
+        BALANCED,
+        WIDE,
+        DEEP
+    }
+
+    private static final int BALANCED_FAN_OUT = 10;
+
+    private static final Severity[] SEVERITIES = {Severity.TRACE, Severity.INFO, Severity.WARN, Severity.ERROR};
+
+    @Param({"BALANCED", "WIDE", "DEEP"})
+    public Shape shape;
+
+    @Param({"10000", "100000"})
+    public int containerCount;
+
+    private List<ReportProjection> containers;
+
+    @Setup
+    public void setUp() {
+        containers = generateContainers(shape, containerCount);
+    }
+
+    @Benchmark
+    public Report stack() {
+        return ReportMapper.map(containers);
+    }
+
+    @Benchmark
+    public Report hashMap() {
+        return HashMapReportMapper.map(containers);
+    }
+
+    private static List<ReportProjection> generateContainers(Shape shape, int containerCount) {
+        List<ReportProjection> rows = new ArrayList<>(containerCount);
+        rows.add(new ReportProjection(UUID.randomUUID(), "root", Severity.ERROR, 0, null, 0));
+        switch (shape) {
+            case BALANCED -> addBalancedContainers(rows, rows.get(0), containerCount);
+            case WIDE -> {
+                for (int i = 1; i < containerCount; i++) {
+                    rows.add(newContainer(rows.get(0), i));
+                }
+            }
+            case DEEP -> {
+                for (int i = 1; i < containerCount; i++) {
+                    rows.add(newContainer(rows.get(i - 1), i));
+                }
+            }
+        }
+        return rows;
+    }
+
+    // depth first, like the order of the rows, until the count is reached
+    private static void addBalancedContainers(List<ReportProjection> rows, ReportProjection parent, int containerCount) {
+        int maxDepth = (int) Math.ceil(Math.log(containerCount) / Math.log(BALANCED_FAN_OUT));
+        addBalancedContainers(rows, parent, containerCount, maxDepth);
+    }
+
+    private static void addBalancedContainers(List<ReportProjection> rows, ReportProjection parent, int containerCount, int maxDepth) {
+        for (int i = 0; i < BALANCED_FAN_OUT && parent.depth() < maxDepth && rows.size() < containerCount; i++) {
+            ReportProjection container = newContainer(parent, rows.size());
+            rows.add(container);
+            addBalancedContainers(rows, container, containerCount, maxDepth);
+        }
+    }
+
+    private static ReportProjection newContainer(ReportProjection parent, int order) {
+        return new ReportProjection(UUID.randomUUID(), "container " + order, SEVERITIES[order % SEVERITIES.length],
+            parent.depth() + 1, parent.id(), order);
+    }
+}
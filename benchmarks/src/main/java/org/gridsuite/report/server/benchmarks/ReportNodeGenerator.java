@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.benchmarks;
+
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.commons.report.TypedValue;
+
+import java.util.Random;
+
+/**
+ * Builds synthetic report trees of a given shape and node count. Trees are the same from one run to the other.
+ */
+public final class ReportNodeGenerator {
+
+    public enum Shape {
+        // a root with only leaves
+        WIDE,
+        // a chain of containers, each one also holding one leaf
+        DEEP,
+        // computation steps holding containers of 1 to 40 leaves (one per equipment or contingency),
+        // with mostly INFO and TRACE leaves
+        REALISTIC
+    }
+
+    private static final TypedValue[] SEVERITIES = {
+        TypedValue.TRACE_SEVERITY,
+        TypedValue.INFO_SEVERITY,
+        TypedValue.WARN_SEVERITY,
+        TypedValue.ERROR_SEVERITY
+    };
+
+    private static final int MAX_LEAVES_PER_CONTAINER = 40;
+
+    // one container out of 50 starts a new step
+    private static final int NEW_STEP_ODDS = 50;
+
+    private ReportNodeGenerator() {
+    }
+
+    public static ReportNode generate(Shape shape, int nodeCount) {
+        ReportNode root = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.benchmark")
+            .withMessageTemplate("benchmark.root")
+            .withUntypedValue("nodeCount", nodeCount)
+            .build();
+        switch (shape) {
+            case WIDE -> {
+                for (int i = 1; i < nodeCount; i++) {
+                    addLeaf(root, i);
+                }
+            }
+            case DEEP -> {
+                ReportNode container = root;
+                for (int i = 1; i + 1 < nodeCount; i += 2) {
+                    addLeaf(container, i);
+                    container = addContainer(container, i + 1);
+                }
+            }
+            case REALISTIC -> addRealisticNodes(root, nodeCount);
+        }
+        return root;
+    }
+
+    private static void addRealisticNodes(ReportNode root, int nodeCount) {
+        Random random = new Random(nodeCount);
+        ReportNode step = null;
+        int count = 1;
+        while (count < nodeCount) {
+            if (step == null || random.nextInt(NEW_STEP_ODDS) == 0) {
+                step = addContainer(root, count++);
+                continue;
+            }
+            ReportNode container = addContainer(step, count++);
+            int leafCount = Math.min(nodeCount - count, 1 + random.nextInt(MAX_LEAVES_PER_CONTAINER));
+            for (int i = 0; i < leafCount; i++) {
+                addLeaf(container, count++, realisticSeverity(random));
+            }
+        }
+    }
+
+    private static TypedValue realisticSeverity(Random random) {
+        int percent = random.nextInt(100);
+        if (percent < 60) {
+            return TypedValue.INFO_SEVERITY;
+        } else if (percent < 85) {
+            return TypedValue.TRACE_SEVERITY;
+        } else if (percent < 95) {
+            return TypedValue.WARN_SEVERITY;
+        }
+        return TypedValue.ERROR_SEVERITY;
+    }
+
+    private static ReportNode addContainer(ReportNode parent, int index) {
+        return parent.newReportNode()
+            .withMessageTemplate("benchmark.container")
+            .withUntypedValue("index", index)
+            .add();
+    }
+
+    static void addLeaf(ReportNode parent, int index) {
+        addLeaf(parent, index, SEVERITIES[index % SEVERITIES.length]);
+    }
+
+    private static void addLeaf(ReportNode parent, int index, TypedValue severity) {
+        parent.newReportNode()
+            .withMessageTemplate("benchmark.leaf")
+            .withUntypedValue("index", index)
+            .withUntypedValue("lineId", "LINE_" + index % 997)
+            .withSeverity(severity)
+            .add();
+    }
+}
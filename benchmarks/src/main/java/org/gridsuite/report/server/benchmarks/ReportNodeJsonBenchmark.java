@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.commons.report.ReportNode;
+import org.gridsuite.report.server.ReportNodeStreamReader;
+import org.gridsuite.report.server.WebConfiguration;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a serialized report with the powsybl ReportNodeJsonModule, as a whole and one root child subtree at a time
+ * with the ReportNodeStreamReader used by the server. Deep trees are left out: their nesting goes beyond the limits of
+ * Jackson, which rejects them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportNodeJsonBenchmark {
+
+    @Param({"WIDE", "REALISTIC"})
+    public ReportNodeGenerator.Shape shape;
+
+    @Param({"1000", "100000"})
+    public int nodeCount;
+
+    private ObjectMapper objectMapper;
+
+    private ReportNodeStreamReader streamReader;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = WebConfiguration.createObjectMapper();
+        streamReader = new ReportNodeStreamReader(objectMapper);
+        json = objectMapper.writeValueAsBytes(ReportNodeGenerator.generate(shape, nodeCount));
+    }
+
+    @Benchmark
+    public ReportNode readValue() throws IOException {
+        return objectMapper.readValue(json, ReportNode.class);
+    }
+
+    @Benchmark
+    public void streamed(Blackhole blackhole) throws IOException {
+        streamReader.read(new ByteArrayInputStream(json), new ReportNodeStreamReader.Handler() {
+            @Override
+            public void onRoot(ReportNode root) {
+                blackhole.consume(root);
+            }
+
+            @Override
+            public void onNodeStart(ReportNode node) {
+                blackhole.consume(node);
+            }
+
+            @Override
+            public void onNodeEnd() {
+                // nothing to size
+            }
+
+            @Override
+            public void onEnd() {
+                // nothing to flush
+            }
+        });
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.benchmarks;
+
+import org.gridsuite.report.server.Severity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing the severities of the nodes written and of the filters, which includes names that are not severities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeverityBenchmark {
+
+    private static final String[] VALUES = {"TRACE", "DEBUG", "DETAIL", "INFO", "WARN", "ERROR", "FATAL", "SEVERE", null};
+
+    private static final int[] LEVELS = {0, 1, 2, 3, 4, 5, 6, 7, 8};
+
+    @Benchmark
+    @OperationsPerInvocation(9)
+    public void fromValue(Blackhole blackhole) {
+        for (String value : VALUES) {
+            blackhole.consume(Severity.fromValue(value));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(9)
+    public void fromLevel(Blackhole blackhole) {
+        for (int level : LEVELS) {
+            blackhole.consume(Severity.fromLevel(level));
+        }
+    }
+}
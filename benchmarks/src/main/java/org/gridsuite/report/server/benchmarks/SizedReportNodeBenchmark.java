@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.benchmarks;
+
+import com.powsybl.commons.report.ReportNode;
+import org.gridsuite.report.server.SizedReportNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sizing cost per node must stay constant when the node count grows, whatever the shape of the tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SizedReportNodeBenchmark {
+
+    @Param({"WIDE", "DEEP", "REALISTIC"})
+    public ReportNodeGenerator.Shape shape;
+
+    @Param({"1000", "10000", "100000"})
+    public int nodeCount;
+
+    private ReportNode reportNode;
+
+    @Setup
+    public void setUp() {
+        reportNode = ReportNodeGenerator.generate(shape, nodeCount);
+    }
+
+    @Benchmark
+    public SizedReportNode from() {
+        return SizedReportNode.from(reportNode);
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import jakarta.annotation.Nullable;
+import org.gridsuite.report.server.entities.ReportNodeEntity;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * What the reads of logs, searches, severities and subtrees need from the entity of a report: the bounds and the depth
+ * of its subtree and its severity counts, null until they are counted for nodes written before counts were maintained.
+ * {@code aliasId} is the alias through which the node of its source is read, null if read directly.
+ */
+public record CachedReportNode(UUID rootNodeId, int order, int endOrder, int depth, @Nullable Map<String, Long> severityCounts,
+                               @Nullable UUID aliasId) {
+
+    public CachedReportNode(UUID rootNodeId, int order, int endOrder, int depth, @Nullable Map<String, Long> severityCounts) {
+        this(rootNodeId, order, endOrder, depth, severityCounts, null);
+    }
+
+    public static CachedReportNode of(ReportNodeEntity entity) {
+        return of(entity, null);
+    }
+
+    public static CachedReportNode of(ReportNodeEntity entity, @Nullable UUID aliasId) {
+        return new CachedReportNode(entity.getRootNodeId(), entity.getOrder(), entity.getEndOrder(), entity.getDepth(),
+            entity.getSeverityCounts() == null ? null : copyOf(entity.getSeverityCounts()), aliasId);
+    }
+
+    /**
+     * The root report read: the alias if the node is read through one, the root of the node otherwise.
+     */
+    public UUID rootReportId() {
+        return aliasId != null ? aliasId : rootNodeId;
+    }
+
+    public CachedReportNode withSeverityCounts(Map<String, Long> counts) {
+        return new CachedReportNode(rootNodeId, order, endOrder, depth, copyOf(counts), aliasId);
+    }
+
+    // cached instances are shared between requests, severities stay sorted like in the entities
+    private static Map<String, Long> copyOf(Map<String, Long> counts) {
+        return Collections.unmodifiableMap(new TreeMap<>(counts));
+    }
+}
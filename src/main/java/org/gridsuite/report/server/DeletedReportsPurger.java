@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes the nodes of the reports deleted in background, at most {@code report-server.purge.rows-per-second} nodes
+ * per second on average, so that purging never competes with the writes of new reports.
+ * The limit applies to each instance: instances purge different reports, each one locking the report it purges, so
+ * that the database deletes up to {@code rows-per-second} times the number of instances.
+ */
+@Component
+@ConditionalOnProperty(name = "report-server.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class DeletedReportsPurger {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeletedReportsPurger.class);
+
+    private final ReportService reportService;
+
+    private final int maxRowsPerRun;
+
+    private final int chunkSize;
+
+    public DeletedReportsPurger(ReportService reportService,
+                                @Value("${report-server.purge.rows-per-second:20000}") int rowsPerSecond,
+                                @Value("${report-server.purge.chunk-size:5000}") int chunkSize,
+                                @Value("${report-server.purge.interval-ms:1000}") long intervalMs) {
+        this.reportService = reportService;
+        this.maxRowsPerRun = (int) Math.max(1, rowsPerSecond * intervalMs / 1000);
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${report-server.purge.interval-ms:1000}")
+    public void purge() {
+        int purgedRows = reportService.purgeDeletedReports(maxRowsPerRun, chunkSize);
+        if (purgedRows > 0) {
+            LOGGER.debug("{} nodes of deleted reports purged", purgedRows);
+        }
+    }
+}
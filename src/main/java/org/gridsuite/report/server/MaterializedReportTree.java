@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import jakarta.annotation.Nullable;
+import org.gridsuite.report.server.dto.Report;
+import org.gridsuite.report.server.entities.ReportNodeEntity;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Container tree of a root report, built from the entities while they are written.
+ * Entities must be added in pre-order, so that the parent of a container is always known when the container is added.
+ * Leaves are ignored: the tree holds the same nodes as {@link ReportMapper#map} applied to the containers of the root.
+ * <p>
+ * The tree is stored as a single JSON value, so changing it costs a read and a write of the whole tree. A resumed tree
+ * only records its changes, that is the containers added and the severities changed: appending leaves, the usual case,
+ * costs nothing more than writing them. The changes are applied when the tree is stored, to the tree read while it is
+ * locked, so that concurrent writes to a report do not overwrite each other's containers. Trees with containers deeper
+ * than {@link #MAX_DEPTH} are dropped.
+ */
+public final class MaterializedReportTree {
+
+    // each level nests an object in the array of its parent: deeper trees exceed the nesting depth Jackson writes and reads
+    static final int MAX_DEPTH = 400;
+
+    @Nullable
+    private final ReportNodeEntity appendedEntity;
+
+    @Nullable
+    private final Severity appendedSeverity;
+
+    private Report root;
+
+    private boolean dropped;
+
+    private final Map<Integer, Report> containersByOrder = new HashMap<>();
+
+    // changes of a resumed tree, in the order they were made, until the tree is loaded
+    private final List<Change> changes = new ArrayList<>();
+
+    private record Change(ReportNodeEntity entity, boolean isAdded) { }
+
+    private MaterializedReportTree(@Nullable Report root, @Nullable ReportNodeEntity appendedEntity) {
+        this.root = root;
+        this.appendedEntity = appendedEntity;
+        this.appendedSeverity = appendedEntity != null ? appendedEntity.getSeverity() : null;
+    }
+
+    /**
+     * Starts the tree of a new root report.
+     */
+    public static MaterializedReportTree create(ReportNodeEntity rootEntity) {
+        Report root = new Report();
+        root.setId(rootEntity.getUuid());
+        root.setMessage(Optional.ofNullable(rootEntity.getMessage()).orElse(rootEntity.getUuid().toString()));
+        root.setSeverity(rootEntity.getSeverity());
+        root.setDepth(rootEntity.getDepth());
+        MaterializedReportTree tree = new MaterializedReportTree(root, null);
+        tree.containersByOrder.put(rootEntity.getOrder(), root);
+        return tree;
+    }
+
+    /**
+     * Resumes an existing tree to append nodes under the given entity, before the entity is modified.
+     * The tree is only read by {@link #load}, once all the nodes are appended.
+     */
+    public static MaterializedReportTree resume(ReportNodeEntity appendedEntity) {
+        return new MaterializedReportTree(null, appendedEntity);
+    }
+
+    /**
+     * Reads the stored tree of a resumed tree and applies the changes to it. The tree is dropped if it does not exist or
+     * the appended entity is not one of its containers. Severities are only raised: the stored tree may hold the higher
+     * severity of a concurrent write, appending never lowers them.
+     */
+    public void load(Supplier<Report> rootLoader) {
+        if (root != null || dropped || appendedEntity == null) {
+            return;
+        }
+        root = rootLoader.get();
+        Optional<Report> appendedReport = root == null ? Optional.empty() : find(root, appendedEntity.getUuid());
+        if (appendedReport.isEmpty()) {
+            dropped = true;
+            return;
+        }
+        containersByOrder.put(appendedEntity.getOrder(), appendedReport.get());
+        for (Change change : changes) {
+            if (change.isAdded()) {
+                addContainer(change.entity());
+            } else {
+                raiseSeverity(change.entity());
+            }
+        }
+        changes.clear();
+    }
+
+    private static Optional<Report> find(Report root, UUID id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Deque<Report> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Report report = stack.pop();
+            if (id.equals(report.getId())) {
+                return Optional.of(report);
+            }
+            report.getSubReports().forEach(stack::push);
+        }
+        return Optional.empty();
+    }
+
+    public void add(ReportNodeEntity entity) {
+        if (entity.isLeaf() || entity.getParentOrder() == null || dropped) {
+            return;
+        }
+        if (entity.getDepth() > MAX_DEPTH) {
+            // GET falls back on the containers of the report
+            dropped = true;
+            return;
+        }
+        if (root == null) {
+            changes.add(new Change(entity, true));
+            return;
+        }
+        addContainer(entity);
+    }
+
+    private void addContainer(ReportNodeEntity entity) {
+        Report parent = containersByOrder.get(entity.getParentOrder());
+        if (parent == null) {
+            return;
+        }
+        Report report = parent.addEmptyReport();
+        report.setId(entity.getUuid());
+        report.setParentId(parent.getId());
+        report.setMessage(entity.getMessage());
+        report.setSeverity(entity.getSeverity());
+        report.setDepth(entity.getDepth());
+        containersByOrder.put(entity.getOrder(), report);
+    }
+
+    /**
+     * Reports the severity of an entity already in the tree, which changes when children are appended to it.
+     */
+    public void updateSeverity(ReportNodeEntity entity) {
+        if (root == null) {
+            if (entity != appendedEntity || entity.getSeverity() != appendedSeverity) {
+                changes.add(new Change(entity, false));
+            }
+            return;
+        }
+        Report report = containersByOrder.get(entity.getOrder());
+        if (report != null) {
+            report.setSeverity(entity.getSeverity());
+        }
+    }
+
+    private void raiseSeverity(ReportNodeEntity entity) {
+        Report report = containersByOrder.get(entity.getOrder());
+        if (report != null && (report.getSeverity() == null || entity.getSeverity().getLevel() > report.getSeverity().getLevel())) {
+            report.setSeverity(entity.getSeverity());
+        }
+    }
+
+    /**
+     * Whether the tree has changed and must be stored again, a resumed tree must then be loaded first.
+     */
+    public boolean isModified() {
+        return !dropped && (root != null || !changes.isEmpty());
+    }
+
+    /**
+     * Whether the tree could not be resumed or is too deep, it must then be deleted.
+     */
+    public boolean isDropped() {
+        return dropped;
+    }
+
+    public Report getRoot() {
+        return root;
+    }
+}
@@ -0,0 +1,278 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Bounded in-memory cache of what the frequent polls of a report read: the bounds and severity counts of the nodes
+ * targeted by the API, and the serialized container trees of the root reports.
+ * Entries are evicted by size and after {@code report-server.cache.ttl-seconds}, which also bounds how long an entry
+ * loaded by a read concurrent with a write may stay stale. Reports are invalidated by their id, which removes the
+ * cached nodes of their whole tree, and the invalidation listeners are told so that other instances do the same.
+ * The cached nodes are also indexed by root report, so that the nodes of a tree are removed without going through the
+ * whole cache.
+ * <p>
+ * Entries keep the version of the report read by the request that loaded them, before reading the report. A request
+ * giving the version it returns as ETag only gets an entry loaded at that version, otherwise the entry is loaded again:
+ * the ETag of a response is never newer than its body, even if the invalidation of an entry has not been received yet.
+ * <p>
+ * Hits and misses are published as the {@code cache.gets} metrics.
+ */
+@Component
+public class ReportCache {
+
+    static final String REPORT_NODES_CACHE = "report-nodes";
+
+    static final String REPORT_TREES_CACHE = "report-trees";
+
+    private final boolean enabled;
+
+    // by uuid of root reports, aliases and containers
+    private final Cache<UUID, Versioned<CachedReportNode>> reportNodes;
+
+    // keys of the cached nodes by id of their root report, the alias for the nodes read through one, updated along with
+    // the entries of the nodes
+    private final ConcurrentMap<UUID, Set<UUID>> reportNodeIdsByRoot = new ConcurrentHashMap<>();
+
+    // by id of root reports and aliases
+    private final Cache<UUID, Versioned<String>> reportTrees;
+
+    private final List<Consumer<Set<UUID>>> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    private final List<Runnable> flushListeners = new CopyOnWriteArrayList<>();
+
+    public ReportCache(MeterRegistry meterRegistry,
+                       @Value("${report-server.cache.enabled:true}") boolean enabled,
+                       @Value("${report-server.cache.report-nodes-max-size:10000}") long reportNodesMaxSize,
+                       @Value("${report-server.cache.report-trees-max-size:1000}") long reportTreesMaxSize,
+                       @Value("${report-server.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.enabled = enabled;
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        // the eviction listener is called while the entry is removed, unlike the removal listener
+        this.reportNodes = Caffeine.newBuilder().maximumSize(reportNodesMaxSize).expireAfterWrite(ttl).recordStats()
+            .<UUID, Versioned<CachedReportNode>>evictionListener((reportId, reportNode, cause) -> {
+                if (reportId != null && reportNode != null) {
+                    unindexReportNode(reportId, reportNode.value());
+                }
+            })
+            .build();
+        this.reportTrees = Caffeine.newBuilder().maximumSize(reportTreesMaxSize).expireAfterWrite(ttl).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, reportNodes, REPORT_NODES_CACHE);
+        CaffeineCacheMetrics.monitor(meterRegistry, reportTrees, REPORT_TREES_CACHE);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Listeners are called with the ids of the reports invalidated by this instance, in the transaction of the write if any.
+     */
+    public void addInvalidationListener(Consumer<Set<UUID>> listener) {
+        invalidationListeners.add(listener);
+    }
+
+    /**
+     * Listeners are called when the whole cache is invalidated by this instance.
+     */
+    public void addFlushListener(Runnable listener) {
+        flushListeners.add(listener);
+    }
+
+    /**
+     * Value of an entry and the version of its report read before it was loaded, null if unknown.
+     */
+    private record Versioned<T>(@Nullable Long version, T value) {
+
+        // any entry matches a request that does not give a version
+        private boolean matches(@Nullable Long requestedVersion) {
+            return requestedVersion == null || requestedVersion.equals(version);
+        }
+    }
+
+    /**
+     * Returns the cached node of a report, or loads it. Nothing is cached when the loader returns null.
+     */
+    @Nullable
+    public CachedReportNode getReportNode(UUID reportId, Function<UUID, CachedReportNode> loader) {
+        return getReportNode(reportId, null, loader);
+    }
+
+    /**
+     * Returns the cached node of a report loaded at the given version of the report, or loads it.
+     */
+    @Nullable
+    public CachedReportNode getReportNode(UUID reportId, @Nullable Long version, Function<UUID, CachedReportNode> loader) {
+        if (!enabled) {
+            return loader.apply(reportId);
+        }
+        Versioned<CachedReportNode> reportNode = reportNodes.get(reportId, id -> loadReportNode(id, version, loader));
+        if (reportNode != null && !reportNode.matches(version)) {
+            // loaded at another version, which is replaced
+            reportNode = reportNodes.asMap().compute(reportId, (id, cachedReportNode) -> {
+                if (cachedReportNode != null && cachedReportNode.matches(version)) {
+                    return cachedReportNode;
+                }
+                if (cachedReportNode != null) {
+                    unindexReportNode(id, cachedReportNode.value());
+                }
+                return loadReportNode(id, version, loader);
+            });
+        }
+        return reportNode != null ? reportNode.value() : null;
+    }
+
+    // called while the entry is computed, so that it is indexed before it can be removed
+    @Nullable
+    private Versioned<CachedReportNode> loadReportNode(UUID reportId, @Nullable Long version, Function<UUID, CachedReportNode> loader) {
+        CachedReportNode reportNode = loader.apply(reportId);
+        if (reportNode == null) {
+            return null;
+        }
+        reportNodeIdsByRoot.compute(reportNode.rootReportId(), (rootReportId, reportIds) -> {
+            Set<UUID> indexedIds = reportIds != null ? reportIds : ConcurrentHashMap.newKeySet();
+            indexedIds.add(reportId);
+            return indexedIds;
+        });
+        return new Versioned<>(version, reportNode);
+    }
+
+    private void unindexReportNode(UUID reportId, CachedReportNode reportNode) {
+        reportNodeIdsByRoot.computeIfPresent(reportNode.rootReportId(), (rootReportId, reportIds) -> {
+            reportIds.remove(reportId);
+            return reportIds.isEmpty() ? null : reportIds;
+        });
+    }
+
+    private void removeReportNode(UUID reportId) {
+        reportNodes.asMap().computeIfPresent(reportId, (id, reportNode) -> {
+            unindexReportNode(id, reportNode.value());
+            return null;
+        });
+    }
+
+    // package private for tests
+    @Nullable
+    CachedReportNode getCachedReportNode(UUID reportId) {
+        Versioned<CachedReportNode> reportNode = reportNodes.getIfPresent(reportId);
+        return reportNode != null ? reportNode.value() : null;
+    }
+
+    /**
+     * Replaces the cached node of a report, unless it has been invalidated or replaced since it was read.
+     */
+    public void replaceReportNode(UUID reportId, CachedReportNode reportNode, CachedReportNode newReportNode) {
+        if (enabled) {
+            reportNodes.asMap().computeIfPresent(reportId, (id, cachedReportNode) -> cachedReportNode.value().equals(reportNode) ?
+                new Versioned<>(cachedReportNode.version(), newReportNode) : cachedReportNode);
+        }
+    }
+
+    /**
+     * Returns the cached container tree of a root report, or loads it. Nothing is cached when the loader returns null.
+     */
+    @Nullable
+    public String getReportTree(UUID reportId, Function<UUID, String> loader) {
+        return getReportTree(reportId, null, loader);
+    }
+
+    /**
+     * Returns the cached container tree of a root report loaded at the given version of the report, or loads it.
+     */
+    @Nullable
+    public String getReportTree(UUID reportId, @Nullable Long version, Function<UUID, String> loader) {
+        if (!enabled) {
+            return loader.apply(reportId);
+        }
+        Function<UUID, Versioned<String>> versionedLoader = id -> {
+            String reportTree = loader.apply(id);
+            return reportTree != null ? new Versioned<>(version, reportTree) : null;
+        };
+        Versioned<String> reportTree = reportTrees.get(reportId, versionedLoader);
+        if (reportTree != null && !reportTree.matches(version)) {
+            // loaded at another version, which is replaced
+            reportTree = reportTrees.asMap().compute(reportId, (id, cachedReportTree) ->
+                cachedReportTree != null && cachedReportTree.matches(version) ? cachedReportTree : versionedLoader.apply(id));
+        }
+        return reportTree != null ? reportTree.value() : null;
+    }
+
+    /**
+     * Removes the given reports and the nodes of their trees. Inside a transaction, they are removed again once it is
+     * completed, so that the values read by concurrent requests before the commit do not stay in the cache.
+     */
+    public void invalidate(Collection<UUID> reportIds) {
+        if (!enabled || reportIds.isEmpty()) {
+            return;
+        }
+        Set<UUID> invalidatedIds = Set.copyOf(reportIds);
+        evict(invalidatedIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(invalidatedIds);
+                }
+            });
+        }
+        invalidationListeners.forEach(listener -> listener.accept(invalidatedIds));
+    }
+
+    /**
+     * Removes the given reports and the nodes of their trees from this instance only.
+     */
+    public void evict(Set<UUID> reportIds) {
+        reportTrees.invalidateAll(reportIds);
+        for (UUID reportId : reportIds) {
+            removeReportNode(reportId);
+            Set<UUID> treeNodeIds = reportNodeIdsByRoot.get(reportId);
+            if (treeNodeIds != null) {
+                List.copyOf(treeNodeIds).forEach(this::removeReportNode);
+            }
+        }
+    }
+
+    /**
+     * Removes all the entries, when the invalidated reports are not known one by one, and tells the flush listeners so
+     * that other instances do the same.
+     */
+    public void invalidateAll() {
+        if (!enabled) {
+            return;
+        }
+        evictAll();
+        flushListeners.forEach(Runnable::run);
+    }
+
+    /**
+     * Removes all the entries from this instance only.
+     */
+    public void evictAll() {
+        List.copyOf(reportNodes.asMap().keySet()).forEach(this::removeReportNode);
+        reportTrees.invalidateAll();
+    }
+}
@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.gridsuite.report.server.utils.DatabaseUtil;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Propagates the invalidations of the {@link ReportCache} to the other instances of the server through PostgreSQL
+ * notifications. The ids of the invalidated reports are sent with {@code pg_notify}, which PostgreSQL only delivers once
+ * the transaction of the write is committed, and every instance listens on a connection of its own to evict them.
+ * Invalidations of the whole cache, when the invalidated reports are not known one by one, are sent as a flush.
+ * This connection is taken from the pool for the lifetime of the instance.
+ * <p>
+ * Notifications sent while the listening connection is down are lost, so the whole cache is flushed whenever the
+ * connection is established again. Invalidations that cannot be sent are logged, the other instances then keep the
+ * entries until their time to live. Nothing is sent on other databases (H2 in tests) or when the cache is disabled.
+ */
+@Component
+@ConditionalOnProperty(name = "report-server.cache.invalidation-bus.enabled", havingValue = "true", matchIfMissing = true)
+public class ReportCacheInvalidationBus {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportCacheInvalidationBus.class);
+
+    private static final String CHANNEL = "report_cache_invalidation";
+
+    // payloads are limited to 8000 bytes, 100 ids take less than 4000
+    private static final int MAX_IDS_PER_NOTIFICATION = 100;
+
+    private static final String SENDER_SEPARATOR = ":";
+
+    private static final String ID_SEPARATOR = ",";
+
+    // payload sent instead of the ids to flush the whole cache
+    private static final String FLUSH = "*";
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final DataSource dataSource;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ReportCache reportCache;
+
+    private final boolean enabled;
+
+    private final int pollTimeoutMs;
+
+    private final long reconnectDelayMs;
+
+    // notifications sent by this instance are ignored, its cache is already invalidated
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+
+    // backend of the listening connection, 0 while not listening
+    private volatile int listenerPid;
+
+    private Thread listener;
+
+    public ReportCacheInvalidationBus(DataSource dataSource, ReportCache reportCache,
+                                      @Value("${report-server.cache.invalidation-bus.poll-timeout-ms:10000}") int pollTimeoutMs,
+                                      @Value("${report-server.cache.invalidation-bus.reconnect-delay-ms:5000}") long reconnectDelayMs) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.reportCache = reportCache;
+        this.enabled = reportCache.isEnabled() && DatabaseUtil.isPostgreSql(dataSource);
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        reportCache.addInvalidationListener(this::publish);
+        reportCache.addFlushListener(this::publishFlush);
+        running = true;
+        listener = new Thread(this::listen, "report-cache-invalidation");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener.join(pollTimeoutMs);
+        }
+    }
+
+    /**
+     * Sends the ids of the invalidated reports to the other instances, on the connection of the current transaction if any.
+     * Outside of a transaction, the write is already committed when this fails, so the failure is only logged.
+     */
+    public void publish(Set<UUID> reportIds) {
+        List<UUID> ids = new ArrayList<>(reportIds);
+        try {
+            for (int i = 0; i < ids.size(); i += MAX_IDS_PER_NOTIFICATION) {
+                String payload = instanceId + SENDER_SEPARATOR + ids.subList(i, Math.min(ids.size(), i + MAX_IDS_PER_NOTIFICATION)).stream()
+                    .map(UUID::toString)
+                    .collect(Collectors.joining(ID_SEPARATOR));
+                sendNotification(payload);
+            }
+        } catch (DataAccessException e) {
+            LOGGER.warn("Invalidation of {} reports not sent to the other instances, their caches expire them", ids.size(), e);
+        }
+    }
+
+    /**
+     * Tells the other instances to flush their whole cache. The failure is only logged, as for the ids.
+     */
+    public void publishFlush() {
+        try {
+            sendNotification(instanceId + SENDER_SEPARATOR + FLUSH);
+        } catch (DataAccessException e) {
+            LOGGER.warn("Flush of the report cache not sent to the other instances, their caches expire the reports", e);
+        }
+    }
+
+    private void sendNotification(String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) resultSet -> null, CHANNEL, payload);
+    }
+
+    // package private for tests
+    int getListenerPid() {
+        return listenerPid;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                // LISTEN only takes effect once committed
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // invalidations sent before this point are lost, including those sent while reconnecting
+                reportCache.evictAll();
+                LOGGER.info("Listening to report cache invalidations");
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                listenerPid = pgConnection.getBackendPID();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null && notifications.length > 0) {
+                        for (PGNotification notification : notifications) {
+                            evict(notification.getParameter());
+                        }
+                    } else if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                        // a connection lost without being closed by the server is only noticed when it is used
+                        throw new SQLException("Report cache invalidation connection lost");
+                    }
+                }
+            } catch (SQLException e) {
+                listenerPid = 0;
+                if (running) {
+                    LOGGER.warn("Report cache invalidations are not received, reconnecting in {} ms", reconnectDelayMs, e);
+                    waitBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    private void waitBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private void evict(String payload) {
+        int senderEnd = payload.indexOf(SENDER_SEPARATOR);
+        if (senderEnd < 0 || payload.substring(0, senderEnd).equals(instanceId)) {
+            return;
+        }
+        if (payload.substring(senderEnd + 1).equals(FLUSH)) {
+            reportCache.evictAll();
+            return;
+        }
+        Set<UUID> reportIds = new HashSet<>();
+        for (String id : payload.substring(senderEnd + 1).split(ID_SEPARATOR)) {
+            try {
+                reportIds.add(UUID.fromString(id));
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Invalid report id {} in cache invalidation", id);
+            }
+        }
+        reportCache.evict(reportIds);
+    }
+}
@@ -9,17 +9,28 @@ package org.gridsuite.report.server;
 import com.powsybl.commons.report.ReportNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.Nullable;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.gridsuite.report.server.dto.IngestionTicket;
 import org.gridsuite.report.server.dto.MatchPosition;
 import org.gridsuite.report.server.dto.Report;
 import org.gridsuite.report.server.dto.ReportLog;
+import org.gridsuite.report.server.dto.ReportLogSlice;
+import org.gridsuite.report.server.dto.ReportLogsExportFormat;
 import org.gridsuite.report.server.dto.ReportPage;
+import org.gridsuite.report.server.dto.ReportSubtree;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -32,13 +43,20 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * @author Jacques Borsenberger <jacques.borsenberger at rte-france.com>
@@ -50,33 +68,102 @@ public class ReportController {
 
     private final ReportService service;
 
-    public ReportController(ReportService service) {
+    private final ReportIngestionQueue ingestionQueue;
+
+    // the exports of large reports outlast the default timeout of the asynchronous requests, none by default
+    private final long exportTimeoutMs;
+
+    public ReportController(ReportService service, ReportIngestionQueue ingestionQueue,
+                            @Value("${report-server.logs-export.timeout-ms:-1}") long exportTimeoutMs) {
         this.service = service;
+        this.ingestionQueue = ingestionQueue;
+        this.exportTimeoutMs = exportTimeoutMs;
     }
 
     @GetMapping(value = "/reports/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Get the elements of a report, its reporters, and their subreporters")
-    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The elements of the report, reporters and subreporters")})
-    public ResponseEntity<Report> getReport(@PathVariable("id") UUID id,
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The elements of the report, reporters and subreporters",
+        content = @Content(schema = @Schema(implementation = Report.class)))})
+    public ResponseEntity<Object> getReport(@PathVariable("id") UUID id,
                                             @Parameter(description = "Empty report with default name") @RequestParam(name = "defaultName", required = false,
-                                                    defaultValue = "defaultName") String defaultName) {
+                                                    defaultValue = "defaultName") String defaultName,
+                                            WebRequest request) {
         try {
-            Report report = service.getReport(id);
+            Long version = service.getReportVersion(id).orElse(null);
+            String eTag = eTagOf(version);
+            if (eTag != null && request.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            // the report is already serialized, it is written as is
+            String report = service.getReportJson(id, version);
             return report == null ?
                 ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(service.getEmptyReport(id, defaultName)) :
-                ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(report);
+                okWithETag(eTag).body(report.getBytes(StandardCharsets.UTF_8));
         } catch (EntityNotFoundException ignored) {
             return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(service.getEmptyReport(id, defaultName));
         }
     }
 
+    @GetMapping(value = "/reports/{id}/subtree", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get a reporter and its subreporters down to a given depth, with the number of subreporters of each")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The reporter and its subreporters down to the depth"),
+        @ApiResponse(responseCode = "400", description = "The depth is negative"),
+        @ApiResponse(responseCode = "404", description = "The reporter does not exist")})
+    public ResponseEntity<ReportSubtree> getReportSubtree(@PathVariable("id") UUID id,
+                                                          @Parameter(description = "Number of levels of subreporters below the reporter") @RequestParam(name = "depth",
+                                                                  required = false, defaultValue = "2") int depth,
+                                                          WebRequest request) {
+        if (depth < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        Long version = service.getReportVersion(id).orElse(null);
+        String eTag = eTagOf(version);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return service.getReportSubtree(id, depth, version)
+            .map(subtree -> okWithETag(eTag).body(subtree))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @GetMapping(value = "/reports/{id}/aggregated-severities", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Get the severities of the report")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The severities of the report")})
-    public ResponseEntity<Set<String>> getReportAggregatedSeverities(@PathVariable("id") UUID id) {
-        return ResponseEntity.ok()
-            .contentType(MediaType.APPLICATION_JSON)
-            .body(service.getReportAggregatedSeverities(id));
+    public ResponseEntity<Set<String>> getReportAggregatedSeverities(@PathVariable("id") UUID id, WebRequest request) {
+        Long version = service.getReportVersion(id).orElse(null);
+        String eTag = eTagOf(version);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return okWithETag(eTag).body(service.getReportAggregatedSeverities(id, version));
+    }
+
+    @GetMapping(value = "/reports/{id}/aggregated-severities/counts", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the number of elements of each severity in the report")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The number of elements of each severity in the report, the report included")})
+    public ResponseEntity<Map<String, Long>> getReportSeverityCounts(@PathVariable("id") UUID id, WebRequest request) {
+        Long version = service.getReportVersion(id).orElse(null);
+        String eTag = eTagOf(version);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return okWithETag(eTag).body(service.getReportSeverityCounts(id, version));
+    }
+
+    /**
+     * The version of the report, which changes with every write to it, is the strong ETag of its representations:
+     * a client sending it back in If-None-Match gets a 304 without the report being read. The version is given to the
+     * service along with the request, so that the body is not read from a cache entry loaded at another version.
+     */
+    @Nullable
+    private static String eTagOf(@Nullable Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    // clients must revalidate what they keep, the report may be written to at any time
+    private static ResponseEntity.BodyBuilder okWithETag(@Nullable String eTag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        return eTag == null ? builder : builder.eTag(eTag).cacheControl(CacheControl.noCache());
     }
 
     @GetMapping(value = "/reports/{id}/logs", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -88,17 +175,47 @@ public class ReportController {
                                                                  required = false) String messageFilter,
                                                          @Parameter(description = "Filter on severity levels. Will only return elements with those severities") @RequestParam(name = "severityLevels",
                                                                  required = false) Set<String> severityLevelsFilter,
+                                                         @Parameter(description = "Minimum severity. Will only return elements of this severity or higher") @RequestParam(name = "minSeverity",
+                                                                 required = false) Severity minSeverity,
                                                          @Parameter(description = "Whether we want paged logs") @RequestParam(name = "paged", required = false, defaultValue = "false") boolean paged,
-                                                         Pageable pageable) {
+                                                         Pageable pageable,
+                                                         WebRequest request) {
         try {
-            return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(new ReportPage(service.getReportLogs(id, severityLevelsFilter, decodeMessageFilter(messageFilter), paged, pageable)));
+            Long version = service.getReportVersion(id).orElse(null);
+            String eTag = eTagOf(version);
+            if (eTag != null && request.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            return okWithETag(eTag)
+                .body(new ReportPage(service.getReportLogs(id, severityLevelsFilter, minSeverity, decodeMessageFilter(messageFilter), paged, pageable, version)));
         } catch (EntityNotFoundException ignored) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    @GetMapping(value = "/reports/{id}/logs/scroll", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get a slice of the messages, severity and the parent id contained in the report, by keyset pagination")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The slice of messages following the cursor, and the cursor of the next slice"),
+        @ApiResponse(responseCode = "400", description = "The cursor or the size is invalid")})
+    public ResponseEntity<ReportLogSlice> getReportLogsSlice(@PathVariable("id") UUID id,
+                                                             @Parameter(description = "Filter on message. Will only return elements containing the filter message in them.") @RequestParam(name = "message",
+                                                                     required = false) String messageFilter,
+                                                             @Parameter(description = "Filter on severity levels. Will only return elements with those severities") @RequestParam(name = "severityLevels",
+                                                                     required = false) Set<String> severityLevelsFilter,
+                                                             @Parameter(description = "Minimum severity. Will only return elements of this severity or higher") @RequestParam(name = "minSeverity",
+                                                                     required = false) Severity minSeverity,
+                                                             @Parameter(description = "Cursor returned with the previous slice, none for the first slice") @RequestParam(name = "cursor",
+                                                                     required = false) String cursor,
+                                                             @Parameter(description = "Maximum number of messages in the slice") @RequestParam(name = "size", required = false, defaultValue = "100") int size,
+                                                             @Parameter(description = "Whether the total number of messages must be counted") @RequestParam(name = "count", required = false, defaultValue = "false") boolean count) {
+        if (size <= 0 || cursor != null && !ReportService.isValidCursor(cursor)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(service.getReportLogsSlice(id, severityLevelsFilter, minSeverity, decodeMessageFilter(messageFilter), cursor, size, count));
+    }
+
     @GetMapping(value = "/reports/logs", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Get a paged list of logs from multiple reports")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "A page of logs from multiple reports")})
@@ -115,6 +232,49 @@ public class ReportController {
             .body(service.getMultipleReportsLogsPage(reportIds, severityLevelsFilter, decodeMessageFilter(messageFilter), paged, pageable));
     }
 
+    @GetMapping(value = "/reports/{id}/logs/export")
+    @Operation(summary = "Export the messages, severity and the parent id contained in the report, streamed as NDJSON or CSV")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The messages of the report and its subreports")})
+    public WebAsyncTask<Void> exportReportLogs(@PathVariable("id") UUID id,
+                                                                  @Parameter(description = "Filter on message. Will only return elements containing the filter message in them.") @RequestParam(name = "message",
+                                                                          required = false) String messageFilter,
+                                                                  @Parameter(description = "Filter on severity levels. Will only return elements with those severities") @RequestParam(name = "severityLevels",
+                                                                          required = false) Set<String> severityLevelsFilter,
+                                                                  @Parameter(description = "Minimum severity. Will only return elements of this severity or higher") @RequestParam(name = "minSeverity",
+                                                                          required = false) Severity minSeverity,
+                                                                  @Parameter(description = "Export format") @RequestParam(name = "format", required = false, defaultValue = "NDJSON") ReportLogsExportFormat format,
+                                                                  HttpServletResponse response) {
+        String decodedMessageFilter = decodeMessageFilter(messageFilter);
+        return exportTask(format, response, outputStream -> service.exportReportLogs(id, severityLevelsFilter, minSeverity, decodedMessageFilter, format, outputStream));
+    }
+
+    @GetMapping(value = "/reports/logs/export")
+    @Operation(summary = "Export the logs of multiple reports, streamed as NDJSON or CSV")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The logs of the reports, in the order of the given report ids")})
+    public WebAsyncTask<Void> exportReportLogsFromMultipleReports(
+            @Parameter(description = "List of report UUIDs to export logs from") @RequestParam("reportIds") List<UUID> reportIds,
+            @Parameter(description = "Filter on message. Will only return elements containing the filter message in them.") @RequestParam(name = "message", required = false) String messageFilter,
+            @Parameter(description = "Filter on severity levels. Will only return elements with those severities") @RequestParam(name = "severityLevels",
+                    required = false) Set<String> severityLevelsFilter,
+            @Parameter(description = "Export format") @RequestParam(name = "format", required = false, defaultValue = "NDJSON") ReportLogsExportFormat format,
+            HttpServletResponse response) {
+        String decodedMessageFilter = decodeMessageFilter(messageFilter);
+        return exportTask(format, response, outputStream -> service.exportMultipleReportsLogs(reportIds, severityLevelsFilter, decodedMessageFilter, format, outputStream));
+    }
+
+    /**
+     * Streams an export to the response like a {@link StreamingResponseBody}, but with the timeout of the exports
+     * instead of the default timeout of the asynchronous requests.
+     */
+    private WebAsyncTask<Void> exportTask(ReportLogsExportFormat format, HttpServletResponse response, StreamingResponseBody export) {
+        return new WebAsyncTask<>(exportTimeoutMs, () -> {
+            response.setContentType(format.getMediaType().toString());
+            export.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
     @GetMapping("/reports/{id}/logs/search")
     @Operation(summary = "Get the positions of the search term matches in the logs")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The positions of the search term matches in the logs")})
@@ -123,11 +283,13 @@ public class ReportController {
             @Parameter(description = "Filter on message. Will only return elements containing the filter message in them.") @RequestParam(name = "message", required = false) String messageFilter,
             @Parameter(description = "Filter on severity levels. Will only return elements with those severities") @RequestParam(name = "severityLevels",
                     required = false) Set<String> severityLevelsFilter,
+            @Parameter(description = "Minimum severity. Will only return elements of this severity or higher") @RequestParam(name = "minSeverity",
+                    required = false) Severity minSeverity,
             @Parameter(description = "The search term to look for in the logs") @RequestParam(name = "searchTerm") String searchTerm,
             @Parameter(description = "The page size for the search results") @RequestParam(name = "pageSize") int pageSize) {
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_JSON)
-                .body(service.searchTermMatchesInFilteredLogs(id, severityLevelsFilter, decodeMessageFilter(messageFilter), searchTerm, pageSize));
+                .body(service.searchTermMatchesInFilteredLogs(id, severityLevelsFilter, minSeverity, decodeMessageFilter(messageFilter), searchTerm, pageSize));
     }
 
     @GetMapping(value = "reports/logs/search")
@@ -152,6 +314,41 @@ public class ReportController {
         service.createReport(id, reportNode);
     }
 
+    @PutMapping(value = "reports/{id}/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create or append to report, reading the report body as a stream for large reports")
+    @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The reports have been successfully created or updated")})
+    public void createReportFromStream(@PathVariable("id") UUID id, InputStream reportNodeJson) throws IOException {
+        service.createReport(id, reportNodeJson);
+    }
+
+    @PutMapping(value = "reports/{id}/async", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Queue a report to be created or appended asynchronously")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "The report has been queued; the ingestion ticket is returned in the body"),
+        @ApiResponse(responseCode = "503", description = "The ingestion queue is full, retry later")
+    })
+    public ResponseEntity<IngestionTicket> createReportAsync(@PathVariable("id") UUID id, @RequestBody ReportNode reportNode) {
+        try {
+            return ResponseEntity.accepted()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ingestionQueue.submit(id, reportNode));
+        } catch (RejectedExecutionException ignored) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+    }
+
+    @GetMapping(value = "reports/ingestions/{ticketId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the status of an asynchronous report ingestion")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "The ingestion ticket"),
+        @ApiResponse(responseCode = "404", description = "The ticket is unknown or has expired")
+    })
+    public ResponseEntity<IngestionTicket> getIngestionTicket(@PathVariable("ticketId") UUID ticketId) {
+        return ingestionQueue.getTicket(ticketId)
+            .map(ticket -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(ticket))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @PutMapping(value = "reports/{id}/replace", consumes = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Create or replace report children")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The report has been successfully created or replaced")})
@@ -208,8 +405,14 @@ public class ReportController {
     @DeleteMapping(value = "reports", consumes = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "delete reports by their UUIDs")
     @ApiResponses(value = {@ApiResponse(responseCode = "200", description = "The reports have been deleted")})
-    public ResponseEntity<Void> deleteReports(@Parameter(description = "list of reports UUIDs to delete") @RequestBody List<UUID> reportUuids) {
-        service.deleteReports(reportUuids);
+    public ResponseEntity<Void> deleteReports(@Parameter(description = "list of reports UUIDs to delete") @RequestBody List<UUID> reportUuids,
+                                              @Parameter(description = "Hide the reports at once and delete their nodes in background") @RequestParam(name = "purgeInBackground", required = false,
+                                                      defaultValue = "false") boolean purgeInBackground) {
+        if (purgeInBackground) {
+            service.deleteReportsInBackground(reportUuids);
+        } else {
+            service.deleteReports(reportUuids);
+        }
         return ResponseEntity.ok().build();
     }
 
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import com.powsybl.commons.report.ReportNode;
+import jakarta.annotation.PreDestroy;
+import org.gridsuite.report.server.dto.IngestionTicket;
+import org.gridsuite.report.server.entities.ReportIngestionTicketEntity;
+import org.gridsuite.report.server.repositories.ReportIngestionTicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded write-behind queue for report ingestion, so that callers don't wait for the database.
+ * The writes to a root report, including those to its containers, are always handled by the same single-threaded
+ * worker, so that they are applied in submission order. When the queue of a worker is full, submissions are rejected
+ * instead of piling up, and the queued reports are drained when the application shuts down.
+ * Ordering is only guaranteed between asynchronous submissions to the same instance, not with synchronous writes or
+ * with submissions to other instances, which are only serialized by the database.
+ * <p>
+ * Tickets are stored, so that they can be read from any instance, and deleted
+ * {@code report-server.async-ingestion.ticket-ttl-minutes} after their last update. The tickets of an instance stopped
+ * without being drained stay pending until then.
+ */
+@Service
+public class ReportIngestionQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportIngestionQueue.class);
+
+    private final ReportService reportService;
+
+    private final ThreadPoolExecutor[] workers;
+
+    private final long drainTimeoutSeconds;
+
+    private final ReportIngestionTicketRepository ticketRepository;
+
+    private final Duration ticketTtl;
+
+    public ReportIngestionQueue(ReportService reportService,
+                                ReportIngestionTicketRepository ticketRepository,
+                                @Value("${report-server.async-ingestion.workers:4}") int workerCount,
+                                @Value("${report-server.async-ingestion.queue-capacity:256}") int queueCapacity,
+                                @Value("${report-server.async-ingestion.drain-timeout-seconds:120}") long drainTimeoutSeconds,
+                                @Value("${report-server.async-ingestion.ticket-ttl-minutes:1440}") long ticketTtlMinutes) {
+        this.reportService = reportService;
+        this.ticketRepository = ticketRepository;
+        this.ticketTtl = Duration.ofMinutes(ticketTtlMinutes);
+        this.drainTimeoutSeconds = drainTimeoutSeconds;
+        this.workers = new ThreadPoolExecutor[workerCount];
+        int workerQueueCapacity = Math.max(1, queueCapacity / workerCount);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("report-ingestion-");
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerQueueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    /**
+     * @throws RejectedExecutionException when the queue is full or the application is shutting down
+     */
+    public IngestionTicket submit(UUID reportId, ReportNode reportNode) {
+        IngestionTicket ticket = new IngestionTicket(UUID.randomUUID(), reportId, IngestionTicket.Status.PENDING, null);
+        // a container is written along with its root, by the worker of its root
+        UUID rootReportId = reportService.getRootReportId(reportId);
+        ticketRepository.save(ReportIngestionTicketEntity.of(ticket));
+        try {
+            workers[Math.floorMod(rootReportId.hashCode(), workers.length)].execute(() -> ingest(ticket, reportNode));
+        } catch (RejectedExecutionException e) {
+            ticketRepository.deleteById(ticket.ticketId());
+            throw e;
+        }
+        return ticket;
+    }
+
+    public Optional<IngestionTicket> getTicket(UUID ticketId) {
+        return ticketRepository.findById(ticketId).map(ReportIngestionTicketEntity::toDto);
+    }
+
+    @Scheduled(fixedDelayString = "${report-server.async-ingestion.ticket-expiry-interval-ms:600000}")
+    public void expireTickets() {
+        int expiredTickets = ticketRepository.deleteAllUpdatedBefore(Instant.now().minus(ticketTtl));
+        if (expiredTickets > 0) {
+            LOGGER.debug("{} expired ingestion tickets deleted", expiredTickets);
+        }
+    }
+
+    private void updateTicket(IngestionTicket ticket, IngestionTicket.Status status, String error) {
+        ticketRepository.updateStatus(ticket.ticketId(), status, error, Instant.now());
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void ingest(IngestionTicket ticket, ReportNode reportNode) {
+        updateTicket(ticket, IngestionTicket.Status.RUNNING, null);
+        try {
+            reportService.createReport(ticket.reportId(), reportNode);
+            updateTicket(ticket, IngestionTicket.Status.DONE, null);
+        } catch (RuntimeException e) {
+            LOGGER.error("Asynchronous ingestion of report {} failed", ticket.reportId(), e);
+            updateTicket(ticket, IngestionTicket.Status.FAILED, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        for (ExecutorService worker : workers) {
+            worker.shutdown();
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(drainTimeoutSeconds);
+        try {
+            for (ExecutorService worker : workers) {
+                if (!worker.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    LOGGER.warn("Report ingestion queue not drained after {} seconds, {} reports are lost",
+                        drainTimeoutSeconds, worker.shutdownNow().size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
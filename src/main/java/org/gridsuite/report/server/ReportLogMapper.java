@@ -9,6 +9,9 @@ package org.gridsuite.report.server;
 import org.gridsuite.report.server.dto.ReportLog;
 import org.gridsuite.report.server.entities.ReportProjection;
 
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
 /**
  * @author Joris Mancini <joris.mancini_externe at rte-france.com>
  */
@@ -19,6 +22,11 @@ public final class ReportLogMapper {
     }
 
     public static ReportLog map(ReportProjection entity) {
-        return new ReportLog(entity.message(), Severity.fromValue(entity.severity()), entity.depth(), entity.parentId());
+        return new ReportLog(entity.message(), entity.severity(), entity.depth(), entity.parentId());
+    }
+
+    // the logs read through an alias reference the uuids the alias gives to the nodes of its source
+    public static ReportLog map(ReportProjection entity, UnaryOperator<UUID> nodeUuids) {
+        return new ReportLog(entity.message(), entity.severity(), entity.depth(), nodeUuids.apply(entity.parentId()));
     }
 }
@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.gridsuite.report.server.dto.ReportLog;
+import org.gridsuite.report.server.dto.ReportLogsExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes report logs one by one in an export format. The output stream is flushed but never closed.
+ */
+final class ReportLogsWriter {
+
+    private static final String CSV_HEADER = "message,severity,depth,parentId";
+
+    private static final String CSV_FORMULA_CHARS = "=+-@\t\r";
+
+    private final ReportLogsExportFormat format;
+
+    private final Writer writer;
+
+    private final ObjectWriter jsonWriter;
+
+    ReportLogsWriter(ReportLogsExportFormat format, OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        this.jsonWriter = objectMapper.writerFor(ReportLog.class);
+        if (format == ReportLogsExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+    }
+
+    void write(ReportLog log) throws IOException {
+        switch (format) {
+            case NDJSON -> writer.write(jsonWriter.writeValueAsString(log));
+            case CSV -> {
+                writer.write(escapeCsv(log.getMessage()));
+                writer.write(',');
+                writer.write(log.getSeverity().toString());
+                writer.write(',');
+                writer.write(Integer.toString(log.getDepth()));
+                writer.write(',');
+                writer.write(log.getParentId() != null ? log.getParentId().toString() : "");
+            }
+        }
+        writer.write('\n');
+    }
+
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    private static String escapeCsv(String message) {
+        if (message == null) {
+            return "";
+        }
+        // a quote before a formula character keeps spreadsheets from evaluating the messages
+        String value = !message.isEmpty() && CSV_FORMULA_CHARS.indexOf(message.charAt(0)) >= 0 ? "'" + message : message;
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -7,9 +7,14 @@
 package org.gridsuite.report.server;
 
 import org.gridsuite.report.server.dto.Report;
+import org.gridsuite.report.server.dto.ReportSubtree;
+import org.gridsuite.report.server.entities.ReportContainerProjection;
 import org.gridsuite.report.server.entities.ReportProjection;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * @author Joris Mancini <joris.mancini_externe at rte-france.com>
@@ -20,46 +25,102 @@ public final class ReportMapper {
         // Should not be instantiated
     }
 
+    /**
+     * Maps containers sorted by order to their tree. In this order, the parent of a container is always on the path
+     * from the root to the previous container, so the tree is built with a stack of this path and without any lookup
+     * table. Containers whose parent is not on the path are ignored.
+     */
     public static Report map(List<ReportProjection> reportProjections) {
         if (reportProjections == null || reportProjections.isEmpty()) {
             return null;
         }
-        Map<UUID, Report> reportsMap = new HashMap<>();
-        mapRootNode(reportProjections.get(0), reportsMap);
-        reportProjections.subList(1, reportProjections.size()).forEach(entity -> mapReportNodeEntity(entity, reportsMap));
-        return reportsMap.get(reportProjections.get(0).id());
+        ReportProjection rootProjection = reportProjections.get(0);
+        Report root = new Report();
+        root.setMessage(rootProjection.message() != null ? rootProjection.message() : rootProjection.id().toString());
+        mapValues(rootProjection, root);
+        List<Report> path = new ArrayList<>();
+        path.add(root);
+        for (int i = 1; i < reportProjections.size(); i++) {
+            ReportProjection reportProjection = reportProjections.get(i);
+            Report previous = path.get(path.size() - 1);
+            if (reportProjection.id().equals(previous.getId())) {
+                previous.setSeverity(reportProjection.severity());
+                continue;
+            }
+            int parentIndex = indexOf(path, reportProjection.parentId(), Report::getId);
+            if (parentIndex >= 0) {
+                truncate(path, parentIndex + 1);
+                Report report = path.get(parentIndex).addEmptyReport();
+                report.setMessage(reportProjection.message());
+                mapValues(reportProjection, report);
+                path.add(report);
+            }
+        }
+        return root;
     }
 
-    private static void mapRootNode(ReportProjection reportProjection, Map<UUID, Report> reportsMap) {
-        Report rootReport = createReportFromNode(reportProjection);
-        reportsMap.put(reportProjection.id(), rootReport);
+    private static void mapValues(ReportProjection reportProjection, Report report) {
+        report.setSeverity(reportProjection.severity());
+        report.setDepth(reportProjection.depth());
+        report.setId(reportProjection.id());
+        report.setParentId(reportProjection.parentId());
     }
 
-    private static void mapReportNodeEntity(ReportProjection reportProjection, Map<UUID, Report> reports) {
-        Optional.ofNullable(reports.get(reportProjection.id()))
-            .ifPresentOrElse(
-                report -> report.setSeverity(Severity.fromValue(reportProjection.severity())),
-                () -> Optional.ofNullable(reportProjection.parentId())
-                    .map(reports::get)
-                    .ifPresent(parentReport -> {
-                        Report report = parentReport.addEmptyReport();
-                        report.setMessage(reportProjection.message());
-                        mapValues(reportProjection, report);
-                        reports.put(reportProjection.id(), report);
-                    }));
+    /**
+     * Maps the containers of a subtree, sorted by order, down to the given depth. The containers one level deeper are
+     * expected too: they are not returned but counted in the child count of their parent.
+     */
+    public static ReportSubtree mapSubtree(List<ReportContainerProjection> containers, int maxDepth) {
+        if (containers == null || containers.isEmpty()) {
+            return null;
+        }
+        ReportSubtree subtree = createSubtreeFromNode(containers.get(0));
+        List<ReportSubtree> path = new ArrayList<>();
+        path.add(subtree);
+        for (int i = 1; i < containers.size(); i++) {
+            ReportContainerProjection container = containers.get(i);
+            int parentIndex = indexOf(path, container.parentId(), ReportSubtree::getId);
+            if (parentIndex >= 0) {
+                truncate(path, parentIndex + 1);
+                ReportSubtree parent = path.get(parentIndex);
+                parent.setChildCount(parent.getChildCount() + 1);
+                if (container.depth() <= maxDepth) {
+                    ReportSubtree child = createSubtreeFromNode(container);
+                    parent.getSubReports().add(child);
+                    path.add(child);
+                }
+            }
+        }
+        return subtree;
     }
 
-    private static Report createReportFromNode(ReportProjection reportProjection) {
-        Report report = new Report();
-        report.setMessage(Optional.ofNullable(reportProjection.message()).orElse(reportProjection.id().toString()));
-        mapValues(reportProjection, report);
-        return report;
+    private static ReportSubtree createSubtreeFromNode(ReportContainerProjection container) {
+        ReportSubtree subtree = new ReportSubtree();
+        subtree.setId(container.id());
+        subtree.setParentId(container.parentId());
+        subtree.setMessage(container.message() != null ? container.message() : container.id().toString());
+        subtree.setSeverity(container.severity());
+        subtree.setDepth(container.depth());
+        subtree.setSeverityCounts(container.severityCounts());
+        return subtree;
     }
 
-    private static void mapValues(ReportProjection reportProjection, Report report) {
-        report.setSeverity(Severity.fromValue(reportProjection.severity()));
-        report.setDepth(reportProjection.depth());
-        report.setId(reportProjection.id());
-        report.setParentId(reportProjection.parentId());
+    // the parent is most often the last node of the path or close to it, the path is searched from its end
+    private static <T> int indexOf(List<T> path, UUID id, Function<T, UUID> idGetter) {
+        if (id == null) {
+            return -1;
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            if (id.equals(idGetter.apply(path.get(i)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static <T> void truncate(List<T> path, int size) {
+        for (int i = path.size() - 1; i >= size; i--) {
+            path.remove(i);
+        }
     }
 }
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Meters of the ingestion, search and repository reads of reports, published with percentile histograms:
+ * <ul>
+ *     <li>{@code report.ingestion.nodes}: nodes written per report, by operation</li>
+ *     <li>{@code report.ingestion.sizing}: time spent sizing the report nodes before they are written</li>
+ *     <li>{@code report.ingestion.flush}: latency of the batches flushed, by writer, its count is the number of batches</li>
+ *     <li>{@code report.search.positions}: positions returned by the searches, by scope</li>
+ *     <li>{@code report.repository.rows}: rows returned by the queries of {@link ReportRepositoryMetrics}, by method</li>
+ * </ul>
+ * The histograms of the summaries are bounded by the sizes expected for a report, so that each meter only publishes the
+ * buckets of that range.
+ * The latency of the queries is the {@code spring.data.repository.invocations} timer of Spring Boot.
+ * Tags only take a few values, never report ids or messages.
+ */
+@Component
+public class ReportMetrics {
+
+    static final String INGESTED_NODES = "report.ingestion.nodes";
+
+    static final String SIZING = "report.ingestion.sizing";
+
+    static final String FLUSH = "report.ingestion.flush";
+
+    static final String SEARCH_POSITIONS = "report.search.positions";
+
+    static final String REPOSITORY_ROWS = "report.repository.rows";
+
+    // bounds of the histograms, the largest reports hold a few million nodes
+    private static final double MAX_EXPECTED_NODES = 5_000_000;
+
+    private static final double MAX_EXPECTED_ROWS = 10_000_000;
+
+    public enum Operation { CREATE, APPEND, REPLACE, CHILD }
+
+    public enum Writer { COPY, JPA }
+
+    public enum SearchScope { SINGLE, MULTIPLE }
+
+    private final MeterRegistry meterRegistry;
+
+    private final Timer sizingTimer;
+
+    public ReportMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.sizingTimer = Timer.builder(SIZING)
+            .description("Time spent sizing the report nodes before they are written")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    public SizedReportNode size(Supplier<SizedReportNode> sizing) {
+        return sizingTimer.record(sizing);
+    }
+
+    public void recordIngestedNodes(Operation operation, long nodeCount) {
+        DistributionSummary.builder(INGESTED_NODES)
+            .description("Nodes written per report")
+            .baseUnit("nodes")
+            .tag("operation", tagValue(operation))
+            .publishPercentileHistogram()
+            .minimumExpectedValue(1.0)
+            .maximumExpectedValue(MAX_EXPECTED_NODES)
+            .register(meterRegistry)
+            .record(nodeCount);
+    }
+
+    public void recordFlush(Writer writer, Runnable flush) {
+        Timer.builder(FLUSH)
+            .description("Latency of the batches of report nodes flushed")
+            .tag("writer", tagValue(writer))
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(flush);
+    }
+
+    public void recordSearchPositions(SearchScope scope, int positionCount) {
+        DistributionSummary.builder(SEARCH_POSITIONS)
+            .description("Positions returned by the searches in the logs")
+            .baseUnit("positions")
+            .tag("scope", tagValue(scope))
+            .publishPercentileHistogram()
+            .minimumExpectedValue(1.0)
+            .maximumExpectedValue(MAX_EXPECTED_NODES)
+            .register(meterRegistry)
+            .record(positionCount);
+    }
+
+    public void recordRepositoryRows(String method, int rowCount) {
+        DistributionSummary.builder(REPOSITORY_ROWS)
+            .description("Rows returned by the queries of the repositories")
+            .baseUnit("rows")
+            .tag("method", method)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(1.0)
+            .maximumExpectedValue(MAX_EXPECTED_ROWS)
+            .register(meterRegistry)
+            .record(rowCount);
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.powsybl.commons.report.ReportConstants;
+import com.powsybl.commons.report.ReportNode;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Reads a serialized {@link ReportNode} with a token-level parser and hands it over one node at a time, so that only
+ * the dictionaries and the headers of the nodes between the root and the node being read are kept in memory.
+ * Nodes are emitted in document order: the header of a node, that is the node without its children, is emitted when
+ * its children start, and its end once they have all been emitted. The children of a node must therefore come after
+ * its other fields, as written by powsybl, a document where they do not is rejected.
+ * <p>
+ * Each header is deserialized on its own with the powsybl {@code ReportNodeJsonModule}, so messages are formatted
+ * exactly like with a full deserialization. The values of the ancestors are copied into each node (without overriding
+ * the node's own values, nor its severity) because nodes inherit the values of their ancestors when formatting messages.
+ */
+@Component
+public class ReportNodeStreamReader {
+
+    private static final String VERSION_FIELD = "version";
+    private static final String DICTIONARIES_FIELD = "dictionaries";
+    private static final String REPORT_ROOT_FIELD = "reportRoot";
+    private static final String MESSAGE_KEY_FIELD = "messageKey";
+    private static final String VALUES_FIELD = "values";
+    private static final String CHILDREN_FIELD = "children";
+
+    public interface Handler {
+
+        /**
+         * The root, without its children.
+         */
+        void onRoot(ReportNode root);
+
+        /**
+         * A node below the root, without its children, which are emitted next.
+         */
+        void onNodeStart(ReportNode node);
+
+        /**
+         * The end of the last started node which is not ended yet, once all its children have been emitted.
+         */
+        void onNodeEnd();
+
+        void onEnd();
+    }
+
+    private final ObjectMapper objectMapper;
+
+    public ReportNodeStreamReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public void read(InputStream inputStream, Handler handler) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Report node JSON must be an object");
+            }
+            JsonNode version = null;
+            JsonNode dictionaries = null;
+            TokenBuffer bufferedReportRoot = null;
+            boolean hasReportRoot = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                parser.nextToken();
+                switch (fieldName) {
+                    case VERSION_FIELD -> version = objectMapper.readTree(parser);
+                    case DICTIONARIES_FIELD -> dictionaries = objectMapper.readTree(parser);
+                    case REPORT_ROOT_FIELD -> {
+                        hasReportRoot = true;
+                        if (version != null && dictionaries != null) {
+                            readReportRoot(parser, version, dictionaries, handler);
+                        } else {
+                            // The messages cannot be formatted before the dictionaries are known, so the root is kept
+                            // aside until the end of the document. This does not happen with powsybl serialization.
+                            bufferedReportRoot = new TokenBuffer(parser);
+                            bufferedReportRoot.copyCurrentStructure(parser);
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            if (!hasReportRoot) {
+                throw new IOException("Report node JSON has no " + REPORT_ROOT_FIELD);
+            }
+            if (bufferedReportRoot != null) {
+                try (JsonParser bufferedParser = bufferedReportRoot.asParser(objectMapper)) {
+                    bufferedParser.nextToken();
+                    readReportRoot(bufferedParser, version, dictionaries, handler);
+                }
+            }
+        }
+        handler.onEnd();
+    }
+
+    private void readReportRoot(JsonParser parser, JsonNode version, JsonNode dictionaries, Handler handler) throws IOException {
+        ObjectNode rootHeader = readHeader(parser);
+        handler.onRoot(toReportNode(rootHeader, version, dictionaries));
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            return;
+        }
+        // values inherited by the children of each node whose children are being read, the root first
+        Deque<JsonNode> inheritedValues = new ArrayDeque<>();
+        inheritedValues.push(rootHeader.path(VALUES_FIELD));
+        while (!inheritedValues.isEmpty()) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                ObjectNode header = readHeader(parser);
+                inheritValues(header, inheritedValues.peek());
+                handler.onNodeStart(toReportNode(header, version, dictionaries));
+                if (parser.currentToken() == JsonToken.START_ARRAY) {
+                    inheritedValues.push(header.path(VALUES_FIELD));
+                } else {
+                    handler.onNodeEnd();
+                }
+            } else if (token == JsonToken.END_ARRAY) {
+                inheritedValues.pop();
+                if (parser.nextToken() != JsonToken.END_OBJECT) {
+                    throw new IOException("Report node JSON must have the " + CHILDREN_FIELD + " of a node after its other fields");
+                }
+                // the end of the root is not emitted
+                if (!inheritedValues.isEmpty()) {
+                    handler.onNodeEnd();
+                }
+            } else {
+                throw new IOException("Report node JSON must have objects as " + CHILDREN_FIELD);
+            }
+        }
+    }
+
+    /**
+     * Reads the fields of the node starting at the current token, until its children, on which the parser is left, or
+     * its end when it has none.
+     */
+    private ObjectNode readHeader(JsonParser parser) throws IOException {
+        ObjectNode header = objectMapper.createObjectNode();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (CHILDREN_FIELD.equals(fieldName)) {
+                if (token != JsonToken.START_ARRAY) {
+                    throw new IOException("Report node JSON must have an array of " + CHILDREN_FIELD);
+                }
+                return header;
+            }
+            header.set(fieldName, objectMapper.readTree(parser));
+        }
+        return header;
+    }
+
+    private static void inheritValues(ObjectNode child, JsonNode inheritedValues) {
+        if (inheritedValues.isEmpty()) {
+            return;
+        }
+        ObjectNode childValues = child.has(VALUES_FIELD) ? (ObjectNode) child.get(VALUES_FIELD) : child.putObject(VALUES_FIELD);
+        Iterator<Map.Entry<String, JsonNode>> it = inheritedValues.fields();
+        while (it.hasNext()) {
+            Map.Entry<String, JsonNode> value = it.next();
+            if (!ReportConstants.SEVERITY_KEY.equals(value.getKey()) && !childValues.has(value.getKey())) {
+                childValues.set(value.getKey(), value.getValue());
+            }
+        }
+    }
+
+    private ReportNode toReportNode(ObjectNode header, JsonNode version, JsonNode dictionaries) throws IOException {
+        ObjectNode envelope = objectMapper.createObjectNode();
+        envelope.set(VERSION_FIELD, version);
+        envelope.set(DICTIONARIES_FIELD, dictionariesOf(header, dictionaries));
+        envelope.set(REPORT_ROOT_FIELD, header);
+        return objectMapper.treeToValue(envelope, ReportNode.class);
+    }
+
+    /**
+     * Only the template of the node is needed to format its message: the dictionaries are not read again for each node.
+     */
+    private JsonNode dictionariesOf(ObjectNode header, JsonNode dictionaries) {
+        String messageKey = header.path(MESSAGE_KEY_FIELD).asText(null);
+        ObjectNode nodeDictionaries = objectMapper.createObjectNode();
+        Iterator<Map.Entry<String, JsonNode>> it = dictionaries.fields();
+        while (it.hasNext()) {
+            Map.Entry<String, JsonNode> dictionary = it.next();
+            ObjectNode nodeDictionary = nodeDictionaries.putObject(dictionary.getKey());
+            JsonNode template = messageKey != null ? dictionary.getValue().get(messageKey) : null;
+            if (template != null) {
+                nodeDictionary.set(messageKey, template);
+            }
+        }
+        return nodeDictionaries;
+    }
+}
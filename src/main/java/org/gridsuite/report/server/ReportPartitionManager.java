@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import org.gridsuite.report.server.utils.DatabaseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Maintains the monthly partitions of report_node on PostgreSQL: partitions are created
+ * {@code report-server.partitioning.months-ahead} months in advance, and the partitions older than
+ * {@code report-server.partitioning.retention-months} are removed as a whole instead of deleting their nodes row by row.
+ * <p>
+ * A report is expired with the partition of its root, the aliases of the report included. The legacy partition,
+ * holding the nodes written before partitioning, is never removed. Expired partitions are dropped, or only detached
+ * when {@code report-server.partitioning.retention-mode} is {@code detach}, so that they can be archived.
+ * <p>
+ * Nodes written while the partition of their month did not exist yet are in the default partition, they are moved to the
+ * partition once it is created. Instances maintain the partitions in turn, holding an advisory lock.
+ */
+@Component
+@ConditionalOnProperty(name = "report-server.partitioning.enabled", havingValue = "true", matchIfMissing = true)
+public class ReportPartitionManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportPartitionManager.class);
+
+    private static final String PARTITION_PREFIX = "report_node_";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM", Locale.ROOT);
+
+    private static final String FIND_MONTHLY_PARTITIONS_SQL = """
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        JOIN pg_class p ON p.oid = i.inhparent
+        WHERE p.relname = 'report_node' AND c.relname ~ '^report_node_y[0-9]{4}m[0-9]{2}$'
+        ORDER BY c.relname
+        """;
+
+    // reports of the partition are the roots (order 0) stored in it
+    private static final String ROOTS_OF_PARTITION_SQL = "SELECT root_node_id FROM %s WHERE order_ = 0";
+
+    private static final String DEFAULT_PARTITION = "report_node_default";
+
+    private static final String LOCK_KEY = "hashtext('report_node_partitions')";
+
+    public enum RetentionMode {
+        DROP,
+        DETACH
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ReportCache reportCache;
+
+    private final boolean enabled;
+
+    private final int monthsAhead;
+
+    private final int retentionMonths;
+
+    private final RetentionMode retentionMode;
+
+    public ReportPartitionManager(DataSource dataSource,
+                                  ReportCache reportCache,
+                                  @Value("${report-server.partitioning.months-ahead:2}") int monthsAhead,
+                                  @Value("${report-server.partitioning.retention-months:0}") int retentionMonths,
+                                  @Value("${report-server.partitioning.retention-mode:drop}") String retentionMode) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.reportCache = reportCache;
+        this.enabled = DatabaseUtil.isPostgreSql(dataSource);
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.retentionMode = RetentionMode.valueOf(retentionMode.toUpperCase(Locale.ROOT));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${report-server.partitioning.cron:0 0 2 * * *}")
+    public void maintainPartitions() {
+        if (!enabled) {
+            return;
+        }
+        // the lock is held by the session: all the statements run on the connection that holds it
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            SingleConnectionDataSource lockedDataSource = new SingleConnectionDataSource(connection, true);
+            JdbcTemplate lockedJdbcTemplate = new JdbcTemplate(lockedDataSource);
+            if (!Boolean.TRUE.equals(lockedJdbcTemplate.queryForObject("SELECT pg_try_advisory_lock(" + LOCK_KEY + ")", Boolean.class))) {
+                LOGGER.info("report_node partitions are being maintained by another instance");
+                return null;
+            }
+            try {
+                maintainPartitions(lockedJdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(lockedDataSource)));
+            } finally {
+                lockedJdbcTemplate.queryForObject("SELECT pg_advisory_unlock(" + LOCK_KEY + ")", Boolean.class);
+            }
+            return null;
+        });
+    }
+
+    private void maintainPartitions(JdbcTemplate lockedJdbcTemplate, TransactionTemplate transactionTemplate) {
+        YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(lockedJdbcTemplate, transactionTemplate, currentMonth.plusMonths(i));
+        }
+        // 0 keeps the reports forever
+        if (retentionMonths > 0) {
+            YearMonth oldestKeptMonth = currentMonth.minusMonths(retentionMonths);
+            List<String> expiredPartitions = lockedJdbcTemplate.queryForList(FIND_MONTHLY_PARTITIONS_SQL, String.class).stream()
+                .filter(partition -> partitionMonth(partition).isBefore(oldestKeptMonth))
+                .toList();
+            expiredPartitions.forEach(partition -> removePartition(lockedJdbcTemplate, transactionTemplate, partition));
+            if (!expiredPartitions.isEmpty()) {
+                // the reports of the partitions are not known one by one: all the instances flush their cache
+                reportCache.invalidateAll();
+            }
+        }
+    }
+
+    private void createPartition(JdbcTemplate lockedJdbcTemplate, TransactionTemplate transactionTemplate, YearMonth month) {
+        String partition = partitionName(month);
+        String bounds = "FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+        try {
+            lockedJdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF report_node FOR VALUES " + bounds);
+        } catch (DataIntegrityViolationException e) {
+            // the default partition already holds nodes of that month
+            moveDefaultPartitionNodes(lockedJdbcTemplate, transactionTemplate, partition, month, bounds);
+        } catch (DataAccessException e) {
+            LOGGER.error("Failed to create the report_node partition of {}", month, e);
+        }
+    }
+
+    /**
+     * Creates the partition of the month with the nodes of the month held by the default partition. The writes of nodes
+     * are blocked meanwhile, for the time of copying these nodes, which only happens when a partition was missing.
+     */
+    private void moveDefaultPartitionNodes(JdbcTemplate lockedJdbcTemplate, TransactionTemplate transactionTemplate, String partition,
+                                           YearMonth month, String bounds) {
+        String monthNodes = " FROM " + DEFAULT_PARTITION + " WHERE created_on >= '" + month.atDay(1) + "' AND created_on < '" + month.plusMonths(1).atDay(1) + "'";
+        try {
+            Integer movedNodes = transactionTemplate.execute(status -> {
+                lockedJdbcTemplate.execute("LOCK TABLE report_node IN SHARE ROW EXCLUSIVE MODE");
+                lockedJdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE report_node INCLUDING DEFAULTS)");
+                lockedJdbcTemplate.update("INSERT INTO " + partition + " SELECT *" + monthNodes);
+                int deletedNodes = lockedJdbcTemplate.update("DELETE" + monthNodes);
+                lockedJdbcTemplate.execute("ALTER TABLE report_node ATTACH PARTITION " + partition + " FOR VALUES " + bounds);
+                return deletedNodes;
+            });
+            LOGGER.info("Created the report_node partition of {} with {} nodes of the default partition", month, movedNodes);
+        } catch (DataAccessException e) {
+            LOGGER.error("Failed to move the nodes of {} from the default partition of report_node", month, e);
+        }
+    }
+
+    private void removePartition(JdbcTemplate lockedJdbcTemplate, TransactionTemplate transactionTemplate, String partition) {
+        String roots = String.format(ROOTS_OF_PARTITION_SQL, partition);
+        // the rows referencing the reports of the partition are small and few, they are deleted with the reports
+        transactionTemplate.executeWithoutResult(status -> {
+            lockedJdbcTemplate.update("DELETE FROM report_tree WHERE root_node_id IN (SELECT id FROM report_alias WHERE root_node_id IN (" + roots + "))");
+            lockedJdbcTemplate.update("DELETE FROM report_version WHERE root_node_id IN (SELECT id FROM report_alias WHERE root_node_id IN (" + roots + "))");
+            lockedJdbcTemplate.update("DELETE FROM report_alias WHERE root_node_id IN (" + roots + ")");
+            lockedJdbcTemplate.update("DELETE FROM report_tree WHERE root_node_id IN (" + roots + ")");
+            lockedJdbcTemplate.update("DELETE FROM report_version WHERE root_node_id IN (" + roots + ")");
+            lockedJdbcTemplate.update("DELETE FROM report_tombstone WHERE root_node_id IN (" + roots + ")");
+        });
+        // CONCURRENTLY is not allowed with a default partition: report_node is locked for the time of a catalog update
+        lockedJdbcTemplate.execute("ALTER TABLE report_node DETACH PARTITION " + partition);
+        if (retentionMode == RetentionMode.DROP) {
+            lockedJdbcTemplate.execute("DROP TABLE " + partition);
+        }
+        LOGGER.info("Expired report_node partition {} {}", partition, retentionMode == RetentionMode.DROP ? "dropped" : "detached");
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + PARTITION_SUFFIX.format(month);
+    }
+
+    private static YearMonth partitionMonth(String partitionName) {
+        return YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import jakarta.annotation.Nullable;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.gridsuite.report.server.repositories.ReportNodeRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Records the rows returned by the query methods of {@link ReportNodeRepository} as {@link ReportMetrics#REPOSITORY_ROWS},
+ * tagged by method name. Counts and modifying queries return numbers, which are not recorded, nor are the streams.
+ * The calls of all the repositories are also timed in the {@link RequestTimer} of the request, by repository and method.
+ */
+@Component
+public class ReportRepositoryMetrics implements BeanPostProcessor {
+
+    // resolved on the first query, the post processor being created before the other beans
+    private final ObjectProvider<ReportMetrics> reportMetrics;
+
+    public ReportRepositoryMetrics(ObjectProvider<ReportMetrics> reportMetrics) {
+        this.reportMetrics = reportMetrics;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+            repositoryFactoryBean.addRepositoryFactoryCustomizer(repositoryFactory -> repositoryFactory.addRepositoryProxyPostProcessor(
+                (proxyFactory, repositoryInformation) -> {
+                    Class<?> repositoryInterface = repositoryInformation.getRepositoryInterface();
+                    // rows are only counted for the nodes
+                    Set<Method> queryMethods = ReportNodeRepository.class.equals(repositoryInterface) ?
+                        repositoryInformation.getQueryMethods().stream().collect(Collectors.toUnmodifiableSet()) : Set.of();
+                    proxyFactory.addAdvice(new RepositoryInterceptor(repositoryInterface.getSimpleName(), queryMethods));
+                }));
+        }
+        return bean;
+    }
+
+    @Nullable
+    static Integer rowCount(@Nullable Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> rows) {
+            return rows.size();
+        }
+        if (result instanceof Slice<?> rows) {
+            return rows.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> row) {
+            return row.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean || result instanceof Stream<?>) {
+            return null;
+        }
+        return 1;
+    }
+
+    private final class RepositoryInterceptor implements MethodInterceptor {
+
+        private final String repositoryName;
+
+        private final Set<Method> queryMethods;
+
+        private RepositoryInterceptor(String repositoryName, Set<Method> queryMethods) {
+            this.repositoryName = repositoryName;
+            this.queryMethods = queryMethods;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invocation.proceed();
+            } finally {
+                RequestTimer.record(repositoryName + "." + invocation.getMethod().getName(), System.nanoTime() - start);
+            }
+            if (queryMethods.contains(invocation.getMethod())) {
+                Integer rowCount = rowCount(result);
+                if (rowCount != null) {
+                    reportMetrics.getObject().recordRepositoryRows(invocation.getMethod().getName(), rowCount);
+                    RequestTimer.addRows(rowCount);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -6,6 +6,8 @@
  */
 package org.gridsuite.report.server;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.uuid.impl.TimeBasedEpochGenerator;
 import com.powsybl.commons.report.ReportNode;
 import jakarta.annotation.Nullable;
@@ -15,9 +17,24 @@ import org.apache.commons.lang3.StringUtils;
 import org.gridsuite.report.server.dto.MatchPosition;
 import org.gridsuite.report.server.dto.Report;
 import org.gridsuite.report.server.dto.ReportLog;
+import org.gridsuite.report.server.dto.ReportLogSlice;
+import org.gridsuite.report.server.dto.ReportLogsExportFormat;
+import org.gridsuite.report.server.dto.ReportSubtree;
+import org.gridsuite.report.server.entities.ReportAliasEntity;
+import org.gridsuite.report.server.entities.ReportAliasNodeEntity;
 import org.gridsuite.report.server.entities.ReportNodeEntity;
 import org.gridsuite.report.server.entities.ReportProjection;
+import org.gridsuite.report.server.entities.ReportTombstoneEntity;
+import org.gridsuite.report.server.entities.ReportTreeEntity;
+import org.gridsuite.report.server.repositories.ReportAliasNodeRepository;
+import org.gridsuite.report.server.repositories.ReportAliasRepository;
+import org.gridsuite.report.server.repositories.ReportLogsExportRepository;
+import org.gridsuite.report.server.repositories.ReportNodeCopyRepository;
+import org.gridsuite.report.server.repositories.ReportNodeDuplicationRepository;
 import org.gridsuite.report.server.repositories.ReportNodeRepository;
+import org.gridsuite.report.server.repositories.ReportTombstoneRepository;
+import org.gridsuite.report.server.repositories.ReportTreeRepository;
+import org.gridsuite.report.server.repositories.ReportVersionRepository;
 import org.gridsuite.report.server.utils.UuidUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,7 +45,17 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.*;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 /**
  * @author Jacques Borsenberger <jacques.borsenberger at rte-france.com>
@@ -40,76 +67,419 @@ public class ReportService {
 
     private static final int MAX_SIZE_INSERT_REPORT_BATCH = 512;
 
+    // order of the root node of a report
+    private static final int ROOT_ORDER = 0;
+
+    // phase of the requests timed by RequestTimer
+    private static final String LOGS_MAPPING_PHASE = "mapping";
+
     private final ReportService self;
 
     private final ReportNodeRepository reportNodeRepository;
 
-    public ReportService(ReportNodeRepository reportNodeRepository, @Lazy ReportService reportService) {
+    private final ReportNodeCopyRepository reportNodeCopyRepository;
+
+    private final ReportNodeStreamReader reportNodeStreamReader;
+
+    private final ReportTreeRepository reportTreeRepository;
+
+    private final ReportLogsExportRepository reportLogsExportRepository;
+
+    private final ReportNodeDuplicationRepository reportNodeDuplicationRepository;
+
+    private final ReportAliasRepository reportAliasRepository;
+
+    private final ReportAliasNodeRepository reportAliasNodeRepository;
+
+    private final ReportTombstoneRepository reportTombstoneRepository;
+
+    private final ReportVersionRepository reportVersionRepository;
+
+    private final ReportCache reportCache;
+
+    private final ReportMetrics reportMetrics;
+
+    private final ObjectMapper objectMapper;
+
+    public ReportService(ReportNodeRepository reportNodeRepository, ReportNodeCopyRepository reportNodeCopyRepository,
+                         ReportNodeStreamReader reportNodeStreamReader, ReportTreeRepository reportTreeRepository,
+                         ReportLogsExportRepository reportLogsExportRepository, ReportNodeDuplicationRepository reportNodeDuplicationRepository,
+                         ReportAliasRepository reportAliasRepository, ReportAliasNodeRepository reportAliasNodeRepository,
+                         ReportTombstoneRepository reportTombstoneRepository,
+                         ReportVersionRepository reportVersionRepository, ReportCache reportCache, ReportMetrics reportMetrics,
+                         ObjectMapper objectMapper, @Lazy ReportService reportService) {
         this.reportNodeRepository = reportNodeRepository;
+        this.reportNodeCopyRepository = reportNodeCopyRepository;
+        this.reportNodeStreamReader = reportNodeStreamReader;
+        this.reportTreeRepository = reportTreeRepository;
+        this.reportLogsExportRepository = reportLogsExportRepository;
+        this.reportNodeDuplicationRepository = reportNodeDuplicationRepository;
+        this.reportAliasRepository = reportAliasRepository;
+        this.reportAliasNodeRepository = reportAliasNodeRepository;
+        this.reportTombstoneRepository = reportTombstoneRepository;
+        this.reportVersionRepository = reportVersionRepository;
+        this.reportCache = reportCache;
+        this.reportMetrics = reportMetrics;
+        this.objectMapper = objectMapper;
         this.self = reportService;
     }
 
     @Transactional(readOnly = true)
     public Report getReport(UUID reportId) {
         Objects.requireNonNull(reportId);
-        return ReportMapper.map(reportNodeRepository.findAllContainersByRootNodeId(reportId));
+        Report report = ReportMapper.map(reportNodeRepository.findAllContainersByRootNodeId(reportId, reportId));
+        if (report != null) {
+            return report;
+        }
+        // an alias has no node of its own, it reads those of its source under its own uuids
+        return reportAliasRepository.findRootNodeIdById(reportId)
+            .map(rootNodeId -> ReportMapper.map(reportNodeRepository.findAllContainersByRootNodeId(rootNodeId, reportId)))
+            .map(sourceReport -> {
+                renewReportTreeUuids(sourceReport, findNodeUuids(reportId));
+                return sourceReport;
+            })
+            .orElse(null);
+    }
+
+    /**
+     * Returns a container of a report and its sub-containers down to the given number of levels below it, with the number
+     * of sub-containers of each, so that the deeper levels are only read when expanded. Empty if the container does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ReportSubtree> getReportSubtree(UUID reportId, int levels) {
+        return getReportSubtree(reportId, levels, null);
+    }
+
+    /**
+     * Same as {@link #getReportSubtree(UUID, int)}, with the version of the report read before, to be returned as ETag.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ReportSubtree> getReportSubtree(UUID reportId, int levels, @Nullable Long version) {
+        Objects.requireNonNull(reportId);
+        return findReportNode(reportId, version).map(node -> {
+            int maxDepth = (int) Math.min(Integer.MAX_VALUE - 1L, (long) node.depth() + levels);
+            // one more level is read to count the sub-containers of the deepest returned containers
+            ReportSubtree subtree = ReportMapper.mapSubtree(
+                reportNodeRepository.findContainersByRootNodeIdAndOrderAndDepth(node.rootNodeId(), node.rootReportId(), node.order(), node.endOrder(), maxDepth + 1),
+                maxDepth);
+            if (subtree != null && node.aliasId() != null) {
+                renewSubtreeUuids(subtree, findNodeUuids(node.aliasId()));
+            }
+            return subtree;
+        });
+    }
+
+    /**
+     * Returns the node of a report, or the node of its source if the report is a node of an alias, read through the alias.
+     * Aliases are only looked up when the report has no node, so reading other reports costs nothing more.
+     */
+    private Optional<CachedReportNode> loadReportNode(UUID reportId) {
+        return reportNodeRepository.findByUuid(reportId).map(CachedReportNode::of)
+            .or(() -> reportAliasNodeRepository.findById(reportId)
+                .flatMap(aliasNode -> reportNodeRepository.findByAliasIdAndOrder(aliasNode.getAliasId(), aliasNode.getOrder())
+                    .map(entity -> CachedReportNode.of(entity, aliasNode.getAliasId()))));
+    }
+
+    /**
+     * Returns the uuids an alias gives to the nodes of its source, by uuid of the nodes, for the reads that return them.
+     */
+    private UnaryOperator<UUID> findNodeUuids(UUID aliasId) {
+        Map<UUID, UUID> nodeUuids = new HashMap<>();
+        reportAliasNodeRepository.findNodeUuidsByAliasId(aliasId).forEach(row -> nodeUuids.put((UUID) row[0], (UUID) row[1]));
+        return uuid -> uuid == null ? null : nodeUuids.getOrDefault(uuid, uuid);
+    }
+
+    private UnaryOperator<UUID> findNodeUuids(CachedReportNode node) {
+        return node.aliasId() != null ? findNodeUuids(node.aliasId()) : UnaryOperator.identity();
+    }
+
+    // reads of logs, searches and severities only need the bounds and the counts of the report, which are cached
+    private Optional<CachedReportNode> findReportNode(UUID reportId) {
+        return findReportNode(reportId, null);
+    }
+
+    // with the version of the report returned as ETag, the node must have been read at this version
+    private Optional<CachedReportNode> findReportNode(UUID reportId, @Nullable Long version) {
+        Optional<CachedReportNode> reportNode = Optional.ofNullable(reportCache.getReportNode(reportId, version,
+            id -> loadReportNode(id).orElse(null)));
+        reportNode.ifPresent(node -> RequestTimer.setRootNodeId(node.rootNodeId()));
+        return reportNode;
+    }
+
+    /**
+     * Returns the version of a report, which changes with every write to the report, without reading its nodes.
+     * The version of a container is that of its root. Reports not written to since versions exist have none.
+     */
+    public Optional<Long> getReportVersion(UUID reportId) {
+        return reportVersionRepository.findVersion(reportId)
+            .or(() -> findReportNode(reportId)
+                .filter(node -> !node.rootReportId().equals(reportId))
+                .flatMap(node -> reportVersionRepository.findVersion(node.rootReportId())));
+    }
+
+    /**
+     * Returns the id of the root report that the writes to a report go to: its alias for a node read through an alias,
+     * the report itself if it does not exist yet.
+     */
+    public UUID getRootReportId(UUID reportId) {
+        return findReportNode(reportId).map(CachedReportNode::rootReportId).orElse(reportId);
+    }
+
+    /**
+     * Returns the ids of the sources of the aliases among the given root report ids, which own the nodes, by alias id.
+     */
+    private Map<UUID, UUID> findRootNodeIdsByAlias(List<UUID> reportIds) {
+        Map<UUID, UUID> rootNodeIdsByAlias = new HashMap<>();
+        reportAliasRepository.findAllById(reportIds).forEach(alias -> rootNodeIdsByAlias.put(alias.getId(), alias.getRootNodeId()));
+        return rootNodeIdsByAlias;
+    }
+
+    /**
+     * Returns the container tree of a root report serialized in JSON, or null if the report does not exist.
+     * The tree materialized when the report was written is returned as is, without any mapping.
+     * Reports without a materialized tree (written before it existed) are mapped from their containers.
+     */
+    @Transactional(readOnly = true)
+    public String getReportJson(UUID reportId) {
+        return getReportJson(reportId, null);
+    }
+
+    /**
+     * Same as {@link #getReportJson(UUID)}, with the version of the report read before, to be returned as ETag.
+     */
+    @Transactional(readOnly = true)
+    public String getReportJson(UUID reportId, @Nullable Long version) {
+        Objects.requireNonNull(reportId);
+        return reportCache.getReportTree(reportId, version, id -> reportTreeRepository.findTreeByRootNodeId(id)
+            .orElseGet(() -> {
+                Report report = getReport(id);
+                return report == null ? null : writeReportTree(report);
+            }));
     }
 
-    public Page<ReportLog> getReportLogs(UUID rootReportNodeId, @Nullable Set<String> severityLevelsFilter, @Nullable String messageFilter, boolean paged, Pageable pageable) {
+    public Page<ReportLog> getReportLogs(UUID rootReportNodeId, @Nullable Set<String> severityLevelsFilter, @Nullable Severity minSeverity,
+                                         @Nullable String messageFilter, boolean paged, Pageable pageable) {
+        return getReportLogs(rootReportNodeId, severityLevelsFilter, minSeverity, messageFilter, paged, pageable, null);
+    }
+
+    /**
+     * Same as {@link #getReportLogs(UUID, Set, Severity, String, boolean, Pageable)}, with the version of the report read
+     * before, to be returned as ETag.
+     */
+    public Page<ReportLog> getReportLogs(UUID rootReportNodeId, @Nullable Set<String> severityLevelsFilter, @Nullable Severity minSeverity,
+                                         @Nullable String messageFilter, boolean paged, Pageable pageable, @Nullable Long version) {
         Pageable page = paged ? pageable : Pageable.unpaged();
         String messageSqlPattern = createMessageSqlPattern(messageFilter);
-        return reportNodeRepository.findById(rootReportNodeId)
-            .map(entity -> {
+        Severity minSeverityFilter = minSeverityOf(minSeverity);
+        return findReportNode(rootReportNodeId, version)
+            .map(node -> {
+                Page<ReportProjection> projections;
                 if (severityLevelsFilter == null) {
-                    return reportNodeRepository.findPagedReportsByRootNodeIdAndOrderAndMessage(
-                        entity.getRootNodeId(),
-                        entity.getOrder(),
-                        entity.getEndOrder(),
+                    projections = reportNodeRepository.findPagedReportsByRootNodeIdAndOrderAndMessage(
+                        node.rootNodeId(),
+                        node.order(),
+                        node.endOrder(),
                         messageSqlPattern,
-                        page)
-                        .map(ReportLogMapper::map);
+                        minSeverityFilter,
+                        page);
                 } else {
-                    return reportNodeRepository.findPagedReportsByRootNodeIdAndOrderAndMessageAndSeverities(
-                        entity.getRootNodeId(),
-                        entity.getOrder(),
-                        entity.getEndOrder(),
+                    projections = reportNodeRepository.findPagedReportsByRootNodeIdAndOrderAndMessageAndSeverities(
+                        node.rootNodeId(),
+                        node.order(),
+                        node.endOrder(),
                         messageSqlPattern,
-                        severityLevelsFilter,
-                        page)
-                        .map(ReportLogMapper::map);
+                        minSeverityFilter,
+                        Severity.fromValues(severityLevelsFilter),
+                        page);
                 }
+                UnaryOperator<UUID> nodeUuids = findNodeUuids(node);
+                return RequestTimer.time(LOGS_MAPPING_PHASE, () -> projections.map(projection -> ReportLogMapper.map(projection, nodeUuids)));
             })
             .orElse(Page.empty());
     }
 
+    /**
+     * Reads the logs of a report by keyset pagination: the slice starts right after the cursor, so that reading any slice
+     * costs the same whatever its position. The total number of logs is only counted if requested.
+     */
+    public ReportLogSlice getReportLogsSlice(UUID rootReportNodeId, @Nullable Set<String> severityLevelsFilter, @Nullable Severity minSeverity,
+                                             @Nullable String messageFilter, @Nullable String cursor, int size, boolean withCount) {
+        String messageSqlPattern = createMessageSqlPattern(messageFilter);
+        Severity minSeverityFilter = minSeverityOf(minSeverity);
+        Set<Severity> severitiesFilter = severityLevelsFilter == null ? null : Severity.fromValues(severityLevelsFilter);
+        return findReportNode(rootReportNodeId)
+            .map(node -> {
+                // computed as a long, the cursor of a log may be the highest order
+                long nextOrder = cursor == null ? node.order() : Math.max(node.order(), decodeCursor(cursor) + 1L);
+                // one more row is read to know whether there is a next slice
+                Pageable limit = Pageable.ofSize(size + 1);
+                List<ReportProjection> projections;
+                if (nextOrder > node.endOrder()) {
+                    projections = List.of();
+                } else if (severitiesFilter == null) {
+                    projections = reportNodeRepository.findReportsByRootNodeIdAndOrderAndMessage(
+                        node.rootNodeId(), (int) nextOrder, node.endOrder(), messageSqlPattern, minSeverityFilter, limit);
+                } else {
+                    projections = reportNodeRepository.findReportsByRootNodeIdAndOrderAndMessageAndSeverities(
+                        node.rootNodeId(), (int) nextOrder, node.endOrder(), messageSqlPattern, minSeverityFilter, severitiesFilter, limit);
+                }
+                Long totalElements = null;
+                if (withCount) {
+                    totalElements = severitiesFilter == null ?
+                        reportNodeRepository.countReportsByRootNodeIdAndOrderAndMessage(
+                            node.rootNodeId(), node.order(), node.endOrder(), messageSqlPattern, minSeverityFilter) :
+                        reportNodeRepository.countReportsByRootNodeIdAndOrderAndMessageAndSeverities(
+                            node.rootNodeId(), node.order(), node.endOrder(), messageSqlPattern, minSeverityFilter, severitiesFilter);
+                }
+                List<ReportProjection> slice = projections.subList(0, Math.min(size, projections.size()));
+                String nextCursor = projections.size() > size ? encodeCursor(slice.get(slice.size() - 1).order()) : null;
+                UnaryOperator<UUID> nodeUuids = findNodeUuids(node);
+                List<ReportLog> logs = RequestTimer.time(LOGS_MAPPING_PHASE, () -> slice.stream().map(projection -> ReportLogMapper.map(projection, nodeUuids)).toList());
+                return new ReportLogSlice(logs, nextCursor, totalElements);
+            })
+            .orElse(new ReportLogSlice(List.of(), null, withCount ? 0L : null));
+    }
+
+    private static String encodeCursor(int order) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Integer.toString(order).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decodeCursor(String cursor) {
+        try {
+            return Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor " + cursor, e);
+        }
+    }
+
+    /**
+     * Whether a cursor was returned with a slice of logs, to reject the others before reading the report.
+     */
+    public static boolean isValidCursor(String cursor) {
+        try {
+            decodeCursor(cursor);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // the lowest severity keeps every log: the single report queries always filter on the minimum severity
+    private static Severity minSeverityOf(@Nullable Severity minSeverity) {
+        return minSeverity != null ? minSeverity : Severity.UNKNOWN;
+    }
+
     public Page<ReportLog> getMultipleReportsLogsPage(List<UUID> reportIds, @Nullable Set<String> severityLevelsFilter,
             @Nullable String messageFilter, boolean paged, Pageable pageable) {
 
         Pageable page = paged ? pageable : Pageable.unpaged();
         String messageSqlPattern = createMessageSqlPattern(messageFilter);
-        // Convert collection to arrays for PostgreSQL compatibility
+        // Convert collection to arrays for PostgreSQL compatibility, aliases are resolved by the queries
         UUID[] reportIdsArray = reportIds.toArray(new UUID[0]);
 
-        Page<Object[]> projections = severityLevelsFilter == null ? reportNodeRepository.findPagedReportsByMultipleRootNodeIdsAndOrderAndMessage(
+        Set<Integer> severityLevels = severityLevelsFilter == null ? null : Severity.levelsOf(severityLevelsFilter);
+        if (severityLevels != null && severityLevels.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        Page<Object[]> projections = severityLevels == null ? reportNodeRepository.findPagedReportsByMultipleRootNodeIdsAndOrderAndMessage(
             reportIdsArray, messageSqlPattern, page) : reportNodeRepository.findPagedReportsByMultipleRootNodeIdsAndOrderAndMessageAndSeverities(
-                reportIdsArray, messageSqlPattern, severityLevelsFilter, page);
+                reportIdsArray, messageSqlPattern, severityLevels, page);
 
         // Convert Object[] results back to ReportProjection and then to ReportLog
-        List<ReportLog> logs = projections.stream()
-            .map(row -> new ReportProjection(UUID.fromString((String) row[0]), (String) row[1], (String) row[2], (Integer) row[3], row[4] != null ? UUID.fromString((String) row[4]) : null))
+        List<ReportLog> logs = RequestTimer.time(LOGS_MAPPING_PHASE, () -> projections.stream()
+            .map(row -> new ReportProjection(row[0] != null ? UUID.fromString((String) row[0]) : null, (String) row[1], Severity.fromLevel(((Number) row[2]).intValue()), (Integer) row[3], row[4] != null ? UUID.fromString((String) row[4]) : null))
             .map(ReportLogMapper::map)
-            .toList();
+            .toList());
 
         return new PageImpl<>(logs, pageable, projections.getTotalElements());
     }
 
+    /**
+     * Writes the logs of a report in the given format while they are read from the database,
+     * so that memory usage does not depend on the size of the report.
+     */
+    @Transactional(readOnly = true)
+    public void exportReportLogs(UUID rootReportNodeId, @Nullable Set<String> severityLevelsFilter, @Nullable Severity minSeverity,
+                                 @Nullable String messageFilter, ReportLogsExportFormat format, OutputStream outputStream) throws IOException {
+        ReportLogsWriter writer = new ReportLogsWriter(format, outputStream, objectMapper);
+        Optional<CachedReportNode> reportNode = findReportNode(rootReportNodeId);
+        if (reportNode.isPresent()) {
+            CachedReportNode node = reportNode.get();
+            exportLogs(writer, node.rootNodeId(), node.rootReportId(), node.order(), node.endOrder(), severityLevelsFilter, minSeverity, createMessageSqlPattern(messageFilter));
+        }
+        writer.flush();
+    }
+
+    /**
+     * Same as {@link #exportReportLogs} for several root reports, ordered like {@link #getMultipleReportsLogsPage}:
+     * by position of the report in the given list, then by order in the report.
+     */
+    @Transactional(readOnly = true)
+    public void exportMultipleReportsLogs(List<UUID> reportIds, @Nullable Set<String> severityLevelsFilter, @Nullable String messageFilter,
+                                          ReportLogsExportFormat format, OutputStream outputStream) throws IOException {
+        ReportLogsWriter writer = new ReportLogsWriter(format, outputStream, objectMapper);
+        String messageSqlPattern = createMessageSqlPattern(messageFilter);
+        Map<UUID, UUID> rootNodeIdsByAlias = findRootNodeIdsByAlias(reportIds);
+        for (UUID reportId : reportIds) {
+            exportLogs(writer, rootNodeIdsByAlias.getOrDefault(reportId, reportId), reportId, 0, Integer.MAX_VALUE, severityLevelsFilter, null, messageSqlPattern);
+        }
+        writer.flush();
+    }
+
+    private void exportLogs(ReportLogsWriter writer, UUID rootNodeId, UUID rootReportId, int orderAfter, int orderBefore,
+                            @Nullable Set<String> severityLevelsFilter, @Nullable Severity minSeverity, String messageSqlPattern) throws IOException {
+        Set<Integer> severityLevels = severityLevelsFilter == null ? null : Severity.levelsOf(severityLevelsFilter);
+        // no log has a severity that does not exist
+        if (severityLevels != null && severityLevels.isEmpty()) {
+            return;
+        }
+        try {
+            reportLogsExportRepository.forEachLog(rootNodeId, rootReportId, orderAfter, orderBefore, messageSqlPattern, severityLevels, minSeverity, log -> {
+                try {
+                    writer.write(log);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
     public Set<String> getReportAggregatedSeverities(UUID reportId) {
-        return reportNodeRepository.findById(reportId)
-            .map(entity -> reportNodeRepository.findDistinctSeveritiesByRootNodeIdAndOrder(
-                entity.getRootNodeId(),
-                entity.getOrder(),
-                entity.getEndOrder()))
-            .orElse(Collections.emptySet());
+        return getReportAggregatedSeverities(reportId, null);
+    }
+
+    public Set<String> getReportAggregatedSeverities(UUID reportId, @Nullable Long version) {
+        return getReportSeverityCounts(reportId, version).keySet();
+    }
+
+    /**
+     * Returns the number of nodes of each severity in the subtree of the report, the report included.
+     * Containers are counted too, with their severity which is the highest of their subtree: one ERROR leaf under two
+     * containers of a root is counted as 4 ERROR. The keys are thus the severities shown in the tree of the report.
+     * The counts are maintained on write, so they are read along with the report itself.
+     * Counts of nodes written before they were maintained are counted once, then cached with the node.
+     */
+    public Map<String, Long> getReportSeverityCounts(UUID reportId) {
+        return getReportSeverityCounts(reportId, null);
+    }
+
+    /**
+     * Same as {@link #getReportSeverityCounts(UUID)}, with the version of the report read before, to be returned as ETag.
+     */
+    public Map<String, Long> getReportSeverityCounts(UUID reportId, @Nullable Long version) {
+        return findReportNode(reportId, version)
+            .map(node -> node.severityCounts() != null ? node.severityCounts() : countSeverities(reportId, node))
+            .orElse(Collections.emptyMap());
+    }
+
+    private Map<String, Long> countSeverities(UUID reportId, CachedReportNode node) {
+        Map<String, Long> severityCounts = new TreeMap<>();
+        reportNodeRepository.countSeveritiesByRootNodeIdAndOrder(node.rootNodeId(), node.order(), node.endOrder())
+            .forEach(row -> severityCounts.put(((Severity) row[0]).name(), (Long) row[1]));
+        reportCache.replaceReportNode(reportId, node, node.withSeverityCounts(severityCounts));
+        return severityCounts;
     }
 
     public Report getEmptyReport(@NonNull UUID id, @NonNull String defaultName) {
@@ -121,16 +491,42 @@ public class ReportService {
     }
 
     public void createReport(UUID id, ReportNode reportNode) {
-        reportNodeRepository.findById(id).ifPresentOrElse(
-            reportEntity -> {
+        Optional<ReportNodeEntity> reportEntity = self.findReportEntityForWrite(id);
+        reportEntity.ifPresentOrElse(
+            entity -> {
                 LOGGER.debug("Reporter {} present, append ", reportNode.getMessage());
-                appendReportElements(reportEntity, reportNode);
+                appendReportElements(entity, reportNode);
             },
             () -> {
                 LOGGER.debug("Reporter {} absent, create ", reportNode.getMessage());
                 createNewReport(id, reportNode);
             }
         );
+        invalidateReport(id, reportEntity.orElse(null));
+    }
+
+    /**
+     * Same as {@link #createReport(UUID, ReportNode)} but reads the report node JSON from a stream:
+     * the nodes are sized and flushed as they are read, so that the whole tree is never held in memory.
+     * The batches are written in a single transaction, so that a stream failing midway leaves the report as it was,
+     * and the report is invalidated whatever the outcome, once the transaction is completed.
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public void createReport(UUID id, InputStream reportNodeJson) throws IOException {
+        ReportNodeEntity reportEntity = self.findReportEntityForWrite(id).orElse(null);
+        try {
+            reportNodeStreamReader.read(reportNodeJson, new StreamedReportWriter(id, reportEntity));
+        } finally {
+            // the new version is rolled back with the nodes if the stream fails
+            invalidateReport(id, reportEntity);
+        }
+    }
+
+    // the node a report is appended under may be a container, whose root is also modified
+    private void invalidateReport(UUID id, @Nullable ReportNodeEntity reportEntity) {
+        reportCache.invalidate(reportEntity == null ? List.of(id) : List.of(id, reportEntity.getRootNodeId()));
+        // once the nodes are committed, otherwise the new version could be read with the former nodes
+        reportVersionRepository.bumpVersions(List.of(reportEntity == null ? id : reportEntity.getRootNodeId()));
     }
 
     /**
@@ -139,53 +535,100 @@ public class ReportService {
      */
     @Transactional
     public UUID createChildReport(UUID rootId, ReportNode reportNode) {
-        ReportNodeEntity rootReportEntity = reportNodeRepository.findById(rootId)
+        ReportNodeEntity rootReportEntity = self.findReportEntityForWrite(rootId)
             .orElseThrow(() -> new EntityNotFoundException("Root report " + rootId + " not found"));
 
         if (!isRootReport(rootReportEntity)) {
             throw new IllegalStateException("Report id " + rootId + " is not a root report");
         }
 
+        reportCache.invalidate(List.of(rootId));
+        reportVersionRepository.bumpVersions(List.of(rootId));
         return appendChildReportElements(rootReportEntity, reportNode);
     }
 
     private static boolean isRootReport(ReportNodeEntity reportNodeEntity) {
-        UUID id = reportNodeEntity.getId();
+        UUID id = reportNodeEntity.getUuid();
         return id != null && id.equals(reportNodeEntity.getRootNodeId());
     }
 
     @Transactional
     public void createOrReplaceReport(UUID id, ReportNode reportNode) {
-        reportNodeRepository.findById(id).ifPresentOrElse(
+        reportCache.invalidate(List.of(id));
+        reportVersionRepository.bumpVersions(List.of(id));
+        reportNodeRepository.findByUuid(id).ifPresentOrElse(
                 reportEntity -> {
                     LOGGER.debug("Reporter {} present, replacing children", reportNode.getMessage());
+                    unshareNodes(reportEntity.getRootNodeId());
                     replaceReportChildren(reportEntity, reportNode);
                 },
                 () -> {
                     LOGGER.debug("Reporter {} absent, create", reportNode.getMessage());
+                    // the nodes of an alias would all be replaced, so they are not copied
+                    if (deleteAlias(id)) {
+                        reportTreeRepository.deleteByRootNodeId(id);
+                    } else {
+                        purgeDeletedReport(id);
+                    }
                     createNewReport(id, reportNode);
                 }
         );
     }
 
+    /**
+     * Returns the entity of a report that is about to be written to, after making sure that no other report reads its nodes:
+     * an alias gets a copy of the nodes of its source, and the aliases of a source get their own copy of its nodes.
+     * The copied nodes keep the uuids the alias gives them, so that the report written to may be a node of an alias.
+     */
+    @Transactional
+    public Optional<ReportNodeEntity> findReportEntityForWrite(UUID id) {
+        Optional<ReportNodeEntity> reportEntity = reportNodeRepository.findByUuid(id);
+        if (reportEntity.isPresent()) {
+            unshareNodes(reportEntity.get().getRootNodeId());
+            return reportEntity;
+        }
+        Optional<ReportAliasNodeEntity> aliasNode = reportAliasNodeRepository.findById(id);
+        if (aliasNode.isEmpty()) {
+            purgeDeletedReport(id);
+            return Optional.empty();
+        }
+        UUID aliasId = aliasNode.get().getAliasId();
+        reportAliasRepository.findById(aliasId).ifPresent(alias -> {
+            reportNodeDuplicationRepository.duplicate(alias.getRootNodeId(), aliasId);
+            deleteUnreadNodes(deleteAliases(List.of(alias)));
+        });
+        return reportNodeRepository.findByUuid(id);
+    }
+
+    // the nodes of a report deleted in background must be gone before a report with the same id is created,
+    // those still read by aliases are given to them first
+    private void purgeDeletedReport(UUID rootNodeId) {
+        if (reportTombstoneRepository.existsById(rootNodeId)) {
+            unshareNodes(rootNodeId);
+            reportNodeRepository.deleteAllByRootNodeId(rootNodeId);
+            reportTombstoneRepository.deleteTombstone(rootNodeId);
+        }
+    }
+
     /**
      * Replaces all children of an existing report while keeping the root entity.
      * This avoids Hibernate session conflicts when recreating reports with the same ID.
      */
     private void replaceReportChildren(ReportNodeEntity rootEntity, ReportNode newReportNode) {
         if (!isRootReport(rootEntity)) {
-            throw new IllegalStateException("Report id " + rootEntity.getId() + " is not a root report");
+            throw new IllegalStateException("Report id " + rootEntity.getUuid() + " is not a root report");
         }
         // Delete only the children, not the root itself
-        reportNodeRepository.deleteAllChildrenByRootNodeId(rootEntity.getId());
+        reportNodeRepository.deleteAllChildrenByRootNodeId(rootEntity.getRootNodeId());
 
         // Update root entity properties
-        SizedReportNode sizedReportNode = SizedReportNode.from(newReportNode);
+        SizedReportNode sizedReportNode = reportMetrics.size(() -> SizedReportNode.from(newReportNode));
         rootEntity.setMessage(sizedReportNode.getMessage());
-        rootEntity.setSeverity(sizedReportNode.getSeverity());
-        rootEntity.setOrder(sizedReportNode.getOrder());
+        rootEntity.setSeverity(Severity.fromValue(sizedReportNode.getSeverity()));
+        rootEntity.setSeverityCounts(severityCountsOf(sizedReportNode));
         rootEntity.setEndOrder(sizedReportNode.getOrder() + sizedReportNode.getSize() - 1);
         rootEntity.setLeaf(sizedReportNode.isLeaf());
+        reportMetrics.recordIngestedNodes(ReportMetrics.Operation.REPLACE, sizedReportNode.getSize());
 
         // Save updated root
         reportNodeRepository.save(rootEntity);
@@ -193,13 +636,15 @@ public class ReportService {
         // Add new children
         List<ReportNodeEntity> entitiesToSave = new ArrayList<>(MAX_SIZE_INSERT_REPORT_BATCH);
         TimeBasedEpochGenerator uuidGenerator = UuidUtil.newV7Generator();
+        MaterializedReportTree reportTree = MaterializedReportTree.create(rootEntity);
         sizedReportNode.getChildren().forEach(child ->
-                saveReportNodeRecursively(uuidGenerator, rootEntity.getId(), rootEntity.getId(), child, entitiesToSave)
+                saveReportNodes(uuidGenerator, rootEntity.getRootNodeId(), rootEntity.getCreatedOn(), rootEntity.getOrder(), child, entitiesToSave, reportTree)
         );
 
         if (!entitiesToSave.isEmpty()) {
             self.saveBatchedReports(entitiesToSave);
         }
+        self.saveReportTree(rootEntity, reportTree, false);
     }
 
     private void appendReportElements(ReportNodeEntity reportEntity, ReportNode reportNode) {
@@ -207,21 +652,25 @@ public class ReportService {
         int newEndOrder = reportEntity.getEndOrder();
         int depth = reportEntity.getDepth() + 1;
         for (ReportNode child : reportNode.getChildren()) {
-            SizedReportNode sizedReportNode = SizedReportNode.from(child, newEndOrder + 1, depth);
+            int startingOrder = newEndOrder + 1;
+            SizedReportNode sizedReportNode = reportMetrics.size(() -> SizedReportNode.from(child, startingOrder, depth));
             sizedReportNodeChildren.add(sizedReportNode);
             newEndOrder += sizedReportNode.getSize();
         }
+        reportMetrics.recordIngestedNodes(ReportMetrics.Operation.APPEND, (long) newEndOrder - reportEntity.getEndOrder());
+        MaterializedReportTree reportTree = MaterializedReportTree.resume(reportEntity);
         // compute endOrder from the actual last order position of the last child subtree
         reportEntity.setEndOrder(newEndOrder);
         updateParentSeverity(reportEntity, sizedReportNodeChildren);
         List<ReportNodeEntity> entitiesToSave = new ArrayList<>(MAX_SIZE_INSERT_REPORT_BATCH);
         entitiesToSave.add(reportEntity);
         TimeBasedEpochGenerator uuidGenerator = UuidUtil.newV7Generator();
-        sizedReportNodeChildren.forEach(c -> saveReportNodeRecursively(uuidGenerator, reportEntity.getRootNodeId(), reportEntity.getId(), c, entitiesToSave));
+        sizedReportNodeChildren.forEach(c -> saveReportNodes(uuidGenerator, reportEntity.getRootNodeId(), reportEntity.getCreatedOn(), reportEntity.getOrder(), c, entitiesToSave, reportTree));
 
         if (!entitiesToSave.isEmpty()) {
             self.saveBatchedReports(entitiesToSave);
         }
+        self.saveReportTree(reportEntity, reportTree, false);
     }
 
     /**
@@ -231,168 +680,610 @@ public class ReportService {
     private UUID appendChildReportElements(ReportNodeEntity rootReportEntity, ReportNode reportNode) {
         int startingOrder = rootReportEntity.getEndOrder() + 1;
         int depth = rootReportEntity.getDepth() + 1;
-        SizedReportNode sizedChildReportNode = SizedReportNode.from(reportNode, startingOrder, depth);
+        SizedReportNode sizedChildReportNode = reportMetrics.size(() -> SizedReportNode.from(reportNode, startingOrder, depth));
+        MaterializedReportTree reportTree = MaterializedReportTree.resume(rootReportEntity);
 
         rootReportEntity.setEndOrder(rootReportEntity.getEndOrder() + sizedChildReportNode.getSize());
         rootReportEntity.setLeaf(false);
+        reportMetrics.recordIngestedNodes(ReportMetrics.Operation.CHILD, sizedChildReportNode.getSize());
         updateParentSeverity(rootReportEntity, List.of(sizedChildReportNode));
 
         List<ReportNodeEntity> entitiesToSave = new ArrayList<>(MAX_SIZE_INSERT_REPORT_BATCH);
         entitiesToSave.add(rootReportEntity);
 
         TimeBasedEpochGenerator uuidGenerator = UuidUtil.newV7Generator();
+        // the child report always gets a uuid, even if it is a leaf, because it is returned to the caller
         ReportNodeEntity childReportEntity = ReportNodeEntity.builder()
-            .id(uuidGenerator.generate())
+            .uuid(uuidGenerator.generate())
             .message(sizedChildReportNode.getMessage())
             .order(sizedChildReportNode.getOrder())
             .endOrder(sizedChildReportNode.getOrder() + sizedChildReportNode.getSize() - 1)
             .isLeaf(sizedChildReportNode.isLeaf())
-            .rootNodeId(rootReportEntity.getId())
-            .parentId(rootReportEntity.getId())
-            .severity(sizedChildReportNode.getSeverity())
+            .rootNodeId(rootReportEntity.getRootNodeId())
+            .createdOn(rootReportEntity.getCreatedOn())
+            .parentOrder(rootReportEntity.getOrder())
+            .severity(Severity.fromValue(sizedChildReportNode.getSeverity()))
+            .severityCounts(sizedChildReportNode.getSeverityCounts())
             .depth(sizedChildReportNode.getDepth())
             .build();
         entitiesToSave.add(childReportEntity);
+        reportTree.add(childReportEntity);
         sizedChildReportNode.getChildren().forEach(child ->
-            saveReportNodeRecursively(uuidGenerator, rootReportEntity.getId(), childReportEntity.getId(), child, entitiesToSave));
+            saveReportNodes(uuidGenerator, rootReportEntity.getRootNodeId(), rootReportEntity.getCreatedOn(), childReportEntity.getOrder(), child, entitiesToSave, reportTree));
 
         if (!entitiesToSave.isEmpty()) {
             self.saveBatchedReports(entitiesToSave);
         }
-        return childReportEntity.getId();
+        self.saveReportTree(rootReportEntity, reportTree, false);
+        return childReportEntity.getUuid();
+    }
+
+    /**
+     * Writes the nodes of a report as they are read: a node is sized and written once its subtree has been read, so that
+     * only the nodes between the root and the node being read are held in memory, besides the batch being written.
+     */
+    private final class StreamedReportWriter implements ReportNodeStreamReader.Handler {
+
+        private final UUID id;
+        private final List<ReportNodeEntity> entitiesToSave = new ArrayList<>(MAX_SIZE_INSERT_REPORT_BATCH);
+        private final TimeBasedEpochGenerator uuidGenerator = UuidUtil.newV7Generator();
+        // nodes whose subtree is being read, the last started first
+        private final Deque<StreamedNode> startedNodes = new ArrayDeque<>();
+        private ReportNodeEntity reportEntity;
+        private MaterializedReportTree reportTree;
+        private boolean isNewReportTree;
+        private long nodeCount;
+
+        StreamedReportWriter(UUID id, @Nullable ReportNodeEntity existingReportEntity) {
+            this.id = id;
+            this.reportEntity = existingReportEntity;
+        }
+
+        @Override
+        public void onRoot(ReportNode root) {
+            if (reportEntity != null) {
+                LOGGER.debug("Reporter {} present, append ", root.getMessage());
+                reportTree = MaterializedReportTree.resume(reportEntity);
+                return;
+            }
+            LOGGER.debug("Reporter {} absent, create ", root.getMessage());
+            SizedReportNode sizedReportNode = reportMetrics.size(() -> SizedReportNode.from(root));
+            reportEntity = ReportNodeEntity.builder()
+                .uuid(id)
+                .message(sizedReportNode.getMessage())
+                .order(sizedReportNode.getOrder())
+                .endOrder(sizedReportNode.getOrder())
+                .isLeaf(sizedReportNode.isLeaf())
+                .severity(Severity.fromValue(sizedReportNode.getSeverity()))
+                .severityCounts(severityCountsOf(sizedReportNode))
+                .depth(sizedReportNode.getDepth())
+                .rootNodeId(id)
+                .createdOn(LocalDate.now(ZoneOffset.UTC))
+                .build();
+            entitiesToSave.add(reportEntity);
+            reportTree = MaterializedReportTree.create(reportEntity);
+            isNewReportTree = true;
+            nodeCount = 1;
+        }
+
+        @Override
+        public void onNodeStart(ReportNode node) {
+            StreamedNode parent = startedNodes.peek();
+            if (parent != null && !parent.isInTree) {
+                // known to be a container once its first child is read, it is added to the tree before its children
+                parent.entity.setLeaf(false);
+                addContainer(parent);
+            }
+            // orders are given in pre-order, the appended entity spans all of them
+            int order = reportEntity.getEndOrder() + 1;
+            reportEntity.setEndOrder(order);
+            reportEntity.setLeaf(false);
+            nodeCount++;
+            ReportNodeEntity entity = ReportNodeEntity.builder()
+                .message(SizedReportNode.truncatedMessage(node.getMessage()))
+                .order(order)
+                .endOrder(order)
+                .isLeaf(SizedReportNode.isLeaf(node))
+                .rootNodeId(reportEntity.getRootNodeId())
+                .createdOn(reportEntity.getCreatedOn())
+                .parentOrder(parent != null ? parent.entity.getOrder() : reportEntity.getOrder())
+                .severity(Severity.fromValue(SizedReportNode.getSeverity(node)))
+                .depth(parent != null ? parent.entity.getDepth() + 1 : reportEntity.getDepth() + 1)
+                .build();
+            startedNodes.push(new StreamedNode(entity));
+        }
+
+        @Override
+        public void onNodeEnd() {
+            StreamedNode streamedNode = startedNodes.pop();
+            ReportNodeEntity entity = streamedNode.entity;
+            entity.setEndOrder(reportEntity.getEndOrder());
+            if (!entity.isLeaf()) {
+                // the severity of a container is final once its subtree has been read
+                streamedNode.severityCounts.merge(entity.getSeverity().name(), 1L, Long::sum);
+                entity.setSeverityCounts(streamedNode.severityCounts);
+                if (streamedNode.isInTree) {
+                    reportTree.updateSeverity(entity);
+                } else {
+                    addContainer(streamedNode);
+                }
+            }
+            entitiesToSave.add(entity);
+            if (entitiesToSave.size() % MAX_SIZE_INSERT_REPORT_BATCH == 0) {
+                self.saveBatchedReports(entitiesToSave);
+            }
+
+            StreamedNode parent = startedNodes.peek();
+            if (parent == null) {
+                SizedReportNode sizedReportNode = new SizedReportNode(entity.getMessage(), entity.getOrder(), entity.getEndOrder() - entity.getOrder() + 1,
+                    entity.isLeaf(), List.of(), entity.getSeverity().name(), entity.getDepth());
+                sizedReportNode.setSeverityCounts(entity.getSeverityCounts());
+                updateParentSeverity(reportEntity, List.of(sizedReportNode));
+                return;
+            }
+            if (entity.getSeverityCounts() != null) {
+                entity.getSeverityCounts().forEach((severity, count) -> parent.severityCounts.merge(severity, count, Long::sum));
+            } else {
+                parent.severityCounts.merge(entity.getSeverity().name(), 1L, Long::sum);
+            }
+            if (entity.getSeverity().getLevel() > parent.severityLevel) {
+                parent.severityLevel = entity.getSeverity().getLevel();
+                parent.entity.setSeverity(entity.getSeverity());
+            }
+        }
+
+        private void addContainer(StreamedNode streamedNode) {
+            streamedNode.entity.setUuid(uuidGenerator.generate());
+            reportTree.add(streamedNode.entity);
+            streamedNode.isInTree = true;
+        }
+
+        @Override
+        public void onEnd() {
+            // The report entity bounds and severity are only known once all children have been read,
+            // so it is saved again with the last batch unless it is still waiting in it.
+            if (!entitiesToSave.contains(reportEntity)) {
+                entitiesToSave.add(reportEntity);
+            }
+            self.saveBatchedReports(entitiesToSave);
+            self.saveReportTree(reportEntity, reportTree, isNewReportTree);
+            reportMetrics.recordIngestedNodes(isNewReportTree ? ReportMetrics.Operation.CREATE : ReportMetrics.Operation.APPEND, nodeCount);
+        }
+    }
+
+    /**
+     * Node of a streamed report whose subtree is being read, with the severities of the nodes of its subtree read so far.
+     */
+    private static final class StreamedNode {
+        private final ReportNodeEntity entity;
+        private final Map<String, Long> severityCounts = new TreeMap<>();
+        private int severityLevel;
+        private boolean isInTree;
+
+        StreamedNode(ReportNodeEntity entity) {
+            this.entity = entity;
+            this.severityLevel = entity.getSeverity().getLevel();
+        }
     }
 
     // We don't have to update more ancestors because we only append at root level.
     // If appending were generalized to deeper levels we would update severities recursively.
     private static void updateParentSeverity(ReportNodeEntity reportEntity, List<SizedReportNode> children) {
-        String highestSeverity = children.stream()
-            .map(SizedReportNode::getSeverity)
-            .reduce((severity, severity2) -> Severity.fromValue(severity).getLevel() > Severity.fromValue(severity2).getLevel() ? severity : severity2)
-            .orElse(Severity.UNKNOWN.toString());
-        if (Severity.fromValue(highestSeverity).getLevel() > Severity.fromValue(reportEntity.getSeverity()).getLevel()) {
+        Severity previousSeverity = reportEntity.getSeverity() != null ? reportEntity.getSeverity() : Severity.UNKNOWN;
+        Severity highestSeverity = children.stream()
+            .map(child -> Severity.fromValue(child.getSeverity()))
+            .max(Comparator.comparingInt(Severity::getLevel))
+            .orElse(Severity.UNKNOWN);
+        if (highestSeverity.getLevel() > previousSeverity.getLevel()) {
             reportEntity.setSeverity(highestSeverity);
         }
+        updateSeverityCounts(reportEntity, previousSeverity, children);
+    }
+
+    private static void updateSeverityCounts(ReportNodeEntity reportEntity, Severity previousSeverity, List<SizedReportNode> children) {
+        if (reportEntity.getSeverityCounts() == null) {
+            // counts are not maintained for this node, they will be computed when read
+            return;
+        }
+        Map<String, Long> severityCounts = new TreeMap<>(reportEntity.getSeverityCounts());
+        if (previousSeverity != reportEntity.getSeverity()) {
+            severityCounts.computeIfPresent(previousSeverity.name(), (severity, count) -> count > 1 ? count - 1 : null);
+            severityCounts.merge(reportEntity.getSeverity().name(), 1L, Long::sum);
+        }
+        children.forEach(child -> severityCountsOf(child).forEach((severity, count) -> severityCounts.merge(severity, count, Long::sum)));
+        reportEntity.setSeverityCounts(severityCounts);
+    }
+
+    private static Map<String, Long> severityCountsOf(SizedReportNode sizedReportNode) {
+        // a root is a container even without children
+        return sizedReportNode.getSeverityCounts() != null ? sizedReportNode.getSeverityCounts()
+            : Map.of(Severity.fromValue(sizedReportNode.getSeverity()).name(), 1L);
     }
 
     private void createNewReport(UUID id, ReportNode reportNode) {
-        SizedReportNode sizedReportNode = SizedReportNode.from(reportNode);
+        SizedReportNode sizedReportNode = reportMetrics.size(() -> SizedReportNode.from(reportNode));
+        reportMetrics.recordIngestedNodes(ReportMetrics.Operation.CREATE, sizedReportNode.getSize());
         List<ReportNodeEntity> entitiesToSave = new ArrayList<>(MAX_SIZE_INSERT_REPORT_BATCH);
         ReportNodeEntity persistedReport = ReportNodeEntity.builder()
-            .id(id)
+            .uuid(id)
             .message(sizedReportNode.getMessage())
             .order(sizedReportNode.getOrder())
             .endOrder(sizedReportNode.getOrder() + sizedReportNode.getSize() - 1)
             .isLeaf(sizedReportNode.isLeaf())
-            .severity(sizedReportNode.getSeverity())
+            .severity(Severity.fromValue(sizedReportNode.getSeverity()))
+            .severityCounts(severityCountsOf(sizedReportNode))
             .depth(sizedReportNode.getDepth())
             .rootNodeId(id)
+            .createdOn(LocalDate.now(ZoneOffset.UTC))
             .build();
 
         entitiesToSave.add(persistedReport);
         TimeBasedEpochGenerator uuidGenerator = UuidUtil.newV7Generator();
+        MaterializedReportTree reportTree = MaterializedReportTree.create(persistedReport);
         sizedReportNode.getChildren().forEach(c ->
-            saveReportNodeRecursively(uuidGenerator, id, id, c, entitiesToSave)
+            saveReportNodes(uuidGenerator, id, persistedReport.getCreatedOn(), persistedReport.getOrder(), c, entitiesToSave, reportTree)
         );
 
         if (!entitiesToSave.isEmpty()) {
             self.saveBatchedReports(entitiesToSave);
         }
+        self.saveReportTree(persistedReport, reportTree, true);
+    }
+
+    /**
+     * Stores the materialized tree of the root of the given entity, once the entity has its final severity.
+     * A resumed tree is only written again if it has changed: the stored tree is then read with the report locked until
+     * the end of the transaction, so that the changes of concurrent writes are applied to it in turn.
+     */
+    @Transactional
+    public void saveReportTree(ReportNodeEntity reportEntity, MaterializedReportTree reportTree, boolean isNew) {
+        UUID rootNodeId = reportEntity.getRootNodeId();
+        reportTree.updateSeverity(reportEntity);
+        if (reportTree.isModified()) {
+            reportTree.load(() -> reportTreeRepository.findTreeByRootNodeIdForUpdate(rootNodeId)
+                .map(this::readReportTree)
+                .orElseGet(() -> ReportMapper.map(reportNodeRepository.findAllContainersByRootNodeId(rootNodeId, rootNodeId))));
+        }
+        if (reportTree.isDropped()) {
+            // GET falls back on the containers of the report
+            reportTreeRepository.deleteByRootNodeId(rootNodeId);
+        } else if (reportTree.isModified()) {
+            saveReportTree(rootNodeId, reportTree.getRoot(), isNew);
+        }
     }
 
-    protected void saveReportNodeRecursively(
+    private void saveReportTree(UUID rootNodeId, Report root, boolean isNew) {
+        String tree = writeReportTree(root);
+        // a tree may be missing for reports written before trees were materialized
+        if (isNew || reportTreeRepository.updateTree(rootNodeId, tree) == 0) {
+            reportTreeRepository.save(new ReportTreeEntity(rootNodeId, tree));
+        }
+    }
+
+    private String writeReportTree(Report report) {
+        try {
+            return objectMapper.writeValueAsString(report);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Report readReportTree(String tree) {
+        try {
+            return objectMapper.readValue(tree, Report.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Saves a node and its subtree in pre-order, flushed by batches. An explicit stack is used instead of recursion,
+     * so that deep reports cannot overflow the thread stack.
+     */
+    protected void saveReportNodes(
         TimeBasedEpochGenerator uuidGenerator,
         UUID rootNodeId,
-        UUID parentId,
+        LocalDate createdOn,
+        int parentOrder,
         SizedReportNode sizedReportNode,
-        List<ReportNodeEntity> entitiesToSave
+        List<ReportNodeEntity> entitiesToSave,
+        @Nullable MaterializedReportTree reportTree
     ) {
-        var reportNodeEntity = ReportNodeEntity.builder()
-            .id(uuidGenerator.generate())
-            .message(sizedReportNode.getMessage())
-            .order(sizedReportNode.getOrder())
-            .endOrder(sizedReportNode.getOrder() + sizedReportNode.getSize() - 1)
-            .isLeaf(sizedReportNode.isLeaf())
-            .rootNodeId(rootNodeId)
-            .parentId(parentId)
-            .severity(sizedReportNode.getSeverity())
-            .depth(sizedReportNode.getDepth())
-            .build();
+        Deque<PendingReportNode> stack = new ArrayDeque<>();
+        stack.push(new PendingReportNode(parentOrder, sizedReportNode));
+        while (!stack.isEmpty()) {
+            PendingReportNode pending = stack.pop();
+            SizedReportNode node = pending.node();
+            // leaves are never targeted by the API, only containers need a uuid
+            var reportNodeEntity = ReportNodeEntity.builder()
+                .uuid(node.isLeaf() ? null : uuidGenerator.generate())
+                .message(node.getMessage())
+                .order(node.getOrder())
+                .endOrder(node.getOrder() + node.getSize() - 1)
+                .isLeaf(node.isLeaf())
+                .rootNodeId(rootNodeId)
+                .createdOn(createdOn)
+                .parentOrder(pending.parentOrder())
+                .severity(Severity.fromValue(node.getSeverity()))
+                .severityCounts(node.getSeverityCounts())
+                .depth(node.getDepth())
+                .build();
 
-        entitiesToSave.add(reportNodeEntity);
-        if (entitiesToSave.size() % MAX_SIZE_INSERT_REPORT_BATCH == 0) {
-            self.saveBatchedReports(entitiesToSave);
+            entitiesToSave.add(reportNodeEntity);
+            if (reportTree != null) {
+                reportTree.add(reportNodeEntity);
+            }
+            if (entitiesToSave.size() % MAX_SIZE_INSERT_REPORT_BATCH == 0) {
+                self.saveBatchedReports(entitiesToSave);
+            }
+            // pushed in reverse, so that the children are saved in their order, after their parent
+            List<SizedReportNode> children = node.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(new PendingReportNode(node.getOrder(), children.get(i)));
+            }
         }
-        sizedReportNode.getChildren().forEach(child -> saveReportNodeRecursively(uuidGenerator, rootNodeId, reportNodeEntity.getId(), child, entitiesToSave));
-
     }
 
+    private record PendingReportNode(int parentOrder, SizedReportNode node) { }
+
     @Transactional
     public void saveBatchedReports(List<ReportNodeEntity> batch) {
-        reportNodeRepository.saveAllAndFlush(batch);
+        if (reportNodeCopyRepository.isEnabled()) {
+            reportMetrics.recordFlush(ReportMetrics.Writer.COPY, () -> {
+                // COPY can only insert: already persisted entities (e.g. the parent of appended nodes) go through JPA
+                List<ReportNodeEntity> updatedEntities = batch.stream().filter(entity -> !entity.isNew()).toList();
+                if (!updatedEntities.isEmpty()) {
+                    reportNodeRepository.saveAllAndFlush(updatedEntities);
+                }
+                reportNodeCopyRepository.copy(batch.stream().filter(ReportNodeEntity::isNew).toList());
+            });
+        } else {
+            reportMetrics.recordFlush(ReportMetrics.Writer.JPA, () -> reportNodeRepository.saveAllAndFlush(batch));
+        }
         batch.clear();
     }
 
+    /**
+     * Duplicates a root report as an alias of its source: no node is copied until the alias or its source is written to.
+     * The alias gives its own uuids to the nodes of its source at once, they do not change when it gets its own nodes.
+     */
     @Transactional
     public UUID duplicateReport(UUID rootNodeId) {
-        List<ReportProjection> sourceNodes = reportNodeRepository.findAllNodeDataByRootNodeId(rootNodeId);
-        if (sourceNodes.isEmpty()) {
+        // aliases never point to another alias, but to the report which owns the nodes
+        Optional<UUID> aliasedRootNodeId = reportAliasRepository.findRootNodeIdById(rootNodeId);
+        Optional<String> tree = reportTreeRepository.findTreeByRootNodeId(rootNodeId);
+        if (tree.isEmpty() && aliasedRootNodeId.isEmpty() && reportNodeRepository.findByUuid(rootNodeId).isEmpty()) {
             throw new NoSuchElementException("Root node not found");
         }
-
-        // Map old UUIDs to new UUIDs (ordered by depth, so parents are processed before children)
-        Map<UUID, UUID> oldToNewId = new HashMap<>();
-        List<ReportNodeEntity> batch = new ArrayList<>(MAX_SIZE_INSERT_REPORT_BATCH);
         // UUID v4 is intentionally used for the root node,
         // to avoid having two different UUID versions for root reports in the database which would be confusing and surprising
         // root report IDs are managed by study server which generates UUID v4 when creating root reports.
         // we need to switch to UUID v7 here if the study server generates UUID v7 for root report IDs.
         UUID newRootId = UUID.randomUUID();
-        TimeBasedEpochGenerator uuidGenerator = UuidUtil.newV7Generator();
+        reportAliasRepository.save(new ReportAliasEntity(newRootId, aliasedRootNodeId.orElse(rootNodeId)));
+        // the uuids of the alias are derived from those of the duplicated report, like its materialized tree
+        if (aliasedRootNodeId.isPresent()) {
+            reportNodeDuplicationRepository.copyAliasNodes(rootNodeId, newRootId);
+        } else {
+            reportNodeDuplicationRepository.createAliasNodes(rootNodeId, newRootId);
+        }
+        reportVersionRepository.bumpVersions(List.of(newRootId));
+        // without a source tree, GET falls back on the containers of the source
+        tree.ifPresent(sourceTree -> {
+            Report root = readReportTree(sourceTree);
+            renewReportTreeUuids(root, uuid -> uuid.equals(rootNodeId) ? newRootId : UuidUtil.deriveUuid(newRootId, uuid));
+            saveReportTree(newRootId, root, true);
+        });
+        return newRootId;
+    }
 
-        for (ReportProjection source : sourceNodes) {
-            boolean isRoot = source.id().equals(rootNodeId);
-            UUID newId = isRoot ? newRootId : uuidGenerator.generate();
-            oldToNewId.put(source.id(), newId);
-            UUID newParentId = source.parentId() != null ? oldToNewId.get(source.parentId()) : null;
-
-            batch.add(ReportNodeEntity.builder()
-                .id(newId)
-                .message(source.message())
-                .order(source.order())
-                .endOrder(source.endOrder())
-                .isLeaf(source.isLeaf())
-                .severity(source.severity())
-                .depth(source.depth())
-                .rootNodeId(newRootId)
-                .parentId(newParentId)
-                .build());
-
-            if (batch.size() % MAX_SIZE_INSERT_REPORT_BATCH == 0) {
-                self.saveBatchedReports(batch);
-            }
+    /**
+     * Gives a copy of the nodes of a root report to its aliases before the report is written to.
+     * The first alias gets the copy and the other aliases read it instead, so that the nodes are copied at most once.
+     * The uuids of the aliases do not change: the copy has those of the first alias, and the others reference the nodes
+     * by their order, which the copy keeps.
+     */
+    private void unshareNodes(UUID rootNodeId) {
+        List<UUID> aliasIds = reportAliasRepository.findIdsByRootNodeId(rootNodeId);
+        if (aliasIds.isEmpty()) {
+            return;
         }
-        if (!batch.isEmpty()) {
-            self.saveBatchedReports(batch);
+        UUID newRootNodeId = aliasIds.get(0);
+        reportNodeDuplicationRepository.duplicate(rootNodeId, newRootNodeId);
+        reportAliasRepository.deleteAliasById(newRootNodeId);
+        reportAliasNodeRepository.deleteAllByAliasIds(List.of(newRootNodeId));
+        reportAliasRepository.updateRootNodeId(rootNodeId, newRootNodeId);
+        // the cached nodes of the aliases are those of the former owner of the nodes
+        reportCache.invalidate(aliasIds);
+    }
+
+    /**
+     * Deletes an alias, see {@link #deleteAliases}. Returns false if the report is not an alias.
+     */
+    private boolean deleteAlias(UUID aliasId) {
+        return reportAliasRepository.findById(aliasId)
+            .map(alias -> {
+                deleteUnreadNodes(deleteAliases(List.of(alias)));
+                return true;
+            })
+            .orElse(false);
+    }
+
+    /**
+     * Deletes aliases and the uuids they give to the nodes of their sources.
+     * Returns the ids of the deleted sources whose nodes are not read by any alias anymore.
+     */
+    private List<UUID> deleteAliases(List<ReportAliasEntity> aliases) {
+        List<UUID> aliasIds = aliases.stream().map(ReportAliasEntity::getId).toList();
+        reportAliasRepository.deleteAllByIdInBatch(aliasIds);
+        reportAliasNodeRepository.deleteAllByAliasIds(aliasIds);
+        Set<UUID> rootNodeIds = aliases.stream().map(ReportAliasEntity::getRootNodeId).collect(Collectors.toSet());
+        reportAliasRepository.findAliasedRootNodeIds(rootNodeIds).forEach(rootNodeIds::remove);
+        if (rootNodeIds.isEmpty()) {
+            return List.of();
         }
+        return reportTombstoneRepository.findAllById(rootNodeIds).stream().map(ReportTombstoneEntity::getRootNodeId).toList();
+    }
 
-        return newRootId;
+    // the nodes of a deleted source are deleted along with the last alias which reads them
+    private void deleteUnreadNodes(List<UUID> rootNodeIds) {
+        if (!rootNodeIds.isEmpty()) {
+            reportNodeRepository.deleteAllByRootNodeIds(rootNodeIds.toArray(new UUID[0]));
+            reportTombstoneRepository.deleteAllByIdInBatch(rootNodeIds);
+        }
+    }
+
+    private static void renewReportTreeUuids(Report root, UnaryOperator<UUID> uuids) {
+        Deque<Report> reports = new ArrayDeque<>();
+        reports.push(root);
+        while (!reports.isEmpty()) {
+            Report report = reports.pop();
+            report.setId(uuids.apply(report.getId()));
+            report.setParentId(report.getParentId() == null ? null : uuids.apply(report.getParentId()));
+            report.getSubReports().forEach(reports::push);
+        }
+    }
+
+    private static void renewSubtreeUuids(ReportSubtree root, UnaryOperator<UUID> uuids) {
+        Deque<ReportSubtree> subtrees = new ArrayDeque<>();
+        subtrees.push(root);
+        while (!subtrees.isEmpty()) {
+            ReportSubtree subtree = subtrees.pop();
+            subtree.setId(uuids.apply(subtree.getId()));
+            subtree.setParentId(subtree.getParentId() == null ? null : uuids.apply(subtree.getParentId()));
+            subtree.getSubReports().forEach(subtrees::push);
+        }
     }
 
     @Transactional
     public void deleteReport(UUID reportUuid) {
-        if (reportNodeRepository.deleteAllByRootNodeId(reportUuid) == 0) {
+        reportCache.invalidate(List.of(reportUuid));
+        reportVersionRepository.deleteVersions(List.of(reportUuid));
+        if (!deleteRootReport(reportUuid)) {
             throw new EmptyResultDataAccessException("No element found", 1);
         }
     }
 
+    /**
+     * Deletes root reports with a single statement for all their nodes.
+     * The nodes still read by aliases are only hidden, they are deleted along with the last alias which reads them.
+     */
     @Transactional
     public void deleteReports(List<UUID> reportUuids) {
         Objects.requireNonNull(reportUuids);
-        reportUuids.forEach(reportNodeRepository::deleteAllByRootNodeId);
+        reportCache.invalidate(reportUuids);
+        reportVersionRepository.deleteVersions(reportUuids);
+        Set<UUID> rootNodeIds = releaseRootReports(reportUuids, false);
+        if (!rootNodeIds.isEmpty()) {
+            List<UUID> aliasedRootNodeIds = reportAliasRepository.findAliasedRootNodeIds(rootNodeIds);
+            if (!aliasedRootNodeIds.isEmpty()) {
+                reportTombstoneRepository.insertTombstones(aliasedRootNodeIds.toArray(new UUID[0]));
+                aliasedRootNodeIds.forEach(rootNodeIds::remove);
+            }
+        }
+        if (!rootNodeIds.isEmpty()) {
+            reportNodeRepository.deleteAllByRootNodeIds(rootNodeIds.toArray(new UUID[0]));
+        }
+    }
+
+    /**
+     * Same as {@link #deleteReports} but the nodes are only marked as deleted: they are hidden from reads at once,
+     * and deleted later by {@link #purgeDeletedReports}, so that deleting large reports neither holds locks for long
+     * nor writes a burst of WAL.
+     */
+    @Transactional
+    public void deleteReportsInBackground(List<UUID> reportUuids) {
+        Objects.requireNonNull(reportUuids);
+        reportCache.invalidate(reportUuids);
+        reportVersionRepository.deleteVersions(reportUuids);
+        Set<UUID> rootNodeIds = releaseRootReports(reportUuids, true);
+        if (!rootNodeIds.isEmpty()) {
+            reportTombstoneRepository.insertTombstones(rootNodeIds.toArray(new UUID[0]));
+        }
+    }
+
+    /**
+     * Deletes the given aliases and the trees of all the given root reports. Returns the ids of the other root reports.
+     * The nodes of the deleted sources that the deleted aliases were the last to read are deleted at once, or left to
+     * {@link #purgeDeletedReports} in background.
+     */
+    private Set<UUID> releaseRootReports(List<UUID> reportUuids, boolean inBackground) {
+        Set<UUID> rootNodeIds = new LinkedHashSet<>(reportUuids);
+        if (reportUuids.isEmpty()) {
+            return rootNodeIds;
+        }
+        reportTreeRepository.deleteAllByRootNodeIds(reportUuids.toArray(new UUID[0]));
+        List<ReportAliasEntity> aliases = reportAliasRepository.findAllById(reportUuids);
+        if (!aliases.isEmpty()) {
+            aliases.forEach(alias -> rootNodeIds.remove(alias.getId()));
+            List<UUID> unreadRootNodeIds = deleteAliases(aliases);
+            if (!inBackground) {
+                deleteUnreadNodes(unreadRootNodeIds);
+            }
+        }
+        return rootNodeIds;
+    }
+
+    /**
+     * Deletes at most {@code maxRows} nodes of the reports deleted in background, by chunks of at most {@code chunkSize}
+     * nodes each deleted in its own transaction. Returns the number of deleted nodes.
+     * Each chunk claims its report, so that the instances running the purge concurrently delete different reports.
+     */
+    public int purgeDeletedReports(int maxRows, int chunkSize) {
+        int purgedRows = 0;
+        while (purgedRows < maxRows) {
+            OptionalInt deletedRows = self.purgeDeletedReportChunk(Math.min(chunkSize, maxRows - purgedRows));
+            if (deletedRows.isEmpty()) {
+                break;
+            }
+            purgedRows += deletedRows.getAsInt();
+        }
+        return purgedRows;
+    }
+
+    // nodes are deleted from the highest order down to the root, which is deleted along with the tombstone.
+    // Empty if there is no report left to purge, or they are all being purged by other instances.
+    @Transactional
+    public OptionalInt purgeDeletedReportChunk(int chunkSize) {
+        Optional<ReportTombstoneEntity> claimedTombstone = reportTombstoneRepository.claimTombstone();
+        if (claimedTombstone.isEmpty()) {
+            return OptionalInt.empty();
+        }
+        ReportTombstoneEntity tombstone = claimedTombstone.get();
+        UUID rootNodeId = tombstone.getRootNodeId();
+        int orderAfter = Math.max(ROOT_ORDER, tombstone.getEndOrder() - chunkSize + 1);
+        int deletedRows = reportNodeRepository.deleteByRootNodeIdAndOrderBetween(rootNodeId, orderAfter, tombstone.getEndOrder());
+        if (orderAfter == ROOT_ORDER) {
+            reportTombstoneRepository.deleteTombstone(rootNodeId);
+        } else {
+            reportTombstoneRepository.updateEndOrder(rootNodeId, orderAfter - 1);
+        }
+        return OptionalInt.of(deletedRows);
+    }
+
+    /**
+     * Deletes a root report. Its nodes are only deleted if no alias reads them, otherwise they are hidden until the last
+     * alias which reads them is deleted. Returns false if the report does not exist.
+     */
+    private boolean deleteRootReport(UUID reportUuid) {
+        reportTreeRepository.deleteByRootNodeId(reportUuid);
+        if (deleteAlias(reportUuid)) {
+            return true;
+        }
+        if (reportAliasRepository.existsByRootNodeId(reportUuid)) {
+            return reportTombstoneRepository.insertTombstones(new UUID[] {reportUuid}) > 0;
+        }
+        return reportNodeRepository.deleteAllByRootNodeId(reportUuid) > 0;
     }
 
     // package private for tests
     void deleteAll() {
+        reportCache.invalidateAll();
+        reportVersionRepository.deleteAll();
+        reportTombstoneRepository.deleteAll();
+        reportAliasNodeRepository.deleteAll();
+        reportAliasRepository.deleteAll();
+        reportTreeRepository.deleteAll();
         reportNodeRepository.deleteAll();
     }
 
@@ -402,24 +1293,29 @@ public class ReportService {
     public List<MatchPosition> searchTermMatchesInFilteredLogs(
         UUID rootReportNodeId,
         @Nullable Set<String> severityLevelsFilter,
+        @Nullable Severity minSeverity,
         @Nullable String messageFilter,
         @NonNull String searchTerm,
         int pageSize
     ) {
         String messageSqlPattern = createMessageSqlPattern(messageFilter);
         String searchPattern = createMessageSqlPattern(searchTerm);
+        int minSeverityLevel = minSeverityOf(minSeverity).getLevel();
+        Set<Integer> severityLevels = severityLevelsFilter == null ? null : Severity.levelsOf(severityLevelsFilter);
 
-        List<Integer> positions = reportNodeRepository.findById(rootReportNodeId)
-            .map(entity -> {
-                UUID rootId = entity.getRootNodeId();
+        List<Integer> positions = findReportNode(rootReportNodeId)
+            .filter(node -> severityLevels == null || !severityLevels.isEmpty())
+            .map(node -> {
+                UUID rootId = node.rootNodeId();
 
-                return severityLevelsFilter == null ?
+                return severityLevels == null ?
                     reportNodeRepository.findRelativePositionsByRootNodeIdAndOrderAndMessage(
-                        rootId, entity.getOrder(), entity.getEndOrder(), messageSqlPattern, searchPattern) :
+                        rootId, node.order(), node.endOrder(), messageSqlPattern, minSeverityLevel, searchPattern) :
                     reportNodeRepository.findRelativePositionsByRootNodeIdAndOrderAndMessageAndSeverities(
-                        rootId, entity.getOrder(), entity.getEndOrder(), messageSqlPattern, searchPattern, severityLevelsFilter);
+                        rootId, node.order(), node.endOrder(), messageSqlPattern, minSeverityLevel, searchPattern, severityLevels);
             })
             .orElse(Collections.emptyList());
+        reportMetrics.recordSearchPositions(ReportMetrics.SearchScope.SINGLE, positions.size());
 
         return positions.stream()
             .map(position -> new MatchPosition(position / pageSize, position % pageSize))
@@ -439,14 +1335,21 @@ public class ReportService {
         String messageSqlPattern = createMessageSqlPattern(messageFilter);
         String searchPattern = createMessageSqlPattern(searchTerm);
 
-        // Convert collections to arrays for PostgreSQL compatibility
+        // Convert collections to arrays for PostgreSQL compatibility, aliases are resolved by the queries
         UUID[] reportIdsArray = reportIds.toArray(new UUID[0]);
 
-        List<Integer> positions = severityLevelsFilter == null ?
-            reportNodeRepository.findRelativePositionsByMultipleRootNodeIdsAndOrderAndMessage(
-                reportIdsArray, messageSqlPattern, searchPattern) :
-            reportNodeRepository.findRelativePositionsByMultipleRootNodeIdsAndOrderAndMessageAndSeverities(
-                reportIdsArray, messageSqlPattern, searchPattern, severityLevelsFilter);
+        Set<Integer> severityLevels = severityLevelsFilter == null ? null : Severity.levelsOf(severityLevelsFilter);
+        List<Integer> positions;
+        if (severityLevels == null) {
+            positions = reportNodeRepository.findRelativePositionsByMultipleRootNodeIdsAndOrderAndMessage(
+                reportIdsArray, messageSqlPattern, searchPattern);
+        } else if (severityLevels.isEmpty()) {
+            positions = List.of();
+        } else {
+            positions = reportNodeRepository.findRelativePositionsByMultipleRootNodeIdsAndOrderAndMessageAndSeverities(
+                reportIdsArray, messageSqlPattern, searchPattern, severityLevels);
+        }
+        reportMetrics.recordSearchPositions(ReportMetrics.SearchScope.MULTIPLE, positions.size());
 
         return positions.stream()
             .map(position -> new MatchPosition(position / pageSize, position % pageSize))
@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import jakarta.annotation.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Time spent by the current request in each phase: the repository calls, the SQL statements they execute and the
+ * mapping of the logs, with the root report read and the rows returned. Started by {@link RequestTimingFilter} in the
+ * thread of the request, the static methods do nothing outside of it, e.g. in the background ingestion or purge.
+ */
+public final class RequestTimer {
+
+    private static final ThreadLocal<RequestTimer> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+
+    // in the order of their first occurrence
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+
+    private UUID rootNodeId;
+
+    private long rowCount;
+
+    private String statementPhase;
+
+    /**
+     * Time and number of occurrences of a phase.
+     */
+    public static final class Phase {
+
+        private long nanos;
+
+        private int count;
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    private RequestTimer() {
+    }
+
+    static RequestTimer start() {
+        RequestTimer requestTimer = new RequestTimer();
+        CURRENT.set(requestTimer);
+        return requestTimer;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    public static <T> T time(String phase, Supplier<T> supplier) {
+        RequestTimer requestTimer = CURRENT.get();
+        if (requestTimer == null) {
+            return supplier.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            record(phase, System.nanoTime() - start);
+        }
+    }
+
+    public static void record(String phase, long nanos) {
+        RequestTimer requestTimer = CURRENT.get();
+        if (requestTimer != null) {
+            Phase timedPhase = requestTimer.phases.computeIfAbsent(phase, name -> new Phase());
+            timedPhase.nanos += nanos;
+            timedPhase.count++;
+        }
+    }
+
+    public static void addRows(int rows) {
+        RequestTimer requestTimer = CURRENT.get();
+        if (requestTimer != null) {
+            requestTimer.rowCount += rows;
+        }
+    }
+
+    /**
+     * The first root report read by the request is the one it is logged with.
+     */
+    public static void setRootNodeId(UUID rootNodeId) {
+        RequestTimer requestTimer = CURRENT.get();
+        if (requestTimer != null && requestTimer.rootNodeId == null) {
+            requestTimer.rootNodeId = rootNodeId;
+        }
+    }
+
+    /**
+     * The phase of the next statement executed, given when its SQL is prepared.
+     */
+    public static void setStatementPhase(String phase) {
+        RequestTimer requestTimer = CURRENT.get();
+        if (requestTimer != null) {
+            requestTimer.statementPhase = phase;
+        }
+    }
+
+    @Nullable
+    public static String getStatementPhase() {
+        RequestTimer requestTimer = CURRENT.get();
+        return requestTimer != null ? requestTimer.statementPhase : null;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    Map<String, Phase> getPhases() {
+        return phases;
+    }
+
+    @Nullable
+    UUID getRootNodeId() {
+        return rootNodeId;
+    }
+
+    long getRowCount() {
+        return rowCount;
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Times the phases of each request with a {@link RequestTimer}: the repository calls, the SQL statements by kind, the
+ * mapping of the logs and, once the body is written, its serialization.
+ * The phases timed before the body is written are returned in the {@code Server-Timing} header, with {@code app} the
+ * time spent until then. Requests slower than {@code report-server.request-timing.slow-threshold-ms} are logged with
+ * all their phases, the root report read and the rows returned by the queries.
+ * Streamed exports are only timed until their stream starts, as it is written by another thread.
+ */
+@Component
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestTimingFilter.class);
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    static final String APP_PHASE = "app";
+
+    static final String SERIALIZATION_PHASE = "serialization";
+
+    private final boolean enabled;
+
+    private final long slowThresholdNanos;
+
+    public RequestTimingFilter(@Value("${report-server.request-timing.enabled:true}") boolean enabled,
+                               @Value("${report-server.request-timing.slow-threshold-ms:1000}") long slowThresholdMs) {
+        this.enabled = enabled;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RequestTimer requestTimer = RequestTimer.start();
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response, requestTimer);
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            long elapsedNanos = requestTimer.elapsedNanos();
+            if (timedResponse.bodyStartNanos >= 0) {
+                RequestTimer.record(SERIALIZATION_PHASE, elapsedNanos - timedResponse.bodyStartNanos);
+            } else {
+                // responses without a body get the header now
+                timedResponse.addServerTiming();
+            }
+            RequestTimer.stop();
+            if (elapsedNanos >= slowThresholdNanos) {
+                logSlowRequest(request, response, requestTimer, elapsedNanos);
+            }
+        }
+    }
+
+    private static void logSlowRequest(HttpServletRequest request, HttpServletResponse response, RequestTimer requestTimer, long elapsedNanos) {
+        // the path pattern, which does not hold the ids, once the handler is mapped
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String phases = requestTimer.getPhases().entrySet().stream()
+            .map(phase -> phase.getKey() + ":" + formatMillis(phase.getValue().getNanos()) + "ms/" + phase.getValue().getCount())
+            .collect(Collectors.joining(","));
+        LOGGER.warn("Slow request method={} path={} status={} durationMs={} rootNodeId={} rows={} phases=[{}]",
+            request.getMethod(), pattern != null ? pattern : request.getRequestURI(), response.getStatus(),
+            formatMillis(elapsedNanos), requestTimer.getRootNodeId(), requestTimer.getRowCount(), phases);
+    }
+
+    static String serverTiming(Map<String, RequestTimer.Phase> phases, long appNanos) {
+        StringBuilder serverTiming = new StringBuilder(APP_PHASE).append(";dur=").append(formatMillis(appNanos));
+        phases.forEach((name, phase) -> serverTiming.append(", ").append(name)
+            .append(";dur=").append(formatMillis(phase.getNanos()))
+            .append(";desc=\"").append(phase.getCount()).append(phase.getCount() > 1 ? " calls\"" : " call\""));
+        return serverTiming.toString();
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1e6);
+    }
+
+    /**
+     * Adds the header right before the body is written, once the response is committed headers are ignored.
+     */
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestTimer requestTimer;
+
+        private long bodyStartNanos = -1;
+
+        private ServerTimingResponse(HttpServletResponse response, RequestTimer requestTimer) {
+            super(response);
+            this.requestTimer = requestTimer;
+        }
+
+        private void addServerTiming() {
+            if (bodyStartNanos >= 0) {
+                return;
+            }
+            bodyStartNanos = requestTimer.elapsedNanos();
+            if (!isCommitted()) {
+                setHeader(SERVER_TIMING_HEADER, serverTiming(requestTimer.getPhases(), bodyStartNanos));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
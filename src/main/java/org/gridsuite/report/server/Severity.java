@@ -7,6 +7,14 @@
 
 package org.gridsuite.report.server;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 public enum Severity {
     UNKNOWN(0),
     TRACE(1),
@@ -27,15 +35,44 @@ public enum Severity {
         return level;
     }
 
-    @SuppressWarnings("checkstyle:IllegalCatch")
+    // lookup table, so that unknown values don't go through the exception thrown by valueOf
+    private static final Map<String, Severity> BY_NAME = Arrays.stream(values())
+        .collect(Collectors.toUnmodifiableMap(Severity::name, Function.identity()));
+
     public static Severity fromValue(String value) {
         if (value == null) {
             return UNKNOWN;
         }
-        try {
-            return valueOf(value);
-        } catch (final IllegalArgumentException | NullPointerException e) {
-            return UNKNOWN;
-        }
+        return BY_NAME.getOrDefault(value, UNKNOWN);
+    }
+
+    // levels are stored in report_node.severity
+    private static final Severity[] BY_LEVEL = new Severity[Arrays.stream(values()).mapToInt(Severity::getLevel).max().orElse(0) + 1];
+
+    static {
+        Arrays.fill(BY_LEVEL, UNKNOWN);
+        Arrays.stream(values()).forEach(severity -> BY_LEVEL[severity.getLevel()] = severity);
+    }
+
+    public static Severity fromLevel(int level) {
+        return level >= 0 && level < BY_LEVEL.length ? BY_LEVEL[level] : UNKNOWN;
+    }
+
+    /**
+     * Names other than those of the enum are UNKNOWN, like they are once stored.
+     */
+    public static Set<Severity> fromValues(Collection<String> values) {
+        return values.stream().map(Severity::fromValue).collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Names other than those of the enum are dropped, so that filtering on them matches no log instead of the UNKNOWN ones.
+     */
+    public static Set<Integer> levelsOf(Collection<String> values) {
+        return values.stream()
+            .map(BY_NAME::get)
+            .filter(Objects::nonNull)
+            .map(Severity::getLevel)
+            .collect(Collectors.toUnmodifiableSet());
     }
 }
@@ -8,13 +8,18 @@ package org.gridsuite.report.server;
 
 import com.powsybl.commons.report.ReportConstants;
 import com.powsybl.commons.report.ReportNode;
+import com.powsybl.commons.report.TypedValue;
 import lombok.Getter;
 import lombok.Setter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * @author Joris Mancini <joris.mancini_externe at rte-france.com>
@@ -32,6 +37,9 @@ public class SizedReportNode {
     private int depth;
     private List<SizedReportNode> children;
     private String severity;
+    // number of nodes of each severity in the subtree, the node included, by Severity name; null for leaves.
+    // Containers are counted with their own severity, the highest of their subtree, like the rows counted by severity.
+    private Map<String, Long> severityCounts;
 
     public SizedReportNode(String message, int order, int size, boolean isLeaf, List<SizedReportNode> children, String severity, int depth) {
         this.message = message;
@@ -44,69 +52,97 @@ public class SizedReportNode {
     }
 
     public static SizedReportNode from(ReportNode reportNode) {
-        return new SizedReportNodeMapper().map(reportNode, 0);
+        return from(reportNode, 0, 0);
     }
 
+    /**
+     * Computes order, size, depth, leaf flag, highest severity and severity counts of the whole tree in a single post-order traversal.
+     * An explicit stack is used instead of recursion, so deep trees cannot overflow the thread stack.
+     */
     public static SizedReportNode from(ReportNode reportNode, int startingOrder, int depth) {
-        return new SizedReportNodeMapper(startingOrder).map(reportNode, depth);
-    }
-
-    private static final class SizedReportNodeMapper {
-
-        private int counter;
-
-        SizedReportNodeMapper(int counter) {
-            this.counter = counter;
+        int counter = startingOrder;
+        SizedReportNode root = newSizedReportNode(reportNode, counter++, depth);
+        Deque<Frame> stack = new ArrayDeque<>();
+        stack.push(new Frame(reportNode, root));
+        while (!stack.isEmpty()) {
+            Frame frame = stack.peek();
+            List<ReportNode> children = frame.reportNode.getChildren();
+            if (frame.nextChild < children.size()) {
+                ReportNode child = children.get(frame.nextChild++);
+                SizedReportNode sizedChild = newSizedReportNode(child, counter++, frame.sizedReportNode.getDepth() + 1);
+                frame.sizedReportNode.getChildren().add(sizedChild);
+                stack.push(new Frame(child, sizedChild));
+            } else {
+                stack.pop();
+                // orders are given in pre-order, so the subtree of a node spans all orders given since its own
+                frame.sizedReportNode.setSize(counter - frame.sizedReportNode.getOrder());
+                // the severity of the node is final once all its children have been popped
+                String severity = frame.sizedReportNode.getSeverity();
+                // severities unknown to the server are stored as UNKNOWN
+                String severityName = Severity.fromValue(severity).name();
+                if (frame.severityCounts != null) {
+                    frame.severityCounts.merge(severityName, 1L, Long::sum);
+                    frame.sizedReportNode.setSeverityCounts(frame.severityCounts);
+                }
+                Frame parentFrame = stack.peek();
+                if (parentFrame != null) {
+                    if (frame.severityCounts != null) {
+                        frame.severityCounts.forEach((childSeverity, count) -> parentFrame.severityCounts.merge(childSeverity, count, Long::sum));
+                    } else {
+                        parentFrame.severityCounts.merge(severityName, 1L, Long::sum);
+                    }
+                    if (frame.severityLevel > parentFrame.severityLevel) {
+                        parentFrame.severityLevel = frame.severityLevel;
+                        parentFrame.sizedReportNode.setSeverity(severity);
+                    }
+                }
+            }
         }
+        return root;
+    }
 
-        SizedReportNodeMapper() {
-            this(0);
-        }
+    private static SizedReportNode newSizedReportNode(ReportNode reportNode, int order, int depth) {
+        return new SizedReportNode(
+            truncatedMessage(reportNode.getMessage()),
+            order,
+            1,
+            isLeaf(reportNode),
+            new ArrayList<>(reportNode.getChildren().size()),
+            getSeverity(reportNode),
+            depth
+        );
+    }
 
-        public SizedReportNode map(ReportNode reportNode, int depth) {
-            SizedReportNode sizedReportNode = new SizedReportNode(
-                truncatedMessage(reportNode.getMessage()),
-                counter++,
-                0,
-                isLeaf(reportNode),
-                new ArrayList<>(reportNode.getChildren().size()),
-                getHighestSeverity(reportNode),
-                depth
-            );
-            int subTreeSize = reportNode.getChildren().stream().map(child -> {
-                var childSizedReportNode = map(child, depth + 1);
-                sizedReportNode.getChildren().add(childSizedReportNode);
-                return childSizedReportNode.getSize();
-            }).reduce(1, Integer::sum);
-            sizedReportNode.setSize(subTreeSize);
-            return sizedReportNode;
+    private static final class Frame {
+        private final ReportNode reportNode;
+        private final SizedReportNode sizedReportNode;
+        private final Map<String, Long> severityCounts;
+        private int severityLevel;
+        private int nextChild;
+
+        Frame(ReportNode reportNode, SizedReportNode sizedReportNode) {
+            this.reportNode = reportNode;
+            this.sizedReportNode = sizedReportNode;
+            this.severityCounts = sizedReportNode.isLeaf() ? null : new TreeMap<>();
+            this.severityLevel = Severity.fromValue(sizedReportNode.getSeverity()).getLevel();
         }
+    }
 
-        private static String truncatedMessage(String message) {
-            if (message.length() <= MAX_MESSAGE_CHAR) {
-                return message;
-            }
-            String truncatedMessage = message.substring(0, MAX_MESSAGE_CHAR);
-            LOGGER.error("Message {}... exceeds max character length ({}). It will be truncated", truncatedMessage, MAX_MESSAGE_CHAR);
-            return truncatedMessage;
+    static String truncatedMessage(String message) {
+        if (message.length() <= MAX_MESSAGE_CHAR) {
+            return message;
         }
+        String truncatedMessage = message.substring(0, MAX_MESSAGE_CHAR);
+        LOGGER.error("Message {}... exceeds max character length ({}). It will be truncated", truncatedMessage, MAX_MESSAGE_CHAR);
+        return truncatedMessage;
+    }
 
-        private static String getHighestSeverity(ReportNode reportNode) {
-            String highestSeverity = reportNode.getValues().containsKey(ReportConstants.SEVERITY_KEY)
-                ? reportNode.getValues().get(ReportConstants.SEVERITY_KEY).getValue().toString()
-                : Severity.UNKNOWN.toString();
-
-            for (ReportNode child : reportNode.getChildren()) {
-                String childSeverity = getHighestSeverity(child);
-                if (Severity.fromValue(childSeverity).getLevel() > Severity.fromValue(highestSeverity).getLevel()) {
-                    highestSeverity = childSeverity;
-                }
-            }
-            return highestSeverity;
-        }
+    static String getSeverity(ReportNode reportNode) {
+        TypedValue severity = reportNode.getValues().get(ReportConstants.SEVERITY_KEY);
+        return severity != null ? severity.getValue().toString() : Severity.UNKNOWN.toString();
+    }
 
-        private static boolean isLeaf(ReportNode reportNode) {
-            return reportNode.getChildren().isEmpty() && reportNode.getValues().containsKey(ReportConstants.SEVERITY_KEY);
-        }
+    static boolean isLeaf(ReportNode reportNode) {
+        return reportNode.getChildren().isEmpty() && reportNode.getValues().containsKey(ReportConstants.SEVERITY_KEY);
     }
 }
@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.regex.Pattern;
+
+/**
+ * Tells the {@link RequestTimer} of the request which phase the statement about to be executed belongs to, so that the
+ * count of a paged query is timed apart from the query itself. The SQL is left unchanged.
+ * Set as {@code hibernate.session_factory.statement_inspector}.
+ */
+public class SqlStatementPhaseInspector implements StatementInspector {
+
+    static final String SELECT_PHASE = "sql-select";
+
+    static final String COUNT_PHASE = "sql-count";
+
+    static final String WRITE_PHASE = "sql-write";
+
+    private static final Pattern COUNT = Pattern.compile("^\\s*select\\s+count\\s*\\(", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern SELECT = Pattern.compile("^\\s*(select|with)\\b", Pattern.CASE_INSENSITIVE);
+
+    @Override
+    public String inspect(String sql) {
+        RequestTimer.setStatementPhase(phaseOf(sql));
+        return sql;
+    }
+
+    static String phaseOf(String sql) {
+        if (COUNT.matcher(sql).find()) {
+            return COUNT_PHASE;
+        }
+        return SELECT.matcher(sql).find() ? SELECT_PHASE : WRITE_PHASE;
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times the execution of the statements of a session in the {@link RequestTimer} of the request, in the phase given by
+ * {@link SqlStatementPhaseInspector}. Set as {@code hibernate.session.events.auto}, an instance is created by session.
+ * Statements executed outside of Hibernate (COPY, JDBC templates) are not timed.
+ */
+public class SqlTimingSessionListener implements SessionEventListener {
+
+    static final String BATCH_PHASE = "sql-batch";
+
+    private long statementStart;
+
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        String phase = RequestTimer.getStatementPhase();
+        RequestTimer.record(phase != null ? phase : SqlStatementPhaseInspector.SELECT_PHASE, System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTimer.record(BATCH_PHASE, System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,17 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.dto;
+
+import java.util.List;
+
+/**
+ * A slice of report logs read with keyset pagination.
+ * {@code nextCursor} is opaque to clients and must be sent back to read the next slice, it is null on the last slice.
+ * {@code totalElements} is only computed on demand, since counting costs as much as reading all the logs.
+ */
+public record ReportLogSlice(List<ReportLog> content, String nextCursor, Long totalElements) {
+}
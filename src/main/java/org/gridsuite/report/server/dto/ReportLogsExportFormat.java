@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.dto;
+
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+/**
+ * Formats of the report logs exports: one JSON log per line, or CSV with a header line.
+ */
+@Getter
+public enum ReportLogsExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+    private final MediaType mediaType;
+
+    ReportLogsExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.gridsuite.report.server.Severity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@NoArgsConstructor
+@Getter
+@Setter
+@Schema(description = "Report container and its sub-containers down to a given depth")
+public class ReportSubtree {
+    private UUID id;
+    private UUID parentId;
+    private String message;
+    private Severity severity;
+    private int depth;
+    @Schema(description = "Number of sub-containers, including those beyond the requested depth which are not returned")
+    private int childCount;
+    @Schema(description = "Number of elements of each severity in the container, the container included, if counted when it was written")
+    private Map<String, Long> severityCounts;
+    private List<ReportSubtree> subReports = new ArrayList<>();
+}
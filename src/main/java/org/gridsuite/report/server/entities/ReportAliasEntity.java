@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * A root report created by duplication, which reads the nodes of its source root report instead of owning a copy of them.
+ * Each alias is a reference to the nodes of the source: they are only deleted when the source and all its aliases are.
+ * The alias gives its own uuids to these nodes (see {@link ReportAliasNodeEntity}), and keeps them when it gets its own
+ * copy of the nodes, the first time it or its source is written to.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Getter
+@Setter
+@Table(name = "report_alias", indexes = {
+    @Index(name = "report_alias_root_node_id_idx", columnList = "root_node_id")
+})
+public class ReportAliasEntity extends AbstractManuallyAssignedIdentifierEntity<UUID> {
+
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "root_node_id", nullable = false)
+    private UUID rootNodeId;
+}
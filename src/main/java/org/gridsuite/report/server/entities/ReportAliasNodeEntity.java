@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * The uuid an alias gives to a node of its source which has one: the alias itself for the root, derived from the alias
+ * id and the uuid of the node for the others. The node is referenced by its order, which the copy of the nodes of a
+ * source keeps, so that the uuids of an alias never change, whoever owns the nodes it reads.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Getter
+@Setter
+@Table(name = "report_alias_node", indexes = {
+    @Index(name = "report_alias_node_alias_id_idx", columnList = "alias_id, order_", unique = true)
+})
+public class ReportAliasNodeEntity extends AbstractManuallyAssignedIdentifierEntity<UUID> {
+
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "alias_id", nullable = false)
+    private UUID aliasId;
+
+    @Column(name = "order_", nullable = false)
+    private int order;
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.gridsuite.report.server.dto.IngestionTicket;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A report queued for asynchronous ingestion, stored so that its ticket can be read from any instance.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Getter
+@Setter
+@Table(name = "report_ingestion_ticket", indexes = {
+    @Index(name = "report_ingestion_ticket_updated_at_idx", columnList = "updated_at")
+})
+public class ReportIngestionTicketEntity extends AbstractManuallyAssignedIdentifierEntity<UUID> {
+
+    @Id
+    @Column(name = "ticket_id")
+    private UUID ticketId;
+
+    @Column(name = "report_id", nullable = false)
+    private UUID reportId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private IngestionTicket.Status status;
+
+    @Column(name = "error", columnDefinition = "TEXT")
+    private String error;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public static ReportIngestionTicketEntity of(IngestionTicket ticket) {
+        return new ReportIngestionTicketEntity(ticket.ticketId(), ticket.reportId(), ticket.status(), ticket.error(), Instant.now());
+    }
+
+    public IngestionTicket toDto() {
+        return new IngestionTicket(ticketId, reportId, status, error);
+    }
+
+    @Override
+    public UUID getId() {
+        return ticketId;
+    }
+}
@@ -12,28 +12,51 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.gridsuite.report.server.Severity;
 
+import java.time.LocalDate;
+import java.util.Map;
 import java.util.UUID;
 
+/**
+ * A report node is identified by its root and its order in the root's tree, so that the nodes of a report are
+ * inserted sequentially in the primary key index and parents are referenced by their order.
+ * Only the nodes that can be targeted by the API (roots and containers) keep a {@link #uuid}.
+ * Roots and containers also keep the number of nodes of each severity in their subtree, themselves included.
+ * <p>
+ * On PostgreSQL report_node is partitioned by {@link #createdOn}, which the unique indexes of a partitioned table must
+ * hold: the primary key is (root_node_id, order_, created_on) and {@link #uuid} is not unique. All the nodes of a report
+ * share the creation date of its root and uuids are generated, so both stay unique unless two roots with the same id
+ * are created concurrently on either side of midnight, which the callers never do.
+ */
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity
 @Getter
 @Setter
+@IdClass(ReportNodeId.class)
+// on PostgreSQL report_node_orders_covering_idx includes (created_on, severity) and report_node_severity_idx includes
+// created_on, which cannot be declared here, see changelog_20261017T180000Z
 @Table(name = "report_node", indexes = {
-    @Index(name = "report_node_parent_id_idx", columnList = "parent_id"),
-    @Index(name = "root_node_orders_idx", columnList = "root_node_id, order_, end_order"),
+    @Index(name = "report_node_id_idx", columnList = "id"),
+    @Index(name = "report_node_orders_covering_idx", columnList = "root_node_id, order_"),
+    @Index(name = "report_node_severity_idx", columnList = "root_node_id, severity, order_"),
     @Index(name = "root_node_and_container_idx", columnList = "root_node_id, is_leaf")
 })
-public class ReportNodeEntity extends AbstractManuallyAssignedIdentifierEntity<UUID> {
+public class ReportNodeEntity extends AbstractManuallyAssignedIdentifierEntity<ReportNodeId> {
 
     @Id
-    private UUID id;
+    @Column(name = "root_node_id")
+    private UUID rootNodeId;
 
+    @Id
     @Column(name = "order_")
     private int order;
 
+    @Column(name = "id")
+    private UUID uuid;
+
     @Column(name = "end_order")
     private int endOrder;
 
@@ -43,15 +66,28 @@ public class ReportNodeEntity extends AbstractManuallyAssignedIdentifierEntity<U
     @Column(name = "message", columnDefinition = "TEXT")
     private String message;
 
-    @Column(name = "severity")
-    private String severity;
+    @Convert(converter = SeverityConverter.class)
+    @Column(name = "severity", columnDefinition = "SMALLINT")
+    private Severity severity;
 
     @Column(name = "depth", columnDefinition = "integer default 0")
     private int depth;
 
-    @Column(name = "root_node_id")
-    private UUID rootNodeId;
+    @Column(name = "parent_order")
+    private Integer parentOrder;
+
+    // replaced and never modified in place, so that changes are detected on update
+    @Convert(converter = SeverityCountsConverter.class)
+    @Column(name = "severity_counts", columnDefinition = "TEXT")
+    private Map<String, Long> severityCounts;
+
+    // creation date of the root, shared by all its nodes: report_node is partitioned by month of creation on PostgreSQL
+    @Id
+    @Column(name = "created_on", nullable = false)
+    private LocalDate createdOn;
 
-    @Column(name = "parent_id")
-    private UUID parentId;
+    @Override
+    public ReportNodeId getId() {
+        return new ReportNodeId(rootNodeId, order, createdOn);
+    }
 }
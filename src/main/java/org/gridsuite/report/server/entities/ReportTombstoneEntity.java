@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * A root report deleted in background, or deleted while aliases read its nodes: its nodes are hidden from its reads and
+ * deleted later by chunks, once no alias reads them, from the highest order down to the root. {@code endOrder} is the
+ * highest order not deleted yet.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Getter
+@Setter
+@Table(name = "report_tombstone")
+public class ReportTombstoneEntity extends AbstractManuallyAssignedIdentifierEntity<UUID> {
+
+    @Id
+    @Column(name = "root_node_id")
+    private UUID rootNodeId;
+
+    @Column(name = "end_order", nullable = false)
+    private int endOrder;
+
+    @Override
+    public UUID getId() {
+        return rootNodeId;
+    }
+}
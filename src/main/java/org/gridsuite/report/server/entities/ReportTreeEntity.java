@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * The container tree of a root report, serialized in JSON exactly as returned by {@code GET /reports/{id}}.
+ * It is written when the containers of the report change, so that reading it is a single-row lookup.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Getter
+@Setter
+@Table(name = "report_tree")
+public class ReportTreeEntity extends AbstractManuallyAssignedIdentifierEntity<UUID> {
+
+    @Id
+    @Column(name = "root_node_id")
+    private UUID rootNodeId;
+
+    @Column(name = "tree", columnDefinition = "TEXT", nullable = false)
+    private String tree;
+
+    @Override
+    public UUID getId() {
+        return rootNodeId;
+    }
+}
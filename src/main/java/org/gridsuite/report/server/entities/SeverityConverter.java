@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.entities;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.gridsuite.report.server.Severity;
+
+/**
+ * Stores the severity of a node as its level, so that severities are compared and filtered by range in the database.
+ */
+@Converter
+public class SeverityConverter implements AttributeConverter<Severity, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(Severity severity) {
+        return severity == null ? null : (short) severity.getLevel();
+    }
+
+    @Override
+    public Severity convertToEntityAttribute(Short level) {
+        return level == null ? null : Severity.fromLevel(level);
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.migrations;
+
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates an index on a partitioned table of PostgreSQL without blocking its writes, which {@code CREATE INDEX} on the
+ * partitioned table does and {@code CREATE INDEX CONCURRENTLY} does not support:
+ * <ol>
+ *     <li>the index is created on the partitioned table only, invalid until all its partitions have theirs;</li>
+ *     <li>the index of each partition is built concurrently, named after the index and the suffix of the partition;</li>
+ *     <li>each index of a partition is attached to the index of the partitioned table, which becomes valid with the last.</li>
+ * </ol>
+ * Partitions created afterwards get the index with the others. The changeset must not run in a transaction.
+ * Each step is skipped if already done, so that a failed migration can run again, but an index of a partition left
+ * invalid by a failed build must be dropped first.
+ */
+public class PartitionedIndexChange implements CustomTaskChange {
+
+    private static final String FIND_PARTITIONS_SQL = """
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = CAST(? AS regclass)
+        ORDER BY c.relname
+        """;
+
+    private String tableName;
+
+    private String indexName;
+
+    // columns and predicate of the index, as written after the table in CREATE INDEX
+    private String definition;
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public void setIndexName(String indexName) {
+        this.indexName = indexName;
+    }
+
+    public void setDefinition(String definition) {
+        this.definition = definition;
+    }
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX IF NOT EXISTS " + indexName + " ON ONLY " + tableName + " " + definition);
+            for (String partition : findPartitions(connection)) {
+                String partitionIndexName = indexName + partition.substring(tableName.length());
+                statement.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + partitionIndexName + " ON " + partition + " " + definition);
+                // nothing is done if already attached
+                statement.execute("ALTER INDEX " + indexName + " ATTACH PARTITION " + partitionIndexName);
+            }
+        } catch (SQLException e) {
+            throw new CustomChangeException("Index " + indexName + " not created on " + tableName, e);
+        }
+    }
+
+    private List<String> findPartitions(Connection connection) throws SQLException {
+        List<String> partitions = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(FIND_PARTITIONS_SQL)) {
+            statement.setString(1, tableName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    partitions.add(resultSet.getString(1));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Index " + indexName + " created on " + tableName + " and its partitions";
+    }
+
+    @Override
+    public void setUp() {
+        // nothing to set up
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+        // no file is read
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        ValidationErrors errors = new ValidationErrors();
+        errors.checkRequiredField("tableName", tableName);
+        errors.checkRequiredField("indexName", indexName);
+        errors.checkRequiredField("definition", definition);
+        return errors;
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.migrations;
+
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Writes the level of the severity of the existing nodes of report_node to severity_level on PostgreSQL, by batches
+ * of nodes in the order of the primary key. Each batch is committed on its own, so that the locks of the updated rows
+ * are only held for the time of a batch and the dead rows are reclaimed by the autovacuum while the backfill goes on.
+ * The changeset must not run in a transaction. Nodes already having a level are skipped, so that it can run again.
+ */
+public class SeverityLevelBackfillChange implements CustomTaskChange {
+
+    // the updates are counted in the statement, the batch returns its last key to start the next one from
+    private static final String BACKFILL_BATCH_SQL = """
+        WITH batch AS (
+            SELECT root_node_id, order_, created_on
+            FROM report_node
+            WHERE (root_node_id, order_) > (?, ?)
+            ORDER BY root_node_id, order_
+            LIMIT ?
+        ), updated AS (
+            UPDATE report_node rn
+            SET severity_level = report_node_severity_level(rn.severity)
+            FROM batch
+            WHERE
+                rn.root_node_id = batch.root_node_id
+                AND rn.order_ = batch.order_
+                AND rn.created_on = batch.created_on
+                AND rn.severity_level IS NULL
+        )
+        SELECT root_node_id, order_
+        FROM batch
+        ORDER BY root_node_id DESC, order_ DESC
+        LIMIT 1
+        """;
+
+    private int batchSize;
+
+    public void setBatchSize(String batchSize) {
+        this.batchSize = Integer.parseInt(batchSize);
+    }
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        UUID lastRootNodeId = new UUID(0, 0);
+        int lastOrder = -1;
+        try (PreparedStatement statement = connection.prepareStatement(BACKFILL_BATCH_SQL)) {
+            while (true) {
+                statement.setObject(1, lastRootNodeId);
+                statement.setInt(2, lastOrder);
+                statement.setInt(3, batchSize);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        return;
+                    }
+                    lastRootNodeId = resultSet.getObject(1, UUID.class);
+                    lastOrder = resultSet.getInt(2);
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            }
+        } catch (SQLException e) {
+            throw new CustomChangeException("Severity levels of report_node not written after node " + lastRootNodeId + "/" + lastOrder, e);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Severity levels of report_node written";
+    }
+
+    @Override
+    public void setUp() {
+        // nothing to set up
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+        // no file is read
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        ValidationErrors errors = new ValidationErrors();
+        if (batchSize <= 0) {
+            errors.addError("batchSize must be positive");
+        }
+        return errors;
+    }
+}
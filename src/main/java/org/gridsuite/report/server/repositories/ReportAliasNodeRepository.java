@@ -0,0 +1,40 @@
+/**
+ *  Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.repositories;
+
+import org.gridsuite.report.server.entities.ReportAliasNodeEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ReportAliasNodeRepository extends JpaRepository<ReportAliasNodeEntity, UUID> {
+
+    // the uuid of each node of the source, with the uuid the alias gives it
+    @Query("""
+        SELECT rn.uuid, an.id
+        FROM ReportAliasNodeEntity an
+        JOIN ReportAliasEntity a ON a.id = an.aliasId
+        JOIN ReportNodeEntity rn ON rn.rootNodeId = a.rootNodeId AND rn.order = an.order
+        WHERE
+            an.aliasId = :aliasId
+            AND rn.createdOn = (SELECT r.createdOn FROM ReportNodeEntity r WHERE r.rootNodeId = a.rootNodeId AND r.order = 0)
+        """)
+    List<Object[]> findNodeUuidsByAliasId(@Param("aliasId") UUID aliasId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ReportAliasNodeEntity an WHERE an.aliasId IN :aliasIds")
+    int deleteAllByAliasIds(@Param("aliasIds") Collection<UUID> aliasIds);
+}
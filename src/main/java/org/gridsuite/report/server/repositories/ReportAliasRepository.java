@@ -0,0 +1,45 @@
+/**
+ *  Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.repositories;
+
+import org.gridsuite.report.server.entities.ReportAliasEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ReportAliasRepository extends JpaRepository<ReportAliasEntity, UUID> {
+
+    @Query("SELECT a.rootNodeId FROM ReportAliasEntity a WHERE a.id = :id")
+    Optional<UUID> findRootNodeIdById(@Param("id") UUID id);
+
+    boolean existsByRootNodeId(UUID rootNodeId);
+
+    @Query("SELECT DISTINCT a.rootNodeId FROM ReportAliasEntity a WHERE a.rootNodeId IN :rootNodeIds")
+    List<UUID> findAliasedRootNodeIds(@Param("rootNodeIds") Collection<UUID> rootNodeIds);
+
+    @Query("SELECT a.id FROM ReportAliasEntity a WHERE a.rootNodeId = :rootNodeId ORDER BY a.id")
+    List<UUID> findIdsByRootNodeId(@Param("rootNodeId") UUID rootNodeId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportAliasEntity a SET a.rootNodeId = :newRootNodeId WHERE a.rootNodeId = :rootNodeId")
+    int updateRootNodeId(@Param("rootNodeId") UUID rootNodeId, @Param("newRootNodeId") UUID newRootNodeId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ReportAliasEntity a WHERE a.id = :id")
+    int deleteAliasById(@Param("id") UUID id);
+}
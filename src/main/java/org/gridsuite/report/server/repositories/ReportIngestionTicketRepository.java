@@ -0,0 +1,38 @@
+/**
+ *  Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.repositories;
+
+import org.gridsuite.report.server.dto.IngestionTicket;
+import org.gridsuite.report.server.entities.ReportIngestionTicketEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface ReportIngestionTicketRepository extends JpaRepository<ReportIngestionTicketEntity, UUID> {
+
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE ReportIngestionTicketEntity t
+        SET t.status = :status, t.error = :error, t.updatedAt = :updatedAt
+        WHERE t.ticketId = :ticketId
+        """)
+    int updateStatus(@Param("ticketId") UUID ticketId, @Param("status") IngestionTicket.Status status,
+                     @Param("error") String error, @Param("updatedAt") Instant updatedAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ReportIngestionTicketEntity t WHERE t.updatedAt < :updatedAt")
+    int deleteAllUpdatedBefore(@Param("updatedAt") Instant updatedAt);
+}
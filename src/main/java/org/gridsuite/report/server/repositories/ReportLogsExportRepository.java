@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.repositories;
+
+import jakarta.annotation.Nullable;
+import org.gridsuite.report.server.Severity;
+import org.gridsuite.report.server.dto.ReportLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Reads the logs of a report row by row for exports, without ever holding them all in memory.
+ * Rows are fetched by chunks of {@code report-server.logs-export.fetch-size}: on PostgreSQL this is a server-side cursor,
+ * provided it is called inside a transaction (the driver fetches everything at once in autocommit mode).
+ */
+@Repository
+public class ReportLogsExportRepository {
+
+    private static final String SELECT_LOGS_SQL = """
+        SELECT rn.message, rn.severity, rn.depth, COALESCE(parent_an.id, parent.id) AS parent_id
+        FROM report_node rn
+        LEFT JOIN report_node parent ON parent.root_node_id = rn.root_node_id AND parent.order_ = rn.parent_order AND parent.created_on = rn.created_on
+        LEFT JOIN report_alias_node parent_an ON parent_an.alias_id = :rootReportId AND parent_an.order_ = rn.parent_order
+        WHERE
+            rn.root_node_id = :rootNodeId
+            AND rn.created_on = (SELECT r.created_on FROM report_node r WHERE r.root_node_id = :rootNodeId AND r.order_ = 0)
+            AND rn.order_ BETWEEN :orderAfter AND :orderBefore
+            AND UPPER(rn.message) LIKE UPPER(:message) ESCAPE '\\'
+            AND NOT EXISTS (SELECT 1 FROM report_tombstone t WHERE t.root_node_id = :rootReportId)
+        """;
+
+    private static final String SEVERITIES_FILTER_SQL = " AND rn.severity IN (:severities)";
+
+    private static final String MIN_SEVERITY_FILTER_SQL = " AND rn.severity >= :minSeverity";
+
+    private static final String ORDER_BY_SQL = " ORDER BY rn.order_ ASC";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ReportLogsExportRepository(DataSource dataSource, @Value("${report-server.logs-export.fetch-size:1000}") int fetchSize) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    /**
+     * Reads the logs of the nodes of {@code rootNodeId} as the root report {@code rootReportId}, which is the same report
+     * or an alias reading its nodes, with the uuids of the alias. Severities are filtered by level, see {@link Severity#levelsOf}.
+     */
+    public void forEachLog(UUID rootNodeId, UUID rootReportId, int orderAfter, int orderBefore, String message, @Nullable Set<Integer> severities,
+                           @Nullable Severity minSeverity, Consumer<ReportLog> consumer) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("rootNodeId", rootNodeId)
+            .addValue("rootReportId", rootReportId)
+            .addValue("orderAfter", orderAfter)
+            .addValue("orderBefore", orderBefore)
+            .addValue("message", message);
+        String sql = SELECT_LOGS_SQL;
+        if (severities != null) {
+            sql += SEVERITIES_FILTER_SQL;
+            parameters.addValue("severities", severities);
+        }
+        if (minSeverity != null) {
+            sql += MIN_SEVERITY_FILTER_SQL;
+            parameters.addValue("minSeverity", minSeverity.getLevel());
+        }
+        RowCallbackHandler rowHandler = rs -> consumer.accept(new ReportLog(
+            rs.getString("message"),
+            Severity.fromLevel(rs.getInt("severity")),
+            rs.getInt("depth"),
+            rs.getObject("parent_id", UUID.class)));
+        jdbcTemplate.query(sql + ORDER_BY_SQL, parameters, rowHandler);
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.repositories;
+
+import org.gridsuite.report.server.Severity;
+import org.gridsuite.report.server.entities.ReportNodeEntity;
+import org.gridsuite.report.server.entities.SeverityCountsConverter;
+import org.gridsuite.report.server.utils.DatabaseUtil;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk writer for new report_node rows, based on the PostgreSQL binary COPY protocol.
+ * Rows written this way skip the Hibernate persistence context entirely (no isNew check, no dirty tracking,
+ * no statement per row), which is what makes inserting very large reports affordable.
+ * It must be called inside a transaction so that it shares the JDBC connection of the current JPA transaction.
+ * <p>
+ * COPY only exists on PostgreSQL: {@link #isEnabled()} is false on any other database (H2 in tests),
+ * in which case callers keep using the JPA repository.
+ */
+@Repository
+public class ReportNodeCopyRepository {
+
+    private static final String COPY_SQL = """
+        COPY report_node (id, order_, end_order, is_leaf, message, severity, depth, root_node_id, parent_order, severity_counts, created_on)
+        FROM STDIN (FORMAT BINARY)
+        """;
+
+    // See https://www.postgresql.org/docs/current/sql-copy.html#id-1.9.3.55.9.4
+    private static final byte[] BINARY_SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final short FIELD_COUNT = 11;
+    private static final int UUID_LENGTH = 16;
+    private static final int INT_LENGTH = 4;
+    private static final int SMALLINT_LENGTH = 2;
+    private static final int BOOLEAN_LENGTH = 1;
+    private static final int DATE_LENGTH = 4;
+    // binary dates are days since the PostgreSQL epoch
+    private static final LocalDate POSTGRESQL_EPOCH = LocalDate.of(2000, 1, 1);
+    private static final int NULL_LENGTH = -1;
+
+    private final DataSource dataSource;
+
+    private final boolean enabled;
+
+    public ReportNodeCopyRepository(DataSource dataSource, @Value("${report-server.copy-insert.enabled:true}") boolean copyInsertEnabled) {
+        this.dataSource = dataSource;
+        this.enabled = copyInsertEnabled && DatabaseUtil.isPostgreSql(dataSource);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void copy(List<ReportNodeEntity> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new ByteArrayInputStream(encode(entities)));
+        } catch (SQLException | IOException e) {
+            throw new DataAccessResourceFailureException("Failed to copy " + entities.size() + " report nodes", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        // rows are now in the database, a later save of the same instances must be an update
+        entities.forEach(ReportNodeEntity::markNotNew);
+    }
+
+    private static byte[] encode(List<ReportNodeEntity> entities) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(entities.size() * 128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(BINARY_SIGNATURE);
+            out.writeInt(0); // flags
+            out.writeInt(0); // header extension length
+            for (ReportNodeEntity entity : entities) {
+                out.writeShort(FIELD_COUNT);
+                writeUuid(out, entity.getUuid());
+                writeInt(out, entity.getOrder());
+                writeInt(out, entity.getEndOrder());
+                out.writeInt(BOOLEAN_LENGTH);
+                out.writeBoolean(entity.isLeaf());
+                writeText(out, entity.getMessage());
+                writeSeverity(out, entity.getSeverity());
+                writeInt(out, entity.getDepth());
+                writeUuid(out, entity.getRootNodeId());
+                writeNullableInt(out, entity.getParentOrder());
+                writeText(out, SeverityCountsConverter.toJson(entity.getSeverityCounts()));
+                out.writeInt(DATE_LENGTH);
+                out.writeInt((int) ChronoUnit.DAYS.between(POSTGRESQL_EPOCH, entity.getCreatedOn()));
+            }
+            out.writeShort(-1); // trailer
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        if (uuid == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        out.writeInt(UUID_LENGTH);
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static void writeInt(DataOutputStream out, int value) throws IOException {
+        out.writeInt(INT_LENGTH);
+        out.writeInt(value);
+    }
+
+    // severities are stored as their level, see SeverityConverter
+    private static void writeSeverity(DataOutputStream out, Severity severity) throws IOException {
+        if (severity == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        out.writeInt(SMALLINT_LENGTH);
+        out.writeShort(severity.getLevel());
+    }
+
+    private static void writeNullableInt(DataOutputStream out, Integer value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        writeInt(out, value);
+    }
+
+    private static void writeText(DataOutputStream out, String text) throws IOException {
+        if (text == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+}
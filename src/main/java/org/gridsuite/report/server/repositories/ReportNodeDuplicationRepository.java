@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.repositories;
+
+import org.gridsuite.report.server.utils.DatabaseUtil;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Gives the nodes of a root report to an alias with a single INSERT ... SELECT each, so that no node goes through the
+ * application:
+ * <ul>
+ *     <li>when the alias is created, the uuids it gives to the nodes of its source which have one are derived from the
+ *     alias id and their uuid (see {@link org.gridsuite.report.server.utils.UuidUtil#deriveUuid}), and written to
+ *     report_alias_node;</li>
+ *     <li>when the alias is written to, the nodes of its source are copied under the alias with these uuids.</li>
+ * </ul>
+ * The uuids of an alias thus never change, and the materialized tree of the alias derived in Java references them.
+ * <p>
+ * Copied nodes get the creation date of the day, like the nodes of a new report: the alias expires with the reports
+ * written along with it rather than with its source, whose partition may be the next to be removed.
+ * The statements select the creation date of the root, which is computed once, so that only its partition is scanned.
+ * <p>
+ * The derivation is the only dialect-specific part: PostgreSQL casts the hexadecimal MD5 to uuid,
+ * H2 (tests) casts the binary MD5 to uuid, both give the same uuid.
+ */
+@Repository
+public class ReportNodeDuplicationRepository {
+
+    private static final String POSTGRESQL_DERIVED_ID = "CAST(md5(CAST(:aliasId AS VARCHAR) || ':' || CAST(%s AS VARCHAR)) AS UUID)";
+
+    private static final String H2_DERIVED_ID = "CAST(HASH('MD5', CAST(:aliasId AS VARCHAR) || ':' || CAST(%s AS VARCHAR)) AS UUID)";
+
+    private static final String CREATE_ALIAS_NODES_SQL = """
+        INSERT INTO report_alias_node (id, alias_id, order_)
+        SELECT
+            CASE WHEN rn.order_ = 0 THEN :aliasId ELSE %s END,
+            :aliasId,
+            rn.order_
+        FROM report_node rn
+        WHERE
+            rn.root_node_id = :rootNodeId
+            AND rn.created_on = (SELECT r.created_on FROM report_node r WHERE r.root_node_id = :rootNodeId AND r.order_ = 0)
+            AND rn.id IS NOT NULL
+        """;
+
+    // the uuids of an alias of an alias are derived from those of the duplicated alias, like its materialized tree
+    private static final String COPY_ALIAS_NODES_SQL = """
+        INSERT INTO report_alias_node (id, alias_id, order_)
+        SELECT
+            CASE WHEN an.order_ = 0 THEN :aliasId ELSE %s END,
+            :aliasId,
+            an.order_
+        FROM report_alias_node an
+        WHERE an.alias_id = :sourceAliasId
+        """;
+
+    private static final String DUPLICATE_SQL = """
+        INSERT INTO report_node (root_node_id, order_, id, end_order, is_leaf, message, severity, depth, parent_order, severity_counts, created_on)
+        SELECT
+            :aliasId,
+            rn.order_,
+            an.id,
+            rn.end_order, rn.is_leaf, rn.message, rn.severity, rn.depth, rn.parent_order, rn.severity_counts, :createdOn
+        FROM report_node rn
+        LEFT JOIN report_alias_node an ON an.alias_id = :aliasId AND an.order_ = rn.order_
+        WHERE
+            rn.root_node_id = :rootNodeId
+            AND rn.created_on = (SELECT r.created_on FROM report_node r WHERE r.root_node_id = :rootNodeId AND r.order_ = 0)
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final String createAliasNodesSql;
+
+    private final String copyAliasNodesSql;
+
+    public ReportNodeDuplicationRepository(DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        String derivedId = DatabaseUtil.isPostgreSql(dataSource) ? POSTGRESQL_DERIVED_ID : H2_DERIVED_ID;
+        this.createAliasNodesSql = CREATE_ALIAS_NODES_SQL.formatted(derivedId.formatted("rn.id"));
+        this.copyAliasNodesSql = COPY_ALIAS_NODES_SQL.formatted(derivedId.formatted("an.id"));
+    }
+
+    /**
+     * Gives its uuids to a new alias of a root report. Returns their number, 0 if the root report does not exist.
+     */
+    public int createAliasNodes(UUID rootNodeId, UUID aliasId) {
+        return jdbcTemplate.update(createAliasNodesSql, new MapSqlParameterSource()
+            .addValue("rootNodeId", rootNodeId)
+            .addValue("aliasId", aliasId));
+    }
+
+    /**
+     * Gives its uuids to a new alias of another alias, which reads the same nodes. Returns their number.
+     */
+    public int copyAliasNodes(UUID sourceAliasId, UUID aliasId) {
+        return jdbcTemplate.update(copyAliasNodesSql, new MapSqlParameterSource()
+            .addValue("sourceAliasId", sourceAliasId)
+            .addValue("aliasId", aliasId));
+    }
+
+    /**
+     * Copies the nodes of a root report under an alias which reads them, with the uuids the alias gives them.
+     * Returns the number of copied nodes, 0 if the root report does not exist.
+     */
+    public int duplicate(UUID rootNodeId, UUID aliasId) {
+        return jdbcTemplate.update(DUPLICATE_SQL, new MapSqlParameterSource()
+            .addValue("rootNodeId", rootNodeId)
+            .addValue("aliasId", aliasId)
+            .addValue("createdOn", LocalDate.now(ZoneOffset.UTC)));
+    }
+}
@@ -6,7 +6,10 @@
  */
 package org.gridsuite.report.server.repositories;
 
+import org.gridsuite.report.server.Severity;
+import org.gridsuite.report.server.entities.ReportContainerProjection;
 import org.gridsuite.report.server.entities.ReportNodeEntity;
+import org.gridsuite.report.server.entities.ReportNodeId;
 import org.gridsuite.report.server.entities.ReportProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,6 +19,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -23,104 +27,293 @@ import java.util.UUID;
  * @author Joris Mancini <joris.mancini_externe at rte-france.com>
  */
 @Repository
-public interface ReportNodeRepository extends JpaRepository<ReportNodeEntity, UUID> {
+public interface ReportNodeRepository extends JpaRepository<ReportNodeEntity, ReportNodeId> {
+
+    // Parents are referenced by their order, the parent UUID exposed by the API is resolved by joining
+    // on the primary key of the parent: (rootNodeId, parentOrder).
+    //
+    // Message filters must keep the UPPER(message) LIKE UPPER(:message) form: on PostgreSQL it is served by the
+    // report_node_message_trgm_idx trigram index built on UPPER(message), other databases scan the rows of the report.
+    //
+    // Severities are stored as levels: the minimum severity filter is a range on the level, and is always applied by the
+    // single report queries, UNKNOWN (the lowest level) when no minimum is given. Native queries take the level itself.
+    //
+    // All the nodes of a report share the creation date of their root, which is the partition key of report_node on
+    // PostgreSQL: queries on one report select it from the root row so that only the partition of the report is scanned.
+    //
+    // report_node_orders_covering_idx includes the creation date and severity of the nodes so that severity counts are
+    // index-only scans, filters on a few severities start from report_node_severity_idx instead of reading the whole
+    // range. ReportNodeRepositoryPlanTest checks these plans on PostgreSQL.
+
+    // reports deleted in background are hidden until their nodes are purged
+    @Query("""
+        SELECT rn
+        FROM ReportNodeEntity rn
+        WHERE
+            rn.uuid = :uuid
+            AND NOT EXISTS (SELECT 1 FROM ReportTombstoneEntity t WHERE t.rootNodeId = rn.rootNodeId)
+        """)
+    Optional<ReportNodeEntity> findByUuid(UUID uuid);
+
+    // the nodes read through an alias are not hidden by the deletion of their root, which keeps them for its aliases
+    @Query("""
+        SELECT rn
+        FROM ReportAliasEntity a
+        JOIN ReportNodeEntity rn ON rn.rootNodeId = a.rootNodeId
+        WHERE
+            a.id = :aliasId
+            AND rn.order = :order
+        """)
+    Optional<ReportNodeEntity> findByAliasIdAndOrder(UUID aliasId, int order);
+
+    // Queries on the containers of a report are hidden once the root report read is deleted: the report itself, or the
+    // alias which reads the nodes of a deleted report.
 
     @Query("""
         SELECT new org.gridsuite.report.server.entities.ReportProjection(
-            rn.id, rn.message, rn.severity, rn.depth, rn.parentId,
-            rn.order, rn.endOrder, rn.isLeaf
+            rn.uuid,
+            rn.message,
+            rn.severity,
+            rn.depth,
+            parent.uuid
         )
         FROM ReportNodeEntity rn
-        WHERE rn.rootNodeId = :rootNodeId
-        ORDER BY rn.depth, rn.order
+        LEFT JOIN ReportNodeEntity parent ON parent.rootNodeId = rn.rootNodeId AND parent.createdOn = rn.createdOn AND parent.order = rn.parentOrder
+        WHERE
+            rn.rootNodeId = :rootNodeId
+            AND rn.createdOn = (SELECT r.createdOn FROM ReportNodeEntity r WHERE r.rootNodeId = :rootNodeId AND r.order = 0)
+            AND rn.isLeaf = false
+            AND NOT EXISTS (SELECT 1 FROM ReportTombstoneEntity t WHERE t.rootNodeId = :rootReportId)
+        ORDER BY rn.order ASC
         """)
-    List<ReportProjection> findAllNodeDataByRootNodeId(UUID rootNodeId);
+    List<ReportProjection> findAllContainersByRootNodeId(UUID rootNodeId, UUID rootReportId);
 
+    // The containers of a subtree down to a depth, read through the partial (root_node_id, depth, order_) WHERE NOT is_leaf
+    // index report_node_containers_depth_idx, which holds no leaf
     @Query("""
-        SELECT new org.gridsuite.report.server.entities.ReportProjection(
-            rn.id,
+        SELECT new org.gridsuite.report.server.entities.ReportContainerProjection(
+            rn.uuid,
             rn.message,
             rn.severity,
             rn.depth,
-            rn.parentId
+            parent.uuid,
+            rn.severityCounts
         )
         FROM ReportNodeEntity rn
-        WHERE rn.rootNodeId = :rootNodeId AND rn.isLeaf = false
+        LEFT JOIN ReportNodeEntity parent ON parent.rootNodeId = rn.rootNodeId AND parent.createdOn = rn.createdOn AND parent.order = rn.parentOrder
+        WHERE
+            rn.rootNodeId = :rootNodeId
+            AND rn.createdOn = (SELECT r.createdOn FROM ReportNodeEntity r WHERE r.rootNodeId = :rootNodeId AND r.order = 0)
+            AND rn.order BETWEEN :orderAfter AND :orderBefore
+            AND rn.depth <= :maxDepth
+            AND rn.isLeaf = false
+            AND NOT EXISTS (SELECT 1 FROM ReportTombstoneEntity t WHERE t.rootNodeId = :rootReportId)
         ORDER BY rn.order ASC
         """)
-    List<ReportProjection> findAllContainersByRootNodeId(UUID rootNodeId);
+    List<ReportContainerProjection> findContainersByRootNodeIdAndOrderAndDepth(UUID rootNodeId, UUID rootReportId, int orderAfter, int orderBefore, int maxDepth);
 
+    // Only used for nodes without severity counts: leaves and nodes written before the counts were maintained
     @Query("""
-        SELECT DISTINCT rn.severity
+        SELECT rn.severity, COUNT(rn)
         FROM ReportNodeEntity rn
         WHERE
             rn.rootNodeId = :rootNodeId
+            AND rn.createdOn = (SELECT r.createdOn FROM ReportNodeEntity r WHERE r.rootNodeId = :rootNodeId AND r.order = 0)
             AND rn.order BETWEEN :orderAfter AND :orderBefore
+        GROUP BY rn.severity
+        """)
+    List<Object[]> countSeveritiesByRootNodeIdAndOrder(UUID rootNodeId, int orderAfter, int orderBefore);
+
+    @Query("""
+        SELECT new org.gridsuite.report.server.entities.ReportProjection(
+            rn.uuid,
+            rn.message,
+            rn.severity,
+            rn.depth,
+            parent.uuid
+        )
+        FROM ReportNodeEntity rn
+        LEFT JOIN ReportNodeEntity parent ON parent.rootNodeId = rn.rootNodeId AND parent.createdOn = rn.createdOn AND parent.order = rn.parentOrder
+        WHERE
+                rn.rootNodeId = :rootNodeId
+                AND rn.createdOn = (SELECT r.createdOn FROM ReportNodeEntity r WHERE r.rootNodeId = :rootNodeId AND r.order = 0)
+                AND rn.order BETWEEN :orderAfter AND :orderBefore
+                AND UPPER(rn.message) LIKE UPPER(:message) ESCAPE '\\'
+                AND rn.severity >= :minSeverity
+        ORDER BY rn.order ASC
+        """,
+        countQuery = """
+        SELECT COUNT(rn)
+        FROM ReportNodeEntity rn
+        WHERE
+                rn.rootNodeId = :rootNodeId
+                AND rn.createdOn = (SELECT r.createdOn FROM ReportNodeEntity r WHERE r.rootNodeId = :rootNodeId AND r.order = 0)
+                AND rn.order BETWEEN :orderAfter AND :orderBefore
+                AND UPPER(rn.message) LIKE UPPER(:message) ESCAPE '\\'
+                AND rn.severity >= :minSeverity
+        """)
+    Page<ReportProjection> findPagedReportsByRootNodeIdAndOrderAndMessage(UUID rootNodeId, int orderAfter, int orderBefore, String message, Severity minSeverity, Pageable pageable);
+
+    @Query("""
+        SELECT new org.gridsuite.report.server.entities.ReportProjection(
+            rn.uuid,
+            rn.message,
+            rn.severity,
+            rn.depth,
+            parent.uuid
+        )
+        FROM ReportNodeEntity rn
+        LEFT JOIN ReportNodeEntity parent ON parent.rootNodeId = rn.rootNodeId AND parent.createdOn = rn.createdOn AND parent.order = rn.parentOrder
+        WHERE
+                rn.rootNodeId = :rootNodeId
+                AND rn.createdOn = (SELECT r.createdOn FROM ReportNodeEntity r WHERE r.rootNodeId = :rootNodeId AND r.order = 0)
+                AND rn.order BETWEEN :orderAfter AND :orderBefore
+                AND UPPER(rn.message) LIKE UPPER(:message) ESCAPE '\\'
+                AND rn.severity >= :minSeverity
+                AND rn.severity IN (:severities)
+        ORDER BY rn.order ASC
+        """,
+        countQuery = """
+        SELECT COUNT(rn)
+        FROM ReportNodeEntity rn
+        WHERE
+                rn.rootNodeId = :rootNodeId
+                AND rn.createdOn = (SELECT r.createdOn FROM ReportNodeEntity r WHERE r.rootNodeId = :rootNodeId AND r.order = 0)
+                AND rn.order BETWEEN :orderAfter AND :orderBefore
+                AND UPPER(rn.message) LIKE UPPER(:message) ESCAPE '\\'
+                AND rn.severity >= :minSeverity
+                AND rn.severity IN (:severities)
         """)
-    Set<String> findDistinctSeveritiesByRootNodeIdAndOrder(UUID rootNodeId, int orderAfter, int orderBefore);
+    Page<ReportProjection> findPagedReportsByRootNodeIdAndOrderAndMessageAndSeverities(UUID rootNodeId, int orderAfter, int orderBefore, String message, Severity minSeverity, Set<Severity> severities, Pageable pageable);
 
+    // Keyset pagination: the page starts right after the order of the last row already read (the cursor),
+    // which is a range scan on the primary key whatever the depth of the page.
     @Query("""
         SELECT new org.gridsuite.report.server.entities.ReportProjection(
-            rn.id,
+            rn.uuid,
             rn.message,
             rn.severity,
             rn.depth,
-            rn.parentId
+            parent.uuid,
+            rn.order
         )
         FROM ReportNodeEntity rn
+        LEFT JOIN ReportNodeEntity parent ON parent.rootNodeId = rn.rootNodeId AND parent.createdOn = rn.createdOn AND parent.order = rn.parentOrder
         WHERE
                 rn.rootNodeId = :rootNodeId
+                AND rn.createdOn = (SELECT r.createdOn FROM ReportNodeEntity r WHERE r.rootNodeId = :rootNodeId AND r.order = 0)
                 AND rn.order BETWEEN :orderAfter AND :orderBefore
                 AND UPPER(rn.message) LIKE UPPER(:message) ESCAPE '\\'
+                AND rn.severity >= :minSeverity
         ORDER BY rn.order ASC
         """)
-    Page<ReportProjection> findPagedReportsByRootNodeIdAndOrderAndMessage(UUID rootNodeId, int orderAfter, int orderBefore, String message, Pageable pageable);
+    List<ReportProjection> findReportsByRootNodeIdAndOrderAndMessage(UUID rootNodeId, int orderAfter, int orderBefore, String message, Severity minSeverity, Pageable pageable);
 
     @Query("""
         SELECT new org.gridsuite.report.server.entities.ReportProjection(
-            rn.id,
+            rn.uuid,
             rn.message,
             rn.severity,
             rn.depth,
-            rn.parentId
+            parent.uuid,
+            rn.order
         )
         FROM ReportNodeEntity rn
+        LEFT JOIN ReportNodeEntity parent ON parent.rootNodeId = rn.rootNodeId AND parent.createdOn = rn.createdOn AND parent.order = rn.parentOrder
         WHERE
                 rn.rootNodeId = :rootNodeId
+                AND rn.createdOn = (SELECT r.createdOn FROM ReportNodeEntity r WHERE r.rootNodeId = :rootNodeId AND r.order = 0)
                 AND rn.order BETWEEN :orderAfter AND :orderBefore
                 AND UPPER(rn.message) LIKE UPPER(:message) ESCAPE '\\'
+                AND rn.severity >= :minSeverity
                 AND rn.severity IN (:severities)
         ORDER BY rn.order ASC
         """)
-    Page<ReportProjection> findPagedReportsByRootNodeIdAndOrderAndMessageAndSeverities(UUID rootNodeId, int orderAfter, int orderBefore, String message, Set<String> severities, Pageable pageable);
+    List<ReportProjection> findReportsByRootNodeIdAndOrderAndMessageAndSeverities(UUID rootNodeId, int orderAfter, int orderBefore, String message, Severity minSeverity, Set<Severity> severities, Pageable pageable);
 
-    // report_node has two self-referential FK constraints: root_node_fk (root_node_id -> id) and parent_fk (parent_id -> id).
-    // a single statement DELETE WHERE root_node_id = ? is safe in PostgreSQL because it evaluates FK constraints
-    // at statement end, once all rows in the tree are already removed.
-    // See: https://www.postgresql.org/docs/current/sql-set-constraints.html
+    @Query("""
+        SELECT COUNT(rn)
+        FROM ReportNodeEntity rn
+        WHERE
+                rn.rootNodeId = :rootNodeId
+                AND rn.createdOn = (SELECT r.createdOn FROM ReportNodeEntity r WHERE r.rootNodeId = :rootNodeId AND r.order = 0)
+                AND rn.order BETWEEN :orderAfter AND :orderBefore
+                AND UPPER(rn.message) LIKE UPPER(:message) ESCAPE '\\'
+                AND rn.severity >= :minSeverity
+        """)
+    long countReportsByRootNodeIdAndOrderAndMessage(UUID rootNodeId, int orderAfter, int orderBefore, String message, Severity minSeverity);
+
+    @Query("""
+        SELECT COUNT(rn)
+        FROM ReportNodeEntity rn
+        WHERE
+                rn.rootNodeId = :rootNodeId
+                AND rn.createdOn = (SELECT r.createdOn FROM ReportNodeEntity r WHERE r.rootNodeId = :rootNodeId AND r.order = 0)
+                AND rn.order BETWEEN :orderAfter AND :orderBefore
+                AND UPPER(rn.message) LIKE UPPER(:message) ESCAPE '\\'
+                AND rn.severity >= :minSeverity
+                AND rn.severity IN (:severities)
+        """)
+    long countReportsByRootNodeIdAndOrderAndMessageAndSeverities(UUID rootNodeId, int orderAfter, int orderBefore, String message, Severity minSeverity, Set<Severity> severities);
+
+    // deletes also select the creation date of the roots, the root itself is still read by the subquery when deleted
     @Modifying
-    @Query("DELETE FROM ReportNodeEntity rn WHERE rn.rootNodeId = :rootNodeId")
+    @Query("""
+        DELETE FROM ReportNodeEntity rn
+        WHERE
+            rn.rootNodeId = :rootNodeId
+            AND rn.createdOn = (SELECT r.createdOn FROM ReportNodeEntity r WHERE r.rootNodeId = :rootNodeId AND r.order = 0)
+        """)
     int deleteAllByRootNodeId(@Param("rootNodeId") UUID rootNodeId);
 
     @Modifying
-    @Query("DELETE FROM ReportNodeEntity rn WHERE rn.rootNodeId = :rootNodeId AND rn.id != :rootNodeId")
+    @Query("""
+        DELETE FROM ReportNodeEntity rn
+        WHERE
+            rn.rootNodeId = :rootNodeId
+            AND rn.createdOn = (SELECT r.createdOn FROM ReportNodeEntity r WHERE r.rootNodeId = :rootNodeId AND r.order = 0)
+            AND (rn.uuid IS NULL OR rn.uuid <> :rootNodeId)
+        """)
     void deleteAllChildrenByRootNodeId(@Param("rootNodeId") UUID rootNodeId);
 
+    // a single statement for all the roots, whatever their number. The creation dates are computed once, before the scan
+    // of report_node, so that only the partitions of the roots are scanned.
+    @Modifying
+    @Query(value = """
+        DELETE FROM report_node
+        WHERE
+            root_node_id = ANY(:rootNodeIds)
+            AND created_on = ANY(ARRAY(SELECT r.created_on FROM report_node r WHERE r.root_node_id = ANY(:rootNodeIds) AND r.order_ = 0))
+        """, nativeQuery = true)
+    int deleteAllByRootNodeIds(@Param("rootNodeIds") UUID[] rootNodeIds);
+
+    @Modifying
+    @Query("""
+        DELETE FROM ReportNodeEntity rn
+        WHERE
+            rn.rootNodeId = :rootNodeId
+            AND rn.createdOn = (SELECT r.createdOn FROM ReportNodeEntity r WHERE r.rootNodeId = :rootNodeId AND r.order = 0)
+            AND rn.order BETWEEN :orderAfter AND :orderBefore
+        """)
+    int deleteByRootNodeIdAndOrderBetween(@Param("rootNodeId") UUID rootNodeId, @Param("orderAfter") int orderAfter, @Param("orderBefore") int orderBefore);
+
     @Query(value = """
         WITH filtered_rows AS (
             SELECT ROW_NUMBER() OVER (ORDER BY rn.order_ ASC) - 1 as row_position, rn.message
             FROM report_node rn
             WHERE
                 rn.root_node_id = :rootNodeId
+                AND rn.created_on = (SELECT r.created_on FROM report_node r WHERE r.root_node_id = :rootNodeId AND r.order_ = 0)
                 AND rn.order_ BETWEEN :orderAfter AND :orderBefore
                 AND UPPER(rn.message) LIKE UPPER(:message) ESCAPE '\\'
+                AND rn.severity >= :minSeverity
         )
         SELECT row_position
         FROM filtered_rows
         WHERE UPPER(message) LIKE UPPER(:searchPattern) ESCAPE '\\'
         ORDER BY row_position ASC
         """, nativeQuery = true)
-    List<Integer> findRelativePositionsByRootNodeIdAndOrderAndMessage(UUID rootNodeId, int orderAfter, int orderBefore, String message, String searchPattern);
+    List<Integer> findRelativePositionsByRootNodeIdAndOrderAndMessage(UUID rootNodeId, int orderAfter, int orderBefore, String message, int minSeverity, String searchPattern);
 
     @Query(value = """
         WITH filtered_rows AS (
@@ -128,8 +321,10 @@ public interface ReportNodeRepository extends JpaRepository<ReportNodeEntity, UU
             FROM report_node rn
             WHERE
                 rn.root_node_id = :rootNodeId
+                AND rn.created_on = (SELECT r.created_on FROM report_node r WHERE r.root_node_id = :rootNodeId AND r.order_ = 0)
                 AND rn.order_ BETWEEN :orderAfter AND :orderBefore
                 AND UPPER(rn.message) LIKE UPPER(:message) ESCAPE '\\'
+                AND rn.severity >= :minSeverity
                 AND rn.severity IN (:severities)
         )
         SELECT row_position
@@ -137,14 +332,21 @@ public interface ReportNodeRepository extends JpaRepository<ReportNodeEntity, UU
         WHERE UPPER(message) LIKE UPPER(:searchPattern) ESCAPE '\\'
         ORDER BY row_position ASC
         """, nativeQuery = true)
-    List<Integer> findRelativePositionsByRootNodeIdAndOrderAndMessageAndSeverities(UUID rootNodeId, int orderAfter, int orderBefore, String message, String searchPattern, Set<String> severities);
+    List<Integer> findRelativePositionsByRootNodeIdAndOrderAndMessageAndSeverities(UUID rootNodeId, int orderAfter, int orderBefore, String message, int minSeverity, String searchPattern, Set<Integer> severities);
 
+    // The root reports may be aliases, which read the nodes of their source under their own uuids. A deleted root report
+    // is hidden, even if its nodes are still read by its aliases.
     @Query(value = """
-        SELECT CAST(rn.id AS VARCHAR), rn.message, rn.severity, rn.depth, CAST(rn.parent_id AS VARCHAR)
+        SELECT CAST(COALESCE(an.id, rn.id) AS VARCHAR), rn.message, rn.severity, rn.depth, CAST(COALESCE(parent_an.id, parent.id) AS VARCHAR)
         FROM unnest(:rootNodeIds) WITH ORDINALITY AS input_id(id, ord)
-        JOIN report_node rn ON rn.root_node_id = input_id.id
+        LEFT JOIN report_alias a ON a.id = input_id.id
+        JOIN report_node rn ON rn.root_node_id = COALESCE(a.root_node_id, input_id.id)
+        LEFT JOIN report_node parent ON parent.root_node_id = rn.root_node_id AND parent.created_on = rn.created_on AND parent.order_ = rn.parent_order
+        LEFT JOIN report_alias_node an ON an.alias_id = a.id AND an.order_ = rn.order_
+        LEFT JOIN report_alias_node parent_an ON parent_an.alias_id = a.id AND parent_an.order_ = rn.parent_order
         WHERE
             UPPER(rn.message) LIKE UPPER(:message) ESCAPE '\\'
+            AND NOT EXISTS (SELECT 1 FROM report_tombstone t WHERE t.root_node_id = input_id.id)
         ORDER BY
             input_id.ord,
             rn.order_ ASC
@@ -153,18 +355,23 @@ public interface ReportNodeRepository extends JpaRepository<ReportNodeEntity, UU
         UUID[] rootNodeIds, String message, Pageable pageable);
 
     @Query(value = """
-        SELECT CAST(rn.id AS VARCHAR), rn.message, rn.severity, rn.depth, CAST(rn.parent_id AS VARCHAR)
+        SELECT CAST(COALESCE(an.id, rn.id) AS VARCHAR), rn.message, rn.severity, rn.depth, CAST(COALESCE(parent_an.id, parent.id) AS VARCHAR)
         FROM unnest(:rootNodeIds) WITH ORDINALITY AS input_id(id, ord)
-        JOIN report_node rn ON rn.root_node_id = input_id.id
+        LEFT JOIN report_alias a ON a.id = input_id.id
+        JOIN report_node rn ON rn.root_node_id = COALESCE(a.root_node_id, input_id.id)
+        LEFT JOIN report_node parent ON parent.root_node_id = rn.root_node_id AND parent.created_on = rn.created_on AND parent.order_ = rn.parent_order
+        LEFT JOIN report_alias_node an ON an.alias_id = a.id AND an.order_ = rn.order_
+        LEFT JOIN report_alias_node parent_an ON parent_an.alias_id = a.id AND parent_an.order_ = rn.parent_order
         WHERE
             UPPER(rn.message) LIKE UPPER(:message) ESCAPE '\\'
+            AND NOT EXISTS (SELECT 1 FROM report_tombstone t WHERE t.root_node_id = input_id.id)
             AND rn.severity IN (:severities)
         ORDER BY
             input_id.ord,
             rn.order_ ASC
         """, nativeQuery = true)
     Page<Object[]> findPagedReportsByMultipleRootNodeIdsAndOrderAndMessageAndSeverities(
-        UUID[] rootNodeIds, String message, Set<String> severities, Pageable pageable);
+        UUID[] rootNodeIds, String message, Set<Integer> severities, Pageable pageable);
 
     @Query(value = """
         WITH ordered_reports AS (
@@ -174,8 +381,10 @@ public interface ReportNodeRepository extends JpaRepository<ReportNodeEntity, UU
                 ) - 1 as row_position,
                 rn.message
             FROM unnest(:rootNodeIds) WITH ORDINALITY AS input_id(id, ord)
-            JOIN report_node rn ON rn.root_node_id = input_id.id
+            LEFT JOIN report_alias a ON a.id = input_id.id
+            JOIN report_node rn ON rn.root_node_id = COALESCE(a.root_node_id, input_id.id)
             WHERE UPPER(rn.message) LIKE UPPER(:message) ESCAPE '\\'
+            AND NOT EXISTS (SELECT 1 FROM report_tombstone t WHERE t.root_node_id = input_id.id)
         )
         SELECT row_position
         FROM ordered_reports
@@ -193,8 +402,10 @@ public interface ReportNodeRepository extends JpaRepository<ReportNodeEntity, UU
                 ) - 1 as row_position,
                 rn.message
             FROM unnest(:rootNodeIds) WITH ORDINALITY AS input_id(id, ord)
-            JOIN report_node rn ON rn.root_node_id = input_id.id
+            LEFT JOIN report_alias a ON a.id = input_id.id
+            JOIN report_node rn ON rn.root_node_id = COALESCE(a.root_node_id, input_id.id)
             WHERE UPPER(rn.message) LIKE UPPER(:message) ESCAPE '\\'
+            AND NOT EXISTS (SELECT 1 FROM report_tombstone t WHERE t.root_node_id = input_id.id)
             AND rn.severity IN (:severities)
         )
         SELECT row_position
@@ -203,5 +414,5 @@ public interface ReportNodeRepository extends JpaRepository<ReportNodeEntity, UU
         ORDER BY row_position
         """, nativeQuery = true)
     List<Integer> findRelativePositionsByMultipleRootNodeIdsAndOrderAndMessageAndSeverities(
-        UUID[] rootNodeIds, String message, String searchPattern, Set<String> severities);
+        UUID[] rootNodeIds, String message, String searchPattern, Set<Integer> severities);
 }
@@ -0,0 +1,58 @@
+/**
+ *  Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.repositories;
+
+import org.gridsuite.report.server.entities.ReportTombstoneEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ReportTombstoneRepository extends JpaRepository<ReportTombstoneEntity, UUID> {
+
+    // roots already deleted in background are skipped
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO report_tombstone (root_node_id, end_order)
+        SELECT rn.root_node_id, rn.end_order
+        FROM report_node rn
+        WHERE
+            rn.root_node_id = ANY(:rootNodeIds)
+            AND rn.order_ = 0
+            AND NOT EXISTS (SELECT 1 FROM report_tombstone t WHERE t.root_node_id = rn.root_node_id)
+        """, nativeQuery = true)
+    int insertTombstones(@Param("rootNodeIds") UUID[] rootNodeIds);
+
+    // the tombstone stays locked until the end of the transaction, the other instances purging the next ones meanwhile.
+    // The nodes of a root report still read by aliases are only purged once the last of them is deleted.
+    @Query(value = """
+        SELECT *
+        FROM report_tombstone t
+        WHERE NOT EXISTS (SELECT 1 FROM report_alias a WHERE a.root_node_id = t.root_node_id)
+        ORDER BY t.root_node_id
+        LIMIT 1
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    Optional<ReportTombstoneEntity> claimTombstone();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportTombstoneEntity t SET t.endOrder = :endOrder WHERE t.rootNodeId = :rootNodeId")
+    int updateEndOrder(@Param("rootNodeId") UUID rootNodeId, @Param("endOrder") int endOrder);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ReportTombstoneEntity t WHERE t.rootNodeId = :rootNodeId")
+    int deleteTombstone(@Param("rootNodeId") UUID rootNodeId);
+}
@@ -0,0 +1,52 @@
+/**
+ *  Copyright (c) 2026, RTE (http://www.rte-france.com)
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.repositories;
+
+import org.gridsuite.report.server.entities.ReportTreeEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ReportTreeRepository extends JpaRepository<ReportTreeEntity, UUID> {
+
+    @Query("SELECT t.tree FROM ReportTreeEntity t WHERE t.rootNodeId = :rootNodeId")
+    Optional<String> findTreeByRootNodeId(@Param("rootNodeId") UUID rootNodeId);
+
+    /**
+     * Reads the tree of a report to change it, locking the report until the end of the transaction. The root node is
+     * locked rather than the tree, which may not be stored yet.
+     */
+    @Query(value = """
+        SELECT (SELECT t.tree FROM report_tree t WHERE t.root_node_id = rn.root_node_id)
+        FROM report_node rn
+        WHERE rn.root_node_id = :rootNodeId AND rn.order_ = 0
+        FOR UPDATE
+        """, nativeQuery = true)
+    Optional<String> findTreeByRootNodeIdForUpdate(@Param("rootNodeId") UUID rootNodeId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReportTreeEntity t SET t.tree = :tree WHERE t.rootNodeId = :rootNodeId")
+    int updateTree(@Param("rootNodeId") UUID rootNodeId, @Param("tree") String tree);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ReportTreeEntity t WHERE t.rootNodeId = :rootNodeId")
+    int deleteByRootNodeId(@Param("rootNodeId") UUID rootNodeId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM report_tree WHERE root_node_id = ANY(:rootNodeIds)", nativeQuery = true)
+    int deleteAllByRootNodeIds(@Param("rootNodeIds") UUID[] rootNodeIds);
+}
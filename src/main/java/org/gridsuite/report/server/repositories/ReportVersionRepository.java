@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.repositories;
+
+import org.gridsuite.report.server.utils.DatabaseUtil;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Versions of the root reports and aliases, changed by every write to the report.
+ * Versions are taken from a single sequence, so that a report deleted then created again never gets a version it had
+ * before, and its version rows can be deleted along with the report.
+ * <p>
+ * The upsert is the only dialect-specific part: PostgreSQL uses INSERT ... ON CONFLICT, H2 (tests) uses MERGE ... KEY.
+ */
+@Repository
+public class ReportVersionRepository {
+
+    private static final String POSTGRESQL_BUMP_SQL = """
+        INSERT INTO report_version (root_node_id, version)
+        VALUES (:rootNodeId, nextval('report_version_seq'))
+        ON CONFLICT (root_node_id) DO UPDATE SET version = EXCLUDED.version
+        """;
+
+    private static final String H2_BUMP_SQL = """
+        MERGE INTO report_version (root_node_id, version) KEY (root_node_id)
+        VALUES (:rootNodeId, NEXT VALUE FOR report_version_seq)
+        """;
+
+    private static final String FIND_VERSION_SQL = "SELECT version FROM report_version WHERE root_node_id = :rootNodeId";
+
+    private static final String DELETE_VERSIONS_SQL = "DELETE FROM report_version WHERE root_node_id IN (:rootNodeIds)";
+
+    private static final String DELETE_ALL_SQL = "DELETE FROM report_version";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final String bumpSql;
+
+    public ReportVersionRepository(DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.bumpSql = DatabaseUtil.isPostgreSql(dataSource) ? POSTGRESQL_BUMP_SQL : H2_BUMP_SQL;
+    }
+
+    public Optional<Long> findVersion(UUID rootNodeId) {
+        List<Long> versions = jdbcTemplate.queryForList(FIND_VERSION_SQL, new MapSqlParameterSource("rootNodeId", rootNodeId), Long.class);
+        return versions.stream().findFirst();
+    }
+
+    /**
+     * Gives the reports a new version, greater than any version given before.
+     */
+    public void bumpVersions(Collection<UUID> rootNodeIds) {
+        jdbcTemplate.batchUpdate(bumpSql, rootNodeIds.stream()
+            .map(rootNodeId -> new MapSqlParameterSource("rootNodeId", rootNodeId))
+            .toArray(SqlParameterSource[]::new));
+    }
+
+    public void deleteVersions(Collection<UUID> rootNodeIds) {
+        if (!rootNodeIds.isEmpty()) {
+            jdbcTemplate.update(DELETE_VERSIONS_SQL, new MapSqlParameterSource("rootNodeIds", rootNodeIds));
+        }
+    }
+
+    public void deleteAll() {
+        jdbcTemplate.getJdbcTemplate().update(DELETE_ALL_SQL);
+    }
+}
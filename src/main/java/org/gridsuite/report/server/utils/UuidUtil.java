@@ -9,13 +9,19 @@ package org.gridsuite.report.server.utils;
 import com.fasterxml.uuid.Generators;
 import com.fasterxml.uuid.impl.TimeBasedEpochGenerator;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+
 public final class UuidUtil {
 
     private UuidUtil() {
     }
 
     /**
-    * Create a uuidv7 generator that will generate all uuids for the same root report's children (not for the root report it self which stills in uuidv4).
+    * Create a uuidv7 generator that will generate all uuids for the same root report's container children (not for the root report it self which stills in uuidv4).
     * The generator is created per root report to avoid having similar uuids for unrelated reports which would be surprising to people looking at the ids.
     * NOTE: The uuids would be similar because we generate incremented uuids when generating many uuids during the same millisecond,
     * and we observe that currently we dogenerate up to ~500 report entities in the same millisecond.
@@ -35,13 +41,26 @@ public final class UuidUtil {
     * NOTE: We currently use PostgreSQL 17, which does not support uuid v7 natively (gen_uuidv7() was only introduced in PostgreSQL 18).
     * This is not a problem because uuid v7 generation happens entirely in Java
     * PostgreSQL only stores the resulting value as a standard UUID column (it does not care about the uuid version, it treats all UUIDs as 128-bit values.)
-    * NOTE: with this approach no data migration is needed since uuid v7 is stored as a plain UUID column (fully compatible with existing uuid v4 rows).
-    * we kept the UUID alongside order_ because it is simpler for now than switching to a composite id (rootNodeId + order_) which would be a breaking API change.
-    * => this is a technical debt: the composite id (rootNodeId + order_) is the right approach
-    * It would permanently solve the WAL bloat at the source: child nodes already have a sequential order_ that uniquely identifies them within a root report,
-    * so (rootNodeId, order_) would be a naturally sequential primary key, UUID v7 here is only a mitigation, not a structural fix.
+    * NOTE: the primary key of report_node is now the composite id (rootNodeId + order_), which is naturally sequential,
+    * and only roots and containers keep a uuid (leaves are never targeted by the API). This generator is therefore only used
+    * for the uuids of containers, which are stored in a secondary unique index.
     */
     public static TimeBasedEpochGenerator newV7Generator() {
         return Generators.timeBasedEpochGenerator();
     }
+
+    /**
+     * Derives a uuid from another one, within a namespace: the 16 bytes of the MD5 of "namespace:uuid", without version bits.
+     * It must give the same result as the SQL expression of ReportNodeDuplicationRepository, which derives the uuids of the nodes
+     * of an alias inside the database, so that the uuids referenced by the materialized tree of the alias can be derived in Java.
+     */
+    public static UUID deriveUuid(UUID namespace, UUID uuid) {
+        try {
+            byte[] md5 = MessageDigest.getInstance("MD5").digest((namespace + ":" + uuid).getBytes(StandardCharsets.UTF_8));
+            ByteBuffer bytes = ByteBuffer.wrap(md5);
+            return new UUID(bytes.getLong(), bytes.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,34 @@
+-- Parents are now referenced by their order in the tree of their root instead of their uuid, and leaves, which are
+-- never targeted by the API, drop their uuid, except the children of the roots which may have been created by
+-- POST /reports/{id}/children and whose uuid was returned to the caller. Every node is updated once, by batches of nodes in the order of the
+-- primary key, each committed on its own so that the locks are short and vacuum can reclaim the former rows meanwhile.
+DO $$
+DECLARE
+    last_root_node_id uuid := '00000000-0000-0000-0000-000000000000';
+    last_order integer := -1;
+    batch_end record;
+BEGIN
+    LOOP
+        SELECT root_node_id, order_ INTO batch_end
+        FROM (
+            SELECT root_node_id, order_
+            FROM report_node
+            WHERE (root_node_id, order_) > (last_root_node_id, last_order)
+            ORDER BY root_node_id, order_
+            LIMIT 10000
+        ) batch
+        ORDER BY root_node_id DESC, order_ DESC
+        LIMIT 1;
+        EXIT WHEN NOT FOUND;
+
+        UPDATE report_node child
+        SET parent_order = (SELECT parent.order_ FROM report_node parent WHERE parent.id = child.parent_id),
+            id = CASE WHEN child.is_leaf AND child.id <> child.root_node_id AND child.parent_id <> child.root_node_id THEN NULL ELSE child.id END
+        WHERE (child.root_node_id, child.order_) > (last_root_node_id, last_order)
+          AND (child.root_node_id, child.order_) <= (batch_end.root_node_id, batch_end.order_);
+
+        last_root_node_id := batch_end.root_node_id;
+        last_order := batch_end.order_;
+        COMMIT;
+    END LOOP;
+END $$;
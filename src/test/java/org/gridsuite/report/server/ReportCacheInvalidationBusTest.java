@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.gridsuite.report.server.utils.PostgresTestContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two instances of the server on the same PostgreSQL database, each with its own cache and invalidation bus: the
+ * invalidations of one are evicted from the other, an instance ignores its own notifications and flushes its cache
+ * when its listening connection is established again. Skipped when Docker is not available.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class ReportCacheInvalidationBusTest {
+
+    private static final int POLL_TIMEOUT_MS = 100;
+
+    private static final long RECONNECT_DELAY_MS = 100;
+
+    private static final long WAIT_TIMEOUT_MS = 10_000;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        PostgresTestContainer.registerProperties(registry);
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    private ReportCache firstCache;
+
+    private ReportCache secondCache;
+
+    private ReportCacheInvalidationBus firstBus;
+
+    private ReportCacheInvalidationBus secondBus;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        firstCache = new ReportCache(new SimpleMeterRegistry(), true, 100, 100, 60);
+        secondCache = new ReportCache(new SimpleMeterRegistry(), true, 100, 100, 60);
+        firstBus = new ReportCacheInvalidationBus(dataSource, firstCache, POLL_TIMEOUT_MS, RECONNECT_DELAY_MS);
+        secondBus = new ReportCacheInvalidationBus(dataSource, secondCache, POLL_TIMEOUT_MS, RECONNECT_DELAY_MS);
+        firstBus.start();
+        secondBus.start();
+        waitUntil(() -> firstBus.getListenerPid() != 0 && secondBus.getListenerPid() != 0);
+    }
+
+    @AfterEach
+    void tearOff() throws InterruptedException {
+        firstBus.stop();
+        secondBus.stop();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met within " + WAIT_TIMEOUT_MS + " ms");
+            Thread.sleep(10);
+        }
+    }
+
+    private static UUID cacheRoot(ReportCache reportCache) {
+        UUID rootId = UUID.randomUUID();
+        reportCache.getReportNode(rootId, id -> new CachedReportNode(rootId, 0, 10, 0, null));
+        return rootId;
+    }
+
+    @Test
+    void testInvalidationsAreEvictedByTheOtherInstances() throws InterruptedException {
+        UUID rootId = UUID.randomUUID();
+        UUID containerId = UUID.randomUUID();
+        secondCache.getReportNode(containerId, id -> new CachedReportNode(rootId, 1, 5, 1, null));
+        UUID otherRootId = cacheRoot(secondCache);
+
+        firstCache.invalidate(List.of(rootId));
+
+        waitUntil(() -> secondCache.getCachedReportNode(containerId) == null);
+        assertNotNull(secondCache.getCachedReportNode(otherRootId));
+    }
+
+    @Test
+    void testFlushesAreEvictedByTheOtherInstances() throws InterruptedException {
+        UUID rootId = cacheRoot(secondCache);
+
+        // as when partitions expire
+        firstCache.invalidateAll();
+
+        waitUntil(() -> secondCache.getCachedReportNode(rootId) == null);
+    }
+
+    @Test
+    void testOwnInvalidationsAreIgnored() throws InterruptedException {
+        UUID rootId = cacheRoot(firstCache);
+        UUID lastRootId = cacheRoot(firstCache);
+
+        // sent without evicting the root from the first cache, which would be done by its invalidation
+        firstBus.publish(Set.of(rootId));
+        // received after the first notification, which is then already handled
+        secondBus.publish(Set.of(lastRootId));
+
+        waitUntil(() -> firstCache.getCachedReportNode(lastRootId) == null);
+        assertNotNull(firstCache.getCachedReportNode(rootId));
+    }
+
+    @Test
+    void testCacheIsFlushedWhenListeningAgain() throws InterruptedException {
+        UUID rootId = cacheRoot(secondCache);
+        int listenerPid = secondBus.getListenerPid();
+
+        // the notifications sent until the connection is established again are lost
+        new JdbcTemplate(dataSource).queryForObject("SELECT pg_terminate_backend(?)", Boolean.class, listenerPid);
+
+        waitUntil(() -> secondBus.getListenerPid() != 0 && secondBus.getListenerPid() != listenerPid);
+        assertNull(secondCache.getCachedReportNode(rootId));
+    }
+
+    @Test
+    void testFailedInvalidationsAreOnlyLogged() {
+        DataSource unreachableDataSource = new DriverManagerDataSource("jdbc:postgresql://localhost:1/report");
+        ReportCacheInvalidationBus unreachableBus = new ReportCacheInvalidationBus(unreachableDataSource, firstCache, POLL_TIMEOUT_MS, RECONNECT_DELAY_MS);
+
+        assertDoesNotThrow(() -> unreachableBus.publish(Set.of(UUID.randomUUID())));
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ReportCacheTest {
+
+    private static ReportCache newReportCache(SimpleMeterRegistry meterRegistry, boolean enabled) {
+        return new ReportCache(meterRegistry, enabled, 100, 100, 60);
+    }
+
+    private static Function<UUID, CachedReportNode> countingLoader(AtomicInteger loads, CachedReportNode node) {
+        return id -> {
+            loads.incrementAndGet();
+            return node;
+        };
+    }
+
+    @Test
+    void reportNodesAreLoadedOnce() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReportCache reportCache = newReportCache(meterRegistry, true);
+        UUID rootId = UUID.randomUUID();
+        CachedReportNode root = new CachedReportNode(rootId, 0, 10, 0, Map.of("INFO", 11L));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(root, reportCache.getReportNode(rootId, countingLoader(loads, root)));
+        assertEquals(root, reportCache.getReportNode(rootId, countingLoader(loads, root)));
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", ReportCache.REPORT_NODES_CACHE).tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", ReportCache.REPORT_NODES_CACHE).tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void missingReportsAreNotCached() {
+        ReportCache reportCache = newReportCache(new SimpleMeterRegistry(), true);
+        UUID reportId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(reportCache.getReportNode(reportId, countingLoader(loads, null)));
+        assertNull(reportCache.getReportNode(reportId, countingLoader(loads, null)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidatingRootInvalidatesItsTree() {
+        ReportCache reportCache = newReportCache(new SimpleMeterRegistry(), true);
+        UUID rootId = UUID.randomUUID();
+        UUID containerId = UUID.randomUUID();
+        UUID otherRootId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        reportCache.getReportNode(rootId, countingLoader(loads, new CachedReportNode(rootId, 0, 10, 0, null)));
+        reportCache.getReportNode(containerId, countingLoader(loads, new CachedReportNode(rootId, 1, 5, 1, null)));
+        reportCache.getReportNode(otherRootId, countingLoader(loads, new CachedReportNode(otherRootId, 0, 3, 0, null)));
+        reportCache.getReportTree(rootId, id -> "{}");
+
+        reportCache.invalidate(List.of(rootId));
+
+        reportCache.getReportNode(rootId, countingLoader(loads, new CachedReportNode(rootId, 0, 12, 0, null)));
+        reportCache.getReportNode(containerId, countingLoader(loads, new CachedReportNode(rootId, 1, 5, 1, null)));
+        reportCache.getReportNode(otherRootId, countingLoader(loads, new CachedReportNode(otherRootId, 0, 3, 0, null)));
+        assertEquals(5, loads.get());
+        assertEquals("{\"id\":1}", reportCache.getReportTree(rootId, id -> "{\"id\":1}"));
+    }
+
+    @Test
+    void invalidatingRootOnlyInvalidatesTheNodesOfItsTree() {
+        ReportCache reportCache = newReportCache(new SimpleMeterRegistry(), true);
+        UUID rootId = UUID.randomUUID();
+        UUID otherRootId = UUID.randomUUID();
+        UUID containerId = UUID.randomUUID();
+        reportCache.getReportNode(containerId, id -> new CachedReportNode(rootId, 1, 5, 1, null));
+
+        // the container is read again once moved under another root
+        reportCache.invalidate(List.of(containerId));
+        reportCache.getReportNode(containerId, id -> new CachedReportNode(otherRootId, 1, 5, 1, null));
+        reportCache.invalidate(List.of(rootId));
+        assertNotNull(reportCache.getCachedReportNode(containerId));
+
+        reportCache.invalidate(List.of(otherRootId));
+        assertNull(reportCache.getCachedReportNode(containerId));
+    }
+
+    @Test
+    void nodesReadThroughAnAliasAreInvalidatedWithTheAlias() {
+        ReportCache reportCache = newReportCache(new SimpleMeterRegistry(), true);
+        UUID sourceId = UUID.randomUUID();
+        UUID aliasId = UUID.randomUUID();
+        UUID containerId = UUID.randomUUID();
+        reportCache.getReportNode(containerId, id -> new CachedReportNode(sourceId, 1, 5, 1, null, aliasId));
+
+        reportCache.invalidate(List.of(sourceId));
+        assertNotNull(reportCache.getCachedReportNode(containerId));
+
+        reportCache.invalidate(List.of(aliasId));
+        assertNull(reportCache.getCachedReportNode(containerId));
+    }
+
+    @Test
+    void entriesLoadedAtAnotherVersionAreLoadedAgain() {
+        ReportCache reportCache = newReportCache(new SimpleMeterRegistry(), true);
+        UUID rootId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        reportCache.getReportNode(rootId, 1L, countingLoader(loads, new CachedReportNode(rootId, 0, 10, 0, null)));
+        reportCache.getReportTree(rootId, 1L, id -> "{}");
+
+        // written by another instance, whose invalidation is not received yet
+        CachedReportNode root = new CachedReportNode(rootId, 0, 12, 0, null);
+        assertEquals(root, reportCache.getReportNode(rootId, 2L, countingLoader(loads, root)));
+        assertEquals("{\"id\":1}", reportCache.getReportTree(rootId, 2L, id -> "{\"id\":1}"));
+
+        // reads without version accept any entry
+        assertEquals(root, reportCache.getReportNode(rootId, countingLoader(loads, root)));
+        assertEquals(root, reportCache.getReportNode(rootId, 2L, countingLoader(loads, root)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void replacedReportNodeIsNotRestoredOnceInvalidated() {
+        ReportCache reportCache = newReportCache(new SimpleMeterRegistry(), true);
+        UUID rootId = UUID.randomUUID();
+        CachedReportNode root = new CachedReportNode(rootId, 0, 10, 0, null);
+        reportCache.getReportNode(rootId, id -> root);
+
+        reportCache.replaceReportNode(rootId, root, root.withSeverityCounts(Map.of("INFO", 11L)));
+        assertEquals(Map.of("INFO", 11L), reportCache.getReportNode(rootId, id -> root).severityCounts());
+
+        reportCache.invalidate(List.of(rootId));
+        reportCache.replaceReportNode(rootId, root, root.withSeverityCounts(Map.of("INFO", 11L)));
+        assertNull(reportCache.getReportNode(rootId, id -> root).severityCounts());
+    }
+
+    @Test
+    void disabledCacheAlwaysLoads() {
+        ReportCache reportCache = newReportCache(new SimpleMeterRegistry(), false);
+        UUID rootId = UUID.randomUUID();
+        CachedReportNode root = new CachedReportNode(rootId, 0, 10, 0, null);
+        AtomicInteger loads = new AtomicInteger();
+
+        reportCache.getReportNode(rootId, countingLoader(loads, root));
+        reportCache.getReportNode(rootId, countingLoader(loads, root));
+        assertEquals(2, loads.get());
+    }
+}
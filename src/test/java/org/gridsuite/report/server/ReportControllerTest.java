@@ -11,12 +11,17 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.io.ByteStreams;
 import com.jayway.jsonpath.Configuration;
+import com.powsybl.commons.report.ReportNode;
 import com.vladmihalcea.sql.SQLStatementCountValidator;
 import lombok.SneakyThrows;
+import org.gridsuite.report.server.dto.IngestionTicket;
 import org.gridsuite.report.server.dto.MatchPosition;
 import org.gridsuite.report.server.dto.Report;
 import org.gridsuite.report.server.dto.ReportLog;
+import org.gridsuite.report.server.dto.ReportLogSlice;
 import org.gridsuite.report.server.dto.ReportPage;
+import org.gridsuite.report.server.dto.ReportSubtree;
+import org.gridsuite.report.server.repositories.ReportIngestionTicketRepository;
 import org.gridsuite.report.server.repositories.ReportNodeRepository;
 import org.gridsuite.report.server.utils.TestUtils;
 import org.junit.After;
@@ -27,20 +32,39 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import static org.gridsuite.report.server.utils.TestUtils.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -65,6 +89,9 @@ public class ReportControllerTest {
     @Autowired
     private ReportNodeRepository reportNodeRepository;
 
+    @Autowired
+    private ReportIngestionTicketRepository ingestionTicketRepository;
+
     @Before
     public void setUp() {
         Configuration.defaultConfiguration();
@@ -130,6 +157,104 @@ public class ReportControllerTest {
         assertReportsAreEqualIgnoringIds(resultAfterDeletion, toString(DEFAULT_EMPTY_REPORT1));
     }
 
+    @Test
+    public void testAppendReportsFromStream() throws Exception {
+        mvc.perform(put(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/stream")
+                .content(toString(REPORT_ONE))
+                .contentType(APPLICATION_JSON))
+            .andExpect(status().isOk());
+
+        MvcResult result = mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID))
+            .andExpect(status().isOk())
+            .andReturn();
+        assertReportsAreEqualIgnoringIds(result, toString(EXPECTED_STRUCTURE_AND_ELEMENTS_REPORT1));
+
+        mvc.perform(put(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/stream")
+                .content(toString(REPORT_TWO))
+                .contentType(APPLICATION_JSON))
+            .andExpect(status().isOk());
+
+        testImported(REPORT_UUID, REPORT_CONCAT);
+    }
+
+    @Test
+    public void testCreateReportAsync() throws Exception {
+        MvcResult result = mvc.perform(put(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/async")
+                .content(toString(REPORT_ONE))
+                .contentType(APPLICATION_JSON))
+            .andExpect(status().isAccepted())
+            .andReturn();
+        IngestionTicket ticket = objectMapper.readValue(result.getResponse().getContentAsString(), IngestionTicket.class);
+        assertEquals(REPORT_UUID, ticket.reportId().toString());
+
+        IngestionTicket.Status ingestionStatus = ticket.status();
+        for (int i = 0; i < 100 && ingestionStatus != IngestionTicket.Status.DONE; i++) {
+            Thread.sleep(50);
+            result = mvc.perform(get(URL_TEMPLATE + "/reports/ingestions/" + ticket.ticketId()))
+                .andExpect(status().isOk())
+                .andReturn();
+            ingestionStatus = objectMapper.readValue(result.getResponse().getContentAsString(), IngestionTicket.class).status();
+        }
+        assertEquals(IngestionTicket.Status.DONE, ingestionStatus);
+
+        result = mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID))
+            .andExpect(status().isOk())
+            .andReturn();
+        assertReportsAreEqualIgnoringIds(result, toString(EXPECTED_STRUCTURE_AND_ELEMENTS_REPORT1));
+
+        mvc.perform(get(URL_TEMPLATE + "/reports/ingestions/" + UUID.randomUUID()))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testCreateReportAsyncIsRejectedWhenTheQueueIsFull() throws Exception {
+        ReportService blockedService = mock(ReportService.class);
+        CountDownLatch ingestionStarted = new CountDownLatch(1);
+        CountDownLatch ingestionReleased = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            ingestionStarted.countDown();
+            ingestionReleased.await();
+            return null;
+        }).when(blockedService).createReport(any(UUID.class), any(ReportNode.class));
+        when(blockedService.getRootReportId(any(UUID.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        // a single worker with room for a single report
+        ReportIngestionQueue ingestionQueue = new ReportIngestionQueue(blockedService, ingestionTicketRepository, 1, 1, 10, 60);
+        MockMvc queueMvc = MockMvcBuilders.standaloneSetup(new ReportController(reportService, ingestionQueue, -1))
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+            .build();
+        String report = toString(REPORT_ONE);
+        try {
+            // the first report blocks the worker, the second one fills its queue
+            MvcResult result = queueMvc.perform(put(URL_TEMPLATE + "/reports/" + UUID.randomUUID() + "/async").content(report).contentType(APPLICATION_JSON))
+                .andExpect(status().isAccepted())
+                .andReturn();
+            assertTrue(ingestionStarted.await(10, TimeUnit.SECONDS));
+            // the ticket is stored, any instance reads it
+            UUID ticketId = objectMapper.readValue(result.getResponse().getContentAsString(), IngestionTicket.class).ticketId();
+            assertEquals(IngestionTicket.Status.RUNNING, new ReportIngestionQueue(blockedService, ingestionTicketRepository, 1, 1, 10, 60)
+                .getTicket(ticketId).map(IngestionTicket::status).orElse(null));
+            queueMvc.perform(put(URL_TEMPLATE + "/reports/" + UUID.randomUUID() + "/async").content(report).contentType(APPLICATION_JSON))
+                .andExpect(status().isAccepted());
+
+            queueMvc.perform(put(URL_TEMPLATE + "/reports/" + UUID.randomUUID() + "/async").content(report).contentType(APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        } finally {
+            ingestionReleased.countDown();
+            ingestionQueue.drain();
+        }
+        // the queued report is ingested before the queue is drained
+        verify(blockedService, times(2)).createReport(any(UUID.class), any(ReportNode.class));
+
+        // once drained, as on shutdown, the reports are rejected
+        queueMvc.perform(put(URL_TEMPLATE + "/reports/" + UUID.randomUUID() + "/async").content(report).contentType(APPLICATION_JSON))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        assertThrows(RejectedExecutionException.class, () -> ingestionQueue.submit(UUID.randomUUID(), ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports").withMessageTemplate("templateTest").build()));
+        verify(blockedService, times(2)).createReport(any(UUID.class), any(ReportNode.class));
+    }
+
     @Test
     public void testCreateOrReplaceReport() throws Exception {
         // Test 1: Create a new report when ID doesn't exist (should behave like normal create)
@@ -224,7 +349,7 @@ public class ReportControllerTest {
             .andReturn();
 
         assertReportsAreEqualIgnoringIds(result, toString(EXPECTED_STRUCTURE_AND_ELEMENTS_REPORT1));
-        assertRequestsCount(1, 0, 0, 0);
+        assertRequestsCount(2, 0, 0, 0);
     }
 
     @Test
@@ -240,7 +365,7 @@ public class ReportControllerTest {
                 .andReturn();
 
         assertReportMessagesAreEqual(result, toString(EXPECTED_REPORT_MESSAGE_WITHOUT_FILTERS));
-        assertRequestsCount(2, 0, 0, 0);
+        assertRequestsCount(3, 0, 0, 0);
         SQLStatementCountValidator.reset();
 
         //Test with a filter on the message that will return results
@@ -249,7 +374,7 @@ public class ReportControllerTest {
                 .andReturn();
 
         assertReportMessagesAreEqual(result, toString(EXPECTED_REPORT_MESSAGE_WITH_MESSAGE_FILTER));
-        assertRequestsCount(2, 0, 0, 0);
+        assertRequestsCount(3, 0, 0, 0);
         SQLStatementCountValidator.reset();
 
         //Test with a filter on the message that won't return results
@@ -260,7 +385,7 @@ public class ReportControllerTest {
         TypeReference<ReportPage> listTypeReference = new TypeReference<>() { };
         List<ReportLog> response = objectMapper.readValue(result.getResponse().getContentAsString(), listTypeReference).content();
         assertEquals(0, response.size());
-        assertRequestsCount(2, 0, 0, 0);
+        assertRequestsCount(3, 0, 0, 0);
         SQLStatementCountValidator.reset();
 
         //Test with a filter on the severity that will return results
@@ -269,7 +394,7 @@ public class ReportControllerTest {
                 .andReturn();
 
         assertReportMessagesAreEqual(result, toString(EXPECTED_REPORT_MESSAGE_WITH_SEVERITY_FILTERS));
-        assertRequestsCount(2, 0, 0, 0);
+        assertRequestsCount(3, 0, 0, 0);
         SQLStatementCountValidator.reset();
 
         //Test with a filter on the severity that won't return results
@@ -279,7 +404,7 @@ public class ReportControllerTest {
 
         response = objectMapper.readValue(result.getResponse().getContentAsString(), listTypeReference).content();
         assertEquals(0, response.size());
-        assertRequestsCount(2, 0, 0, 0);
+        assertRequestsCount(3, 0, 0, 0);
         SQLStatementCountValidator.reset();
 
         //Test with both filters on and expect some results
@@ -288,7 +413,7 @@ public class ReportControllerTest {
                 .andReturn();
 
         assertReportMessagesAreEqual(result, toString(EXPECTED_REPORT_MESSAGE_WITH_SEVERITY_AND_MESSAGE_FILTERS));
-        assertRequestsCount(2, 0, 0, 0);
+        assertRequestsCount(3, 0, 0, 0);
         SQLStatementCountValidator.reset();
     }
 
@@ -316,8 +441,8 @@ public class ReportControllerTest {
             .contentType(APPLICATION_JSON))
             .andExpect(status().isOk())
             .andReturn();
-        // 1 SELECT (findAllNodeDataByRootNodeId) + 1 INSERT (single batch for all 23 nodes)
-        assertRequestsCount(1, 1, 0, 0);
+        // 2 SELECT (alias, materialized tree) + 3 INSERT (alias, uuids of its nodes, materialized tree): no node is copied
+        assertRequestsCount(2, 3, 0, 0);
 
         UUID duplicatedReportId = objectMapper.readValue(result.getResponse().getContentAsString(), UUID.class);
         MvcResult resultAfterDuplication = mvc.perform(get(URL_TEMPLATE + "/reports/" + duplicatedReportId))
@@ -357,6 +482,100 @@ public class ReportControllerTest {
         assertEquals(Set.of("TRACE", "ERROR", "UNKNOWN", "INFO"), severities);
     }
 
+    @Test
+    public void testGetReportSeverityCounts() throws Exception {
+        String testReport1 = toString(REPORT_ONE);
+        insertReport(REPORT_UUID, testReport1);
+
+        SQLStatementCountValidator.reset();
+        MvcResult result = mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/aggregated-severities/counts"))
+            .andExpect(status().isOk())
+            .andReturn();
+        assertRequestsCount(2, 0, 0, 0);
+        Map<String, Long> severityCounts = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() { });
+        assertEquals(Set.of("TRACE", "ERROR", "UNKNOWN", "INFO"), severityCounts.keySet());
+        assertEquals(reportNodeRepository.count(), severityCounts.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    public void testGetReportSubtree() throws Exception {
+        insertReport(REPORT_UUID, toString(REPORT_ONE));
+
+        SQLStatementCountValidator.reset();
+        MvcResult result = mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/subtree").param("depth", "1"))
+            .andExpect(status().isOk())
+            .andReturn();
+        // the version, the bounds of the report and its containers
+        assertRequestsCount(3, 0, 0, 0);
+        ReportSubtree root = objectMapper.readValue(result.getResponse().getContentAsString(), ReportSubtree.class);
+        assertEquals(UUID.fromString(REPORT_UUID), root.getId());
+        assertEquals(3, root.getChildCount());
+        assertEquals(List.of(4, 1, 0), root.getSubReports().stream().map(ReportSubtree::getChildCount).toList());
+        assertTrue(root.getSubReports().stream().allMatch(subReport -> subReport.getSubReports().isEmpty()));
+        assertEquals(reportNodeRepository.count(), root.getSeverityCounts().values().stream().mapToLong(Long::longValue).sum());
+
+        // the deeper levels are read when expanded
+        ReportSubtree firstChild = root.getSubReports().get(0);
+        result = mvc.perform(get(URL_TEMPLATE + "/reports/" + firstChild.getId() + "/subtree"))
+            .andExpect(status().isOk())
+            .andReturn();
+        ReportSubtree expanded = objectMapper.readValue(result.getResponse().getContentAsString(), ReportSubtree.class);
+        assertEquals(firstChild.getId(), expanded.getId());
+        assertEquals(root.getId(), expanded.getParentId());
+        assertEquals(4, expanded.getSubReports().size());
+        assertEquals("Fix UCTE lines", expanded.getSubReports().get(0).getMessage());
+
+        mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/subtree").param("depth", "-1"))
+            .andExpect(status().isBadRequest());
+        mvc.perform(get(URL_TEMPLATE + "/reports/" + UUID.randomUUID() + "/subtree"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testGetReportNotModified() throws Exception {
+        insertReport(REPORT_UUID, toString(REPORT_ONE));
+        String eTag = mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        for (String path : List.of("", "/logs", "/aggregated-severities", "/aggregated-severities/counts")) {
+            SQLStatementCountValidator.reset();
+            mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID + path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+            // only the version is read
+            assertRequestsCount(1, 0, 0, 0);
+        }
+
+        insertReport(REPORT_UUID, toString(REPORT_TWO));
+        String newETag = mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, newETag);
+    }
+
+    @Test
+    public void testServerTimingOfPagedReportLogs() throws Exception {
+        insertReport(REPORT_UUID, toString(REPORT_FOUR));
+
+        MvcResult result = mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/logs")
+                .param("paged", "true")
+                .param("page", "0")
+                .param("size", "5"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String serverTiming = result.getResponse().getHeader("Server-Timing");
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.startsWith("app;dur="));
+        // the node of the report, the page and its count, then the mapping of the page
+        assertTrue(serverTiming.contains("ReportNodeRepository.findByUuid;dur="));
+        assertTrue(serverTiming.contains("ReportNodeRepository.findPagedReportsByRootNodeIdAndOrderAndMessage;dur="));
+        assertTrue(serverTiming.contains("sql-select;dur="));
+        assertTrue(serverTiming.contains("sql-count;dur="));
+        assertTrue(serverTiming.contains("mapping;dur="));
+    }
+
     @Test
     public void testGetPagedReportLogs() throws Exception {
         String testReport = toString(REPORT_FOUR);
@@ -378,7 +597,7 @@ public class ReportControllerTest {
         assertEquals(6, response.totalPages());
         assertEquals(28, response.totalElements());
         assertEquals(5, response.content().size());
-        assertRequestsCount(3, 0, 0, 0);
+        assertRequestsCount(4, 0, 0, 0);
         SQLStatementCountValidator.reset();
 
         // Test fifth page
@@ -391,7 +610,7 @@ public class ReportControllerTest {
 
         response = objectMapper.readValue(result.getResponse().getContentAsString(), listTypeReference);
         assertEquals(3, response.content().size());
-        assertRequestsCount(2, 0, 0, 0);
+        assertRequestsCount(3, 0, 0, 0);
         SQLStatementCountValidator.reset();
 
         // Test with message filter
@@ -407,7 +626,7 @@ public class ReportControllerTest {
         assertEquals(2, response.totalPages());
         assertEquals(13, response.totalElements());
         assertEquals(10, response.content().size());
-        assertRequestsCount(3, 0, 0, 0);
+        assertRequestsCount(4, 0, 0, 0);
         SQLStatementCountValidator.reset();
 
         // Test with severity filter
@@ -423,7 +642,7 @@ public class ReportControllerTest {
         assertEquals(1, response.totalPages());
         assertEquals(5, response.content().size());
         assertTrue(response.content().stream().allMatch(log -> Severity.INFO.equals(log.getSeverity())));
-        assertRequestsCount(2, 0, 0, 0);
+        assertRequestsCount(3, 0, 0, 0);
         SQLStatementCountValidator.reset();
 
         // Test with both filters
@@ -442,8 +661,152 @@ public class ReportControllerTest {
         assertEquals(2, response.content().size());
         assertTrue(response.content().stream().allMatch(log ->
                 Severity.INFO.equals(log.getSeverity()) && log.getMessage().contains("line")));
-        assertRequestsCount(2, 0, 0, 0);
+        assertRequestsCount(3, 0, 0, 0);
         SQLStatementCountValidator.reset();
+
+        // Test with minimum severity
+        List<ReportLog> allLogs = objectMapper.readValue(mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/logs"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString(), listTypeReference).content();
+        result = mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/logs")
+                .param("minSeverity", "INFO"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        response = objectMapper.readValue(result.getResponse().getContentAsString(), listTypeReference);
+        List<ReportLog> expectedLogs = allLogs.stream().filter(log -> log.getSeverity().getLevel() >= Severity.INFO.getLevel()).toList();
+        assertTrue(expectedLogs.size() < allLogs.size());
+        assertEquals(expectedLogs.stream().map(ReportLog::getMessage).toList(), response.content().stream().map(ReportLog::getMessage).toList());
+
+        mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/logs").param("minSeverity", "SEVERE"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetReportLogsSlices() throws Exception {
+        String testReport = toString(REPORT_FOUR);
+        insertReport(REPORT_UUID, testReport);
+
+        MvcResult result = mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/logs"))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<ReportLog> allLogs = objectMapper.readValue(result.getResponse().getContentAsString(), ReportPage.class).content();
+
+        SQLStatementCountValidator.reset();
+        result = mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/logs/scroll")
+                .param("size", "10")
+                .param("count", "true"))
+                .andExpect(status().isOk())
+                .andReturn();
+        ReportLogSlice slice = objectMapper.readValue(result.getResponse().getContentAsString(), ReportLogSlice.class);
+        assertEquals(Long.valueOf(28), slice.totalElements());
+        assertEquals(10, slice.content().size());
+        assertNotNull(slice.nextCursor());
+        assertRequestsCount(3, 0, 0, 0);
+
+        List<ReportLog> scrolledLogs = new ArrayList<>(slice.content());
+        while (slice.nextCursor() != null) {
+            SQLStatementCountValidator.reset();
+            result = mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/logs/scroll")
+                    .param("size", "10")
+                    .param("cursor", slice.nextCursor()))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            slice = objectMapper.readValue(result.getResponse().getContentAsString(), ReportLogSlice.class);
+            assertNull(slice.totalElements());
+            assertRequestsCount(2, 0, 0, 0);
+            scrolledLogs.addAll(slice.content());
+        }
+        assertEquals(8, slice.content().size());
+        assertEquals(allLogs.stream().map(ReportLog::getMessage).toList(), scrolledLogs.stream().map(ReportLog::getMessage).toList());
+
+        // Test with a severity filter
+        result = mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/logs/scroll")
+                .param("severityLevels", "INFO")
+                .param("size", "3"))
+                .andExpect(status().isOk())
+                .andReturn();
+        slice = objectMapper.readValue(result.getResponse().getContentAsString(), ReportLogSlice.class);
+        assertEquals(3, slice.content().size());
+        assertTrue(slice.content().stream().allMatch(log -> Severity.INFO.equals(log.getSeverity())));
+        result = mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/logs/scroll")
+                .param("severityLevels", "INFO")
+                .param("size", "3")
+                .param("cursor", slice.nextCursor()))
+                .andExpect(status().isOk())
+                .andReturn();
+        slice = objectMapper.readValue(result.getResponse().getContentAsString(), ReportLogSlice.class);
+        assertEquals(2, slice.content().size());
+        assertNull(slice.nextCursor());
+
+        mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/logs/scroll")
+                .param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest());
+        String outOfRangeCursor = Base64.getUrlEncoder().withoutPadding().encodeToString("99999999999".getBytes(StandardCharsets.UTF_8));
+        mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/logs/scroll")
+                .param("cursor", outOfRangeCursor))
+                .andExpect(status().isBadRequest());
+
+        // the cursor of the highest order is past the end of the report
+        String lastCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(Integer.toString(Integer.MAX_VALUE).getBytes(StandardCharsets.UTF_8));
+        result = mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/logs/scroll")
+                .param("cursor", lastCursor))
+                .andExpect(status().isOk())
+                .andReturn();
+        slice = objectMapper.readValue(result.getResponse().getContentAsString(), ReportLogSlice.class);
+        assertTrue(slice.content().isEmpty());
+        assertNull(slice.nextCursor());
+    }
+
+    @Test
+    public void testExportReportLogs() throws Exception {
+        String testReport = toString(REPORT_FOUR);
+        insertReport(REPORT_UUID, testReport);
+        String secondReportId = "b2c5e1a1-6aa5-47a9-ba55-d1ee4e234d14";
+        insertReport(secondReportId, toString(REPORT_ONE));
+
+        MvcResult result = mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/logs").param("severityLevels", "INFO"))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<ReportLog> expectedLogs = objectMapper.readValue(result.getResponse().getContentAsString(), ReportPage.class).content();
+
+        result = mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/logs/export").param("severityLevels", "INFO"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn();
+        List<ReportLog> exportedLogs = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n")) {
+            exportedLogs.add(objectMapper.readValue(line, ReportLog.class));
+        }
+        TestUtils.assertReportMessagesAreEqual(expectedLogs, exportedLogs);
+
+        result = mvc.perform(get(URL_TEMPLATE + "/reports/" + REPORT_UUID + "/logs/export")
+                        .param("format", "CSV")
+                        .param("severityLevels", "INFO"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String[] csvLines = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("message,severity,depth,parentId", csvLines[0]);
+        assertEquals(expectedLogs.size() + 1, csvLines.length);
+
+        // Logs of multiple reports are exported report after report, in the requested order
+        result = mvc.perform(get(URL_TEMPLATE + "/reports/logs").param("reportIds", secondReportId, REPORT_UUID))
+                .andExpect(status().isOk())
+                .andReturn();
+        expectedLogs = objectMapper.readValue(objectMapper.readTree(result.getResponse().getContentAsString()).get("content").toString(), new TypeReference<List<ReportLog>>() { });
+        result = mvc.perform(get(URL_TEMPLATE + "/reports/logs/export").param("reportIds", secondReportId, REPORT_UUID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        exportedLogs = new ArrayList<>();
+        for (String line : mvc.perform(asyncDispatch(result)).andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n")) {
+            exportedLogs.add(objectMapper.readValue(line, ReportLog.class));
+        }
+        TestUtils.assertReportMessagesAreEqual(expectedLogs, exportedLogs);
     }
 
     @Test
@@ -0,0 +1,257 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vladmihalcea.sql.SQLStatementCountValidator;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.gridsuite.report.server.dto.ReportPage;
+import org.gridsuite.report.server.utils.ReportJsonGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.gridsuite.report.server.utils.TestUtils.assertRequestsCount;
+import static org.gridsuite.report.server.utils.TestUtils.assertRequestsCountAtMost;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Load test of the report API: reports of each size are written through every ingestion endpoint, then read
+ * concurrently by the tree, paged logs, search and multiple reports logs endpoints. The latency percentiles, the nodes
+ * written per second and the statements per request of each scenario are logged.
+ * <p>
+ * Every request must also stay within the statement budget of its endpoint, which does not depend on the size of the
+ * report except for the batched writes. Requests go through the whole servlet stack with MockMvc, in the thread that
+ * counts their statements.
+ * <p>
+ * Only run when {@code report-server.load-test.enabled} is true, on the database of the tests unless another one is given.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@EnabledIfSystemProperty(named = "report-server.load-test.enabled", matches = "true")
+class ReportLoadTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportLoadTest.class);
+
+    private static final String URL_TEMPLATE = "/" + ReportApi.API_VERSION;
+
+    private static final int PAGE_SIZE = 100;
+
+    // statements of the reads, as counted by ReportControllerTest: version, node and page with its count for the logs
+    private static final int TREE_SELECTS = 2;
+    private static final int LOGS_SELECTS = 4;
+    private static final int SEARCH_SELECTS = 1;
+    // page and count, the aliases are resolved by the queries
+    private static final int MULTIPLE_REPORTS_LOGS_SELECTS = 2;
+
+    // writes are flushed by batches of 512 nodes, the other statements read and update the report, its tree and version
+    private static final int NODES_PER_BATCH = 512;
+    private static final int WRITE_STATEMENTS = 20;
+
+    // appended and replaced reports are a tenth of the created one, child reports a hundredth
+    private static final int APPEND_RATIO = 10;
+    private static final int CHILD_RATIO = 100;
+
+    private final List<Integer> nodeCounts = Arrays.stream(System.getProperty("report-server.load-test.node-counts", "10000,100000").split(","))
+        .map(String::trim)
+        .map(Integer::valueOf)
+        .toList();
+
+    private final int threadCount = Integer.getInteger("report-server.load-test.threads", 8);
+
+    private final int readsPerThread = Integer.getInteger("report-server.load-test.reads-per-thread", 100);
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        reportService.deleteAll();
+    }
+
+    @AfterEach
+    void tearOff() {
+        reportService.deleteAll();
+    }
+
+    @Test
+    void testIngestionAndConcurrentReads() throws Exception {
+        for (int nodeCount : nodeCounts) {
+            Map<String, Scenario> scenarios = new LinkedHashMap<>();
+            UUID reportId = UUID.randomUUID();
+            UUID otherReportId = UUID.randomUUID();
+            int appendedNodeCount = Math.max(1, nodeCount / APPEND_RATIO);
+            int childNodeCount = Math.max(1, nodeCount / CHILD_RATIO);
+
+            write(scenarios, "create", put(URL_TEMPLATE + "/reports/{id}/stream", reportId), nodeCount);
+            write(scenarios, "append", put(URL_TEMPLATE + "/reports/{id}", reportId), appendedNodeCount);
+            // the first one creates the report, the second one replaces it
+            write(scenarios, "replace", put(URL_TEMPLATE + "/reports/{id}/replace", otherReportId), appendedNodeCount);
+            write(scenarios, "replace", put(URL_TEMPLATE + "/reports/{id}/replace", otherReportId), appendedNodeCount);
+            write(scenarios, "child-append", post(URL_TEMPLATE + "/reports/{rootId}/children", reportId), childNodeCount);
+
+            read(scenarios, reportId, otherReportId);
+
+            LOGGER.info("Report of {} nodes", nodeCount);
+            scenarios.forEach((name, scenario) -> LOGGER.info("{}", scenario.summary(name)));
+            reportService.deleteAll();
+        }
+    }
+
+    private void write(Map<String, Scenario> scenarios, String name, MockHttpServletRequestBuilder request, int nodeCount) throws Exception {
+        byte[] json = ReportJsonGenerator.generate(nodeCount);
+        int batchCount = (nodeCount + NODES_PER_BATCH - 1) / NODES_PER_BATCH;
+
+        SQLStatementCountValidator.reset();
+        long start = System.nanoTime();
+        mvc.perform(request.content(json).contentType(APPLICATION_JSON)).andExpect(status().isOk());
+        long duration = System.nanoTime() - start;
+        assertRequestsCountAtMost(WRITE_STATEMENTS, batchCount + WRITE_STATEMENTS, batchCount + WRITE_STATEMENTS, WRITE_STATEMENTS);
+
+        scenarios.computeIfAbsent(name, key -> new Scenario()).record(duration, nodeCount, QueryCountHolder.getGrandTotal());
+    }
+
+    private void read(Map<String, Scenario> scenarios, UUID reportId, UUID otherReportId) throws Exception {
+        // only full pages are read: the count of the last page is skipped
+        ReportPage firstPage = objectMapper.readValue(mvc.perform(get(URL_TEMPLATE + "/reports/{id}/logs", reportId)
+                .param("paged", "true")
+                .param("size", String.valueOf(PAGE_SIZE)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString(), ReportPage.class);
+        long fullPageCount = Math.max(1, firstPage.totalElements() / PAGE_SIZE);
+
+        List<String> names = List.of("tree", "logs", "search", "multiple-reports-logs");
+        names.forEach(name -> scenarios.put(name, new Scenario()));
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                int offset = t;
+                readers.add(executor.submit(() -> {
+                    for (int i = 0; i < readsPerThread; i++) {
+                        String name = names.get((offset + i) % names.size());
+                        long page = ThreadLocalRandom.current().nextLong(fullPageCount);
+                        MockHttpServletRequestBuilder request = switch (name) {
+                            case "tree" -> get(URL_TEMPLATE + "/reports/{id}", reportId);
+                            case "logs" -> get(URL_TEMPLATE + "/reports/{id}/logs", reportId)
+                                .param("paged", "true")
+                                .param("page", String.valueOf(page))
+                                .param("size", String.valueOf(PAGE_SIZE));
+                            case "search" -> get(URL_TEMPLATE + "/reports/{id}/logs/search", reportId)
+                                .param("searchTerm", "LINE_" + ThreadLocalRandom.current().nextInt(997))
+                                .param("pageSize", String.valueOf(PAGE_SIZE));
+                            default -> get(URL_TEMPLATE + "/reports/logs")
+                                .param("reportIds", reportId.toString(), otherReportId.toString())
+                                .param("paged", "true")
+                                .param("page", String.valueOf(page))
+                                .param("size", String.valueOf(PAGE_SIZE));
+                        };
+                        scenarios.get(name).record(readRequest(request, selectsOf(name)), 0, QueryCountHolder.getGrandTotal());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> reader : readers) {
+                // rethrows the failures of the readers, including the budgets exceeded
+                reader.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long readRequest(MockHttpServletRequestBuilder request, int selects) throws Exception {
+        SQLStatementCountValidator.reset();
+        long start = System.nanoTime();
+        mvc.perform(request).andExpect(status().isOk());
+        long duration = System.nanoTime() - start;
+        assertRequestsCount(selects, 0, 0, 0);
+        return duration;
+    }
+
+    private static int selectsOf(String name) {
+        return switch (name) {
+            case "tree" -> TREE_SELECTS;
+            case "logs" -> LOGS_SELECTS;
+            case "search" -> SEARCH_SELECTS;
+            default -> MULTIPLE_REPORTS_LOGS_SELECTS;
+        };
+    }
+
+    private static final class Scenario {
+
+        private final List<Long> durations = Collections.synchronizedList(new ArrayList<>());
+
+        private final AtomicLong nodes = new AtomicLong();
+
+        private final AtomicLong selects = new AtomicLong();
+
+        private final AtomicLong inserts = new AtomicLong();
+
+        private final AtomicLong updates = new AtomicLong();
+
+        private final AtomicLong deletes = new AtomicLong();
+
+        void record(long durationNanos, int nodeCount, QueryCount queryCount) {
+            durations.add(durationNanos);
+            nodes.addAndGet(nodeCount);
+            selects.addAndGet(queryCount.getSelect());
+            inserts.addAndGet(queryCount.getInsert());
+            updates.addAndGet(queryCount.getUpdate());
+            deletes.addAndGet(queryCount.getDelete());
+        }
+
+        String summary(String name) {
+            List<Long> sorted;
+            synchronized (durations) {
+                sorted = durations.stream().sorted().toList();
+            }
+            int count = sorted.size();
+            double totalSeconds = sorted.stream().mapToLong(Long::longValue).sum() / 1e9;
+            return String.format("%-22s requests=%d p50=%.1fms p99=%.1fms nodes/s=%.0f statements/request: select=%.1f insert=%.1f update=%.1f delete=%.1f",
+                name, count, percentile(sorted, 0.5) / 1e6, percentile(sorted, 0.99) / 1e6,
+                nodes.get() / totalSeconds,
+                (double) selects.get() / count, (double) inserts.get() / count, (double) updates.get() / count, (double) deletes.get() / count);
+        }
+
+        private static long percentile(List<Long> sorted, double percentile) {
+            return sorted.get(Math.max(0, (int) Math.ceil(percentile * sorted.size()) - 1));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.commons.report.TypedValue;
+import org.gridsuite.report.server.repositories.ReportLogsExportRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Exports run on a real server, whose asynchronous requests time out long before the export is written: the exports
+ * have their own timeout, none by default.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.mvc.async.request-timeout=100")
+class ReportLogsExportTimeoutTest {
+
+    private static final long EXPORT_DELAY_MS = 1000;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ReportService reportService;
+
+    @SpyBean
+    private ReportLogsExportRepository reportLogsExportRepository;
+
+    @AfterEach
+    void tearDown() {
+        reportService.deleteAll();
+    }
+
+    @Test
+    void exportsOutlastTheTimeoutOfAsynchronousRequests() {
+        ReportNode reportNode = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test")
+            .build();
+        reportNode.newReportNode()
+            .withMessageTemplate("noidea")
+            .withSeverity(TypedValue.INFO_SEVERITY)
+            .add();
+        UUID reportId = UUID.randomUUID();
+        reportService.createReport(reportId, reportNode);
+        doAnswer(invocation -> {
+            Thread.sleep(EXPORT_DELAY_MS);
+            return invocation.callRealMethod();
+        }).when(reportLogsExportRepository).forEachLog(any(), any(), anyInt(), anyInt(), any(), any(), any(), any());
+
+        ResponseEntity<String> response = restTemplate.getForEntity("/" + ReportApi.API_VERSION + "/reports/{id}/logs/export", String.class, reportId);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(2, response.getBody().split("\n").length);
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import org.gridsuite.report.server.dto.ReportLog;
+import org.gridsuite.report.server.dto.ReportLogsExportFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReportLogsWriterTest {
+
+    @Test
+    void csvCellsAreNotEvaluatedAsFormulas() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ReportLogsWriter writer = new ReportLogsWriter(ReportLogsExportFormat.CSV, outputStream, WebConfiguration.createObjectMapper());
+        for (String message : new String[] {"=1+1", "+1", "-1", "@SUM(A1)", "=HYPERLINK(\"http://x\",\"y\")", "a=1"}) {
+            writer.write(new ReportLog(message, Severity.INFO, 1, null));
+        }
+        writer.flush();
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("message,severity,depth,parentId", lines[0]);
+        assertEquals("'=1+1,INFO,1,", lines[1]);
+        assertEquals("'+1,INFO,1,", lines[2]);
+        assertEquals("'-1,INFO,1,", lines[3]);
+        assertEquals("'@SUM(A1),INFO,1,", lines[4]);
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\",INFO,1,", lines[5]);
+        assertEquals("a=1,INFO,1,", lines[6]);
+    }
+}
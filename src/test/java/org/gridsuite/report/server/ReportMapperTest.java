@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import org.gridsuite.report.server.dto.Report;
+import org.gridsuite.report.server.dto.ReportSubtree;
+import org.gridsuite.report.server.entities.ReportContainerProjection;
+import org.gridsuite.report.server.entities.ReportProjection;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportMapperTest {
+
+    private final UUID rootId = UUID.randomUUID();
+    private final UUID aId = UUID.randomUUID();
+    private final UUID a1Id = UUID.randomUUID();
+    private final UUID a11Id = UUID.randomUUID();
+    private final UUID bId = UUID.randomUUID();
+    private final UUID b1Id = UUID.randomUUID();
+
+    // root > (a > a1 > a11, b > b1), sorted by order
+    private List<ReportProjection> containers() {
+        return List.of(
+            new ReportProjection(rootId, null, Severity.ERROR, 0, null, 0),
+            new ReportProjection(aId, "a", Severity.WARN, 1, rootId, 1),
+            new ReportProjection(a1Id, "a1", Severity.INFO, 2, aId, 2),
+            new ReportProjection(a11Id, "a11", Severity.TRACE, 3, a1Id, 3),
+            new ReportProjection(bId, "b", Severity.ERROR, 1, rootId, 5),
+            new ReportProjection(b1Id, "b1", Severity.UNKNOWN, 2, bId, 6),
+            // parent not mapped
+            new ReportProjection(UUID.randomUUID(), "orphan", Severity.INFO, 2, UUID.randomUUID(), 8)
+        );
+    }
+
+    @Test
+    void mapBuildsTreeFromSortedContainers() {
+        Report root = ReportMapper.map(containers());
+
+        assertEquals(rootId.toString(), root.getMessage());
+        assertEquals(List.of(aId, bId), root.getSubReports().stream().map(Report::getId).toList());
+        Report a = root.getSubReports().get(0);
+        assertEquals(a1Id, a.getSubReports().get(0).getId());
+        assertEquals(a11Id, a.getSubReports().get(0).getSubReports().get(0).getId());
+        Report b = root.getSubReports().get(1);
+        assertEquals(1, b.getSubReports().size());
+        assertEquals(bId, b.getSubReports().get(0).getParentId());
+        assertEquals(Severity.UNKNOWN, b.getSubReports().get(0).getSeverity());
+        assertTrue(b.getSubReports().get(0).getSubReports().isEmpty());
+    }
+
+    @Test
+    void mapNothing() {
+        assertNull(ReportMapper.map(List.of()));
+        assertNull(ReportMapper.mapSubtree(List.of(), 1));
+    }
+
+    @Test
+    void mapSubtreeCountsContainersBeyondDepth() {
+        List<ReportContainerProjection> subtreeContainers = containers().stream()
+            .filter(container -> container.depth() <= 2)
+            .map(container -> new ReportContainerProjection(container.id(), container.message(), container.severity(), container.depth(),
+                container.parentId(), Map.of(container.severity().name(), 1L)))
+            .toList();
+
+        ReportSubtree root = ReportMapper.mapSubtree(subtreeContainers, 1);
+
+        assertEquals(2, root.getChildCount());
+        assertEquals(List.of(aId, bId), root.getSubReports().stream().map(ReportSubtree::getId).toList());
+        assertEquals(List.of(1, 1), root.getSubReports().stream().map(ReportSubtree::getChildCount).toList());
+        assertTrue(root.getSubReports().stream().allMatch(subReport -> subReport.getSubReports().isEmpty()));
+        assertEquals(Map.of("WARN", 1L), root.getSubReports().get(0).getSeverityCounts());
+    }
+}
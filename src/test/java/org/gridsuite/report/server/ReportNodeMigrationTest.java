@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.changelog.ChangeSet;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.gridsuite.report.server.utils.PostgresTestContainer;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.DockerClientFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the migration of report_node to the keys by order on reports written before it: roots, containers and the
+ * children of the roots, which may have been created by POST /reports/{id}/children, keep their uuid, the other leaves
+ * drop it. The PostgreSQL migration is skipped when Docker is not available.
+ */
+class ReportNodeMigrationTest {
+
+    private static final String CHANGELOG = "db/changelog/db.changelog-master.yaml";
+
+    // first changeset of the migration to the keys by order
+    private static final String MIGRATION_CHANGESET_ID = "1760691600000-1";
+
+    private static final String INSERT_NODE_SQL = """
+        INSERT INTO report_node (id, message, parent_id, root_node_id, order_, end_order, is_leaf, depth, severity)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'INFO')
+        """;
+
+    @Test
+    void testChildReportsKeepTheirUuidOnH2() throws Exception {
+        testChildReportsKeepTheirUuid(new DriverManagerDataSource("jdbc:h2:mem:report_node_migration;DB_CLOSE_DELAY=-1"));
+    }
+
+    @Test
+    void testChildReportsKeepTheirUuidOnPostgreSql() throws Exception {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is not available");
+        testChildReportsKeepTheirUuid(PostgresTestContainer.createDatabase("report_node_migration"));
+    }
+
+    private static void testChildReportsKeepTheirUuid(DataSource dataSource) throws Exception {
+        UUID rootId = UUID.randomUUID();
+        UUID childReportId = UUID.randomUUID();
+        UUID containerId = UUID.randomUUID();
+        UUID leafId = UUID.randomUUID();
+        try (Connection connection = dataSource.getConnection()) {
+            Database database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+            Liquibase liquibase = new Liquibase(CHANGELOG, new ClassLoaderResourceAccessor(), database);
+            migrateUntil(liquibase, MIGRATION_CHANGESET_ID);
+
+            // root, leaf child report appended by /children, container and its leaf
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.update(INSERT_NODE_SQL, rootId, "root", null, rootId, 0, 3, false, 0);
+            jdbcTemplate.update(INSERT_NODE_SQL, childReportId, "child report", rootId, rootId, 1, 1, true, 1);
+            jdbcTemplate.update(INSERT_NODE_SQL, containerId, "container", rootId, rootId, 2, 3, false, 1);
+            jdbcTemplate.update(INSERT_NODE_SQL, leafId, "leaf", containerId, rootId, 3, 3, true, 2);
+
+            liquibase.update(new Contexts(), new LabelExpression());
+
+            assertEquals(rootId, uuidOf(jdbcTemplate, rootId, 0));
+            assertEquals(childReportId, uuidOf(jdbcTemplate, rootId, 1));
+            assertEquals(containerId, uuidOf(jdbcTemplate, rootId, 2));
+            assertNull(uuidOf(jdbcTemplate, rootId, 3));
+            assertEquals(0, jdbcTemplate.queryForObject("SELECT parent_order FROM report_node WHERE root_node_id = ? AND order_ = 1", Integer.class, rootId));
+            assertEquals(2, jdbcTemplate.queryForObject("SELECT parent_order FROM report_node WHERE root_node_id = ? AND order_ = 3", Integer.class, rootId));
+        }
+    }
+
+    /**
+     * Runs the changesets that come before the given one.
+     */
+    private static void migrateUntil(Liquibase liquibase, String changeSetId) throws Exception {
+        List<String> unrunChangeSetIds = liquibase.listUnrunChangeSets(new Contexts(), new LabelExpression()).stream()
+            .map(ChangeSet::getId)
+            .toList();
+        int changesToApply = unrunChangeSetIds.indexOf(changeSetId);
+        assertTrue(changesToApply > 0, changeSetId + " not found");
+        liquibase.update(changesToApply, new Contexts(), new LabelExpression());
+    }
+
+    private static UUID uuidOf(JdbcTemplate jdbcTemplate, UUID rootId, int order) {
+        return jdbcTemplate.queryForObject("SELECT id FROM report_node WHERE root_node_id = ? AND order_ = ?", UUID.class, rootId, order);
+    }
+}
@@ -0,0 +1,332 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.commons.report.TypedValue;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.gridsuite.report.server.entities.ReportNodeEntity;
+import org.gridsuite.report.server.repositories.ReportNodeDuplicationRepository;
+import org.gridsuite.report.server.repositories.ReportNodeRepository;
+import org.gridsuite.report.server.utils.PostgresTestContainer;
+import org.gridsuite.report.server.utils.QueryRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Explains the queries of {@link ReportNodeRepository} on PostgreSQL, to catch the changes of queries or indexes that
+ * make them read the whole partition of a report, fetch rows that the indexes cover, filter the messages without the
+ * trigram index or read the leaves of a report for its subtree.
+ * The statements executed by the repository are recorded and explained again with their parameters, and only the scans
+ * of the partition holding the report are checked: the planner may scan the other partitions, which are empty, as it likes.
+ * The statements selecting the creation date of the report are executed by the explain, and rolled back, to check that
+ * only the partition of the report is scanned once its creation date is known.
+ * Skipped when Docker is not available.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class ReportNodeRepositoryPlanTest {
+
+    // enough reports for the range of one report to be a small part of its partition
+    private static final int REPORT_COUNT = 200;
+
+    private static final int CONTAINER_COUNT = 10;
+
+    private static final int LEAF_COUNT = 20;
+
+    // leaves of the report searched by message, far more than the rows matching the message
+    private static final int SEARCHED_LEAF_COUNT = 5000;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        PostgresTestContainer.registerProperties(registry);
+    }
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ReportNodeRepository reportNodeRepository;
+
+    @Autowired
+    private ReportNodeDuplicationRepository reportNodeDuplicationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private UUID reportId;
+
+    private int endOrder;
+
+    private String partition;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < REPORT_COUNT; i++) {
+            reportId = UUID.randomUUID();
+            reportService.createReport(reportId, createReportNode());
+        }
+        ReportNodeEntity root = reportNodeRepository.findByUuid(reportId).orElseThrow();
+        endOrder = root.getEndOrder();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // statistics for the planner, and visibility map for the index-only scans
+        jdbcTemplate.execute("VACUUM ANALYZE report_node");
+        partition = jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM report_node WHERE root_node_id = ? AND order_ = 0",
+            String.class, reportId);
+    }
+
+    @AfterEach
+    void tearOff() {
+        reportService.deleteAll();
+    }
+
+    private static ReportNode createReportNode() {
+        ReportNode reportNode = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("hehe")
+            .build();
+        for (int i = 0; i < CONTAINER_COUNT; i++) {
+            ReportNode container = reportNode.newReportNode().withMessageTemplate("hehe").add();
+            for (int j = 0; j < LEAF_COUNT; j++) {
+                container.newReportNode()
+                    .withMessageTemplate("hehehe")
+                    .withSeverity(j == 0 ? TypedValue.ERROR_SEVERITY : TypedValue.INFO_SEVERITY)
+                    .add();
+            }
+        }
+        return reportNode;
+    }
+
+    @Test
+    void testSeverityCountsAreIndexOnlyScans() throws Exception {
+        List<JsonNode> scans = scansOf(explain(() -> reportNodeRepository.countSeveritiesByRootNodeIdAndOrder(reportId, 0, endOrder)));
+
+        assertFalse(scans.isEmpty());
+        scans.forEach(scan -> assertEquals("Index Only Scan", scan.get("Node Type").asText(), scan.toString()));
+    }
+
+    @Test
+    void testReportQueriesDoNotScanThePartition() throws Exception {
+        Pageable page = PageRequest.of(0, 50);
+        Set<Severity> severities = Set.of(Severity.ERROR);
+        Set<Integer> severityLevels = Set.of(Severity.ERROR.getLevel());
+        UUID[] reportIds = {reportId};
+        List<JsonNode> scans = scansOf(explain(() -> {
+            reportNodeRepository.findByUuid(reportId);
+            reportNodeRepository.findAllContainersByRootNodeId(reportId, reportId);
+            reportNodeRepository.findContainersByRootNodeIdAndOrderAndDepth(reportId, reportId, 0, endOrder, 2);
+            reportNodeRepository.findPagedReportsByRootNodeIdAndOrderAndMessage(reportId, 0, endOrder, "%", Severity.UNKNOWN, page);
+            reportNodeRepository.findPagedReportsByRootNodeIdAndOrderAndMessageAndSeverities(reportId, 0, endOrder, "%", Severity.UNKNOWN, severities, page);
+            reportNodeRepository.findReportsByRootNodeIdAndOrderAndMessage(reportId, 0, endOrder, "%", Severity.UNKNOWN, page);
+            reportNodeRepository.findReportsByRootNodeIdAndOrderAndMessageAndSeverities(reportId, 0, endOrder, "%", Severity.UNKNOWN, severities, page);
+            reportNodeRepository.countReportsByRootNodeIdAndOrderAndMessage(reportId, 0, endOrder, "%", Severity.WARN);
+            reportNodeRepository.countReportsByRootNodeIdAndOrderAndMessageAndSeverities(reportId, 0, endOrder, "%", Severity.UNKNOWN, severities);
+            reportNodeRepository.findRelativePositionsByRootNodeIdAndOrderAndMessage(reportId, 0, endOrder, "%", Severity.UNKNOWN.getLevel(), "%funny%");
+            reportNodeRepository.findRelativePositionsByRootNodeIdAndOrderAndMessageAndSeverities(reportId, 0, endOrder, "%", Severity.UNKNOWN.getLevel(), "%funny%", severityLevels);
+            reportNodeRepository.findPagedReportsByMultipleRootNodeIdsAndOrderAndMessage(reportIds, "%", page);
+            reportNodeRepository.findPagedReportsByMultipleRootNodeIdsAndOrderAndMessageAndSeverities(reportIds, "%", severityLevels, page);
+            reportNodeRepository.findRelativePositionsByMultipleRootNodeIdsAndOrderAndMessage(reportIds, "%", "%funny%");
+            reportNodeRepository.findRelativePositionsByMultipleRootNodeIdsAndOrderAndMessageAndSeverities(reportIds, "%", "%funny%", severityLevels);
+        }));
+
+        assertFalse(scans.isEmpty());
+        scans.forEach(scan -> assertNotEquals("Seq Scan", scan.get("Node Type").asText(), scan.toString()));
+    }
+
+    @Test
+    void testMessageFilterUsesTheTrigramIndex() throws Exception {
+        ReportNode reportNode = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("hehe")
+            .build();
+        ReportNode container = reportNode.newReportNode().withMessageTemplate("hehe").add();
+        for (int i = 0; i < SEARCHED_LEAF_COUNT; i++) {
+            container.newReportNode()
+                .withMessageTemplate("noidea")
+                .withUntypedValue("idea", "line " + i)
+                .withSeverity(TypedValue.INFO_SEVERITY)
+                .add();
+        }
+        UUID searchedReportId = UUID.randomUUID();
+        reportService.createReport(searchedReportId, reportNode);
+        jdbcTemplate.execute("VACUUM ANALYZE report_node");
+        String trigramIndex = jdbcTemplate.queryForObject("SELECT indexname FROM pg_indexes WHERE tablename = ? AND indexdef LIKE '%gin_trgm_ops%'",
+            String.class, partition);
+
+        // the range of the report holds all its leaves, only the trigram index narrows them down to the matching ones
+        Set<String> indexNames = indexNamesOf(explain(() ->
+            reportNodeRepository.countReportsByRootNodeIdAndOrderAndMessage(searchedReportId, 0, SEARCHED_LEAF_COUNT + 1, "%line 4242%", Severity.UNKNOWN)));
+
+        assertTrue(indexNames.contains(trigramIndex), indexNames.toString());
+    }
+
+    @Test
+    void testSubtreeUsesTheContainersIndex() throws Exception {
+        String containersIndex = jdbcTemplate.queryForObject(
+            "SELECT indexname FROM pg_indexes WHERE tablename = ? AND indexdef LIKE '%(root_node_id, depth, order_) WHERE (NOT is_leaf)%'",
+            String.class, partition);
+
+        // only the containers of the first levels are read, not the leaves of the range
+        Set<String> indexNames = indexNamesOf(explain(() -> reportNodeRepository.findContainersByRootNodeIdAndOrderAndDepth(reportId, reportId, 0, endOrder, 1)));
+
+        assertTrue(indexNames.contains(containersIndex), indexNames.toString());
+    }
+
+    @Test
+    void testModificationsOnlyScanThePartitionOfTheReport() throws Exception {
+        UUID[] reportIds = {reportId};
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<JsonNode> plans = explainAnalyze(() -> transactionTemplate.executeWithoutResult(status -> {
+            reportNodeRepository.deleteByRootNodeIdAndOrderBetween(reportId, 1, LEAF_COUNT);
+            reportNodeRepository.deleteAllChildrenByRootNodeId(reportId);
+            reportNodeRepository.deleteAllByRootNodeId(reportId);
+            reportNodeRepository.deleteAllByRootNodeIds(reportIds);
+            reportNodeDuplicationRepository.createAliasNodes(reportId, UUID.randomUUID());
+            reportNodeDuplicationRepository.duplicate(reportId, UUID.randomUUID());
+            status.setRollbackOnly();
+        }));
+
+        // the uuids of the aliases are in report_alias_node, which is not partitioned
+        List<JsonNode> scans = new ArrayList<>();
+        plans.forEach(plan -> collectExecutedScans(plan, scans));
+        assertEquals(Set.of(partition), scans.stream()
+            .map(scan -> scan.get("Relation Name").asText())
+            .filter(relationName -> relationName.startsWith("report_node"))
+            .collect(Collectors.toSet()));
+    }
+
+    /**
+     * Returns the plans of the statements executed by the queries.
+     */
+    private List<JsonNode> explain(Runnable queries) throws Exception {
+        return explain(queries, false);
+    }
+
+    /**
+     * Returns the plans of the statements executed by the queries, with their actual loops: each statement is executed
+     * again against the data the queries started from and rolled back.
+     */
+    private List<JsonNode> explainAnalyze(Runnable queries) throws Exception {
+        return explain(queries, true);
+    }
+
+    private List<JsonNode> explain(Runnable queries, boolean analyze) throws Exception {
+        List<QueryInfo> executedQueries;
+        QueryRecorder.start();
+        try {
+            queries.run();
+        } finally {
+            executedQueries = QueryRecorder.stop();
+        }
+        List<JsonNode> plans = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(!analyze);
+            for (QueryInfo query : executedQueries) {
+                for (List<ParameterSetOperation> parameters : query.getParametersList()) {
+                    String explain = analyze ? "EXPLAIN (ANALYZE, FORMAT JSON) " : "EXPLAIN (FORMAT JSON) ";
+                    try (PreparedStatement statement = connection.prepareStatement(explain + query.getQuery())) {
+                        for (ParameterSetOperation parameter : parameters) {
+                            parameter.getMethod().invoke(statement, parameter.getArgs());
+                        }
+                        try (ResultSet resultSet = statement.executeQuery()) {
+                            resultSet.next();
+                            plans.add(objectMapper.readTree(resultSet.getString(1)).get(0).get("Plan"));
+                        }
+                    } finally {
+                        if (analyze) {
+                            connection.rollback();
+                        }
+                    }
+                }
+            }
+            connection.setAutoCommit(true);
+        }
+        return plans;
+    }
+
+    /**
+     * Collects the scans of report_node that were executed, apart from the init plans selecting the creation date of
+     * the report, which are run before the partitions are pruned.
+     */
+    private static void collectExecutedScans(JsonNode plan, List<JsonNode> scans) {
+        if ("InitPlan".equals(plan.path("Parent Relationship").asText())) {
+            return;
+        }
+        if (plan.has("Relation Name") && plan.get("Node Type").asText().endsWith("Scan") && plan.path("Actual Loops").asInt() > 0) {
+            scans.add(plan);
+        }
+        if (plan.has("Plans")) {
+            plan.get("Plans").forEach(subPlan -> collectExecutedScans(subPlan, scans));
+        }
+    }
+
+    /**
+     * Returns the scans of the partition of the report in the plans.
+     */
+    private List<JsonNode> scansOf(List<JsonNode> plans) {
+        List<JsonNode> scans = new ArrayList<>();
+        plans.forEach(plan -> collectNodes(plan, node -> node.has("Relation Name") && node.get("Relation Name").asText().equals(partition), scans));
+        return scans;
+    }
+
+    /**
+     * Returns the indexes scanned by the plans, bitmap index scans have no relation name.
+     */
+    private static Set<String> indexNamesOf(List<JsonNode> plans) {
+        List<JsonNode> indexScans = new ArrayList<>();
+        plans.forEach(plan -> collectNodes(plan, node -> node.has("Index Name"), indexScans));
+        return indexScans.stream().map(node -> node.get("Index Name").asText()).collect(Collectors.toSet());
+    }
+
+    private static void collectNodes(JsonNode plan, Predicate<JsonNode> filter, List<JsonNode> nodes) {
+        if (filter.test(plan)) {
+            nodes.add(plan);
+        }
+        if (plan.has("Plans")) {
+            plan.get("Plans").forEach(subPlan -> collectNodes(subPlan, filter, nodes));
+        }
+    }
+}
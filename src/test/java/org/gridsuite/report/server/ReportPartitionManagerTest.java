@@ -0,0 +1,244 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server;
+
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.commons.report.TypedValue;
+import org.gridsuite.report.server.utils.PostgresTestContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Maintains the partitions of report_node on PostgreSQL: creation ahead of time, retention in both modes, nodes of the
+ * default partition and concurrent instances. Skipped when Docker is not available.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class ReportPartitionManagerTest {
+
+    private static final int MONTHS_AHEAD = 2;
+
+    private static final int RETENTION_MONTHS = 3;
+
+    private static final String FIND_PARTITIONS_SQL = """
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        JOIN pg_class p ON p.oid = i.inhparent
+        WHERE p.relname = 'report_node'
+        """;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        PostgresTestContainer.registerProperties(registry);
+    }
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private final YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+
+    // before the retention, and after the months created ahead
+    private final YearMonth expiredMonth = currentMonth.minusMonths(RETENTION_MONTHS + 2L);
+
+    private final YearMonth laterMonth = currentMonth.plusMonths(MONTHS_AHEAD + 1L);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        dropPartitions();
+    }
+
+    @AfterEach
+    void tearOff() {
+        reportService.deleteAll();
+        dropPartitions();
+    }
+
+    private void dropPartitions() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(expiredMonth));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(laterMonth));
+    }
+
+    private ReportPartitionManager newPartitionManager(int monthsAhead, String retentionMode) {
+        return new ReportPartitionManager(dataSource, reportCache, monthsAhead, RETENTION_MONTHS, retentionMode);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return String.format(Locale.ROOT, "report_node_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList(FIND_PARTITIONS_SQL, String.class);
+    }
+
+    private boolean tableExists(String table) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table);
+    }
+
+    /**
+     * Creates a report whose root was created in the given month, its nodes are moved to the partition of that month.
+     */
+    private UUID createReport(YearMonth month) {
+        UUID reportId = UUID.randomUUID();
+        ReportNode reportNode = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test")
+            .build();
+        reportNode.newReportNode()
+            .withMessageTemplate("genMod")
+            .add()
+            .newReportNode()
+            .withMessageTemplate("noidea")
+            .withSeverity(TypedValue.INFO_SEVERITY)
+            .add();
+        reportService.createReport(reportId, reportNode);
+        jdbcTemplate.update("UPDATE report_node SET created_on = ? WHERE root_node_id = ?", month.atDay(1), reportId);
+        return reportId;
+    }
+
+    private List<String> partitionsOf(UUID reportId) {
+        return jdbcTemplate.queryForList("SELECT DISTINCT tableoid::regclass::text FROM report_node WHERE root_node_id = ?", String.class, reportId);
+    }
+
+    private int countRows(String table, UUID reportId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table + " WHERE root_node_id = ?", Integer.class, reportId);
+    }
+
+    @Test
+    void testPartitionsAreCreatedAhead() {
+        String currentPartition = partitionName(currentMonth);
+        newPartitionManager(MONTHS_AHEAD + 1, "drop").maintainPartitions();
+
+        List<String> partitions = partitions();
+        for (int i = 0; i <= MONTHS_AHEAD + 1; i++) {
+            assertTrue(partitions.contains(partitionName(currentMonth.plusMonths(i))), partitions.toString());
+        }
+        UUID reportId = UUID.randomUUID();
+        reportService.createReport(reportId, ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test")
+            .build());
+        assertEquals(List.of(currentPartition), partitionsOf(reportId));
+    }
+
+    @Test
+    void testExpiredPartitionsAreDropped() {
+        newPartitionManager(MONTHS_AHEAD, "drop").maintainPartitions();
+        jdbcTemplate.execute("CREATE TABLE " + partitionName(expiredMonth) + " PARTITION OF report_node FOR VALUES FROM ('"
+            + expiredMonth.atDay(1) + "') TO ('" + expiredMonth.plusMonths(1).atDay(1) + "')");
+        UUID expiredReportId = createReport(expiredMonth);
+        UUID keptReportId = createReport(currentMonth);
+        assertEquals(List.of(partitionName(expiredMonth)), partitionsOf(expiredReportId));
+
+        newPartitionManager(MONTHS_AHEAD, "drop").maintainPartitions();
+
+        assertFalse(tableExists(partitionName(expiredMonth)));
+        assertTrue(partitionsOf(expiredReportId).isEmpty());
+        assertEquals(0, countRows("report_tree", expiredReportId));
+        assertEquals(0, countRows("report_version", expiredReportId));
+        assertEquals(3, countRows("report_node", keptReportId));
+        assertNull(reportService.getReportJson(expiredReportId));
+    }
+
+    @Test
+    void testExpiredPartitionsAreDetached() {
+        newPartitionManager(MONTHS_AHEAD, "detach").maintainPartitions();
+        jdbcTemplate.execute("CREATE TABLE " + partitionName(expiredMonth) + " PARTITION OF report_node FOR VALUES FROM ('"
+            + expiredMonth.atDay(1) + "') TO ('" + expiredMonth.plusMonths(1).atDay(1) + "')");
+        UUID expiredReportId = createReport(expiredMonth);
+
+        newPartitionManager(MONTHS_AHEAD, "detach").maintainPartitions();
+
+        // the nodes are kept in the detached table, to be archived
+        assertFalse(partitions().contains(partitionName(expiredMonth)));
+        assertTrue(partitionsOf(expiredReportId).isEmpty());
+        assertEquals(3, countRows(partitionName(expiredMonth), expiredReportId));
+        assertEquals(0, countRows("report_tree", expiredReportId));
+    }
+
+    @Test
+    void testCopiedNodesOutliveTheirSource() {
+        newPartitionManager(MONTHS_AHEAD, "drop").maintainPartitions();
+        jdbcTemplate.execute("CREATE TABLE " + partitionName(expiredMonth) + " PARTITION OF report_node FOR VALUES FROM ('"
+            + expiredMonth.atDay(1) + "') TO ('" + expiredMonth.plusMonths(1).atDay(1) + "')");
+        UUID sourceReportId = createReport(expiredMonth);
+        UUID duplicatedReportId = reportService.duplicateReport(sourceReportId);
+
+        // writing to the duplicate copies the nodes of its source, created today
+        reportService.createReport(duplicatedReportId, ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test")
+            .build());
+        assertEquals(List.of(partitionName(currentMonth)), partitionsOf(duplicatedReportId));
+
+        newPartitionManager(MONTHS_AHEAD, "drop").maintainPartitions();
+
+        assertTrue(partitionsOf(sourceReportId).isEmpty());
+        assertEquals(3, countRows("report_node", duplicatedReportId));
+        assertNotNull(reportService.getReportJson(duplicatedReportId));
+    }
+
+    @Test
+    void testNodesOfTheDefaultPartitionAreMoved() {
+        newPartitionManager(MONTHS_AHEAD, "drop").maintainPartitions();
+        // written before the partition of its month exists
+        UUID reportId = createReport(laterMonth);
+        assertEquals(List.of("report_node_default"), partitionsOf(reportId));
+
+        newPartitionManager(MONTHS_AHEAD + 1, "drop").maintainPartitions();
+
+        assertEquals(List.of(partitionName(laterMonth)), partitionsOf(reportId));
+        assertEquals(0, countRows("report_node_default", reportId));
+        assertEquals(3, countRows("report_node", reportId));
+    }
+
+    @Test
+    void testPartitionsAreMaintainedByASingleInstance() throws Exception {
+        newPartitionManager(MONTHS_AHEAD, "drop").maintainPartitions();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            // another instance maintaining the partitions
+            statement.execute("SELECT pg_advisory_lock(hashtext('report_node_partitions'))");
+            newPartitionManager(MONTHS_AHEAD + 1, "drop").maintainPartitions();
+            assertFalse(tableExists(partitionName(laterMonth)));
+            statement.execute("SELECT pg_advisory_unlock(hashtext('report_node_partitions'))");
+        }
+
+        newPartitionManager(MONTHS_AHEAD + 1, "drop").maintainPartitions();
+        assertTrue(tableExists(partitionName(laterMonth)));
+    }
+}
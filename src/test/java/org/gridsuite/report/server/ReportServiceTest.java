@@ -6,21 +6,47 @@
  */
 package org.gridsuite.report.server;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.powsybl.commons.report.ReportNode;
 import com.powsybl.commons.report.TypedValue;
 import com.vladmihalcea.sql.SQLStatementCountValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import org.gridsuite.report.server.dto.MatchPosition;
+import org.gridsuite.report.server.dto.Report;
+import org.gridsuite.report.server.dto.ReportLog;
 import org.gridsuite.report.server.entities.ReportNodeEntity;
 import org.gridsuite.report.server.repositories.ReportNodeRepository;
 import org.gridsuite.report.server.repositories.ReportNodeTestRepository;
+import org.gridsuite.report.server.repositories.ReportTombstoneRepository;
+import org.gridsuite.report.server.utils.UuidUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.gridsuite.report.server.SizedReportNode.MAX_MESSAGE_CHAR;
 import static org.gridsuite.report.server.utils.TestUtils.assertRequestsCount;
@@ -31,6 +57,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 @SpringBootTest
 class ReportServiceTest {
 
+    // far deeper than a thread stack allows to recurse into
+    private static final int DEEP_REPORT_DEPTH = 100_000;
+
     @Autowired
     private ReportService reportService;
 
@@ -40,6 +69,18 @@ class ReportServiceTest {
     @Autowired
     private ReportNodeRepository reportNodeRepository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ReportTombstoneRepository reportTombstoneRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @BeforeEach
     void setUp() {
         cleanDB();
@@ -55,11 +96,11 @@ class ReportServiceTest {
     }
 
     private List<ReportNodeEntity> getChildren(UUID parentId) {
-        return reportNodeTestRepository.findByParentIdOrderByOrderAsc(parentId);
+        return reportNodeTestRepository.findChildrenByParentId(parentId);
     }
 
     private ReportNodeEntity getReportEntity(UUID id) {
-        return reportNodeTestRepository.findById(id).orElseThrow();
+        return reportNodeTestRepository.findByUuid(id).orElseThrow();
     }
 
     @Test
@@ -73,12 +114,12 @@ class ReportServiceTest {
 
         SQLStatementCountValidator.reset();
         reportService.createReport(parentReportId, reportNode);
-        assertRequestsCount(1, 1, 0, 0);
+        assertRequestsCount(3, 2, 0, 0);
 
         assertEquals(1, reportNodeRepository.findAll().size());
-        var parentReportEntity = reportNodeTestRepository.findById(parentReportId);
+        var parentReportEntity = reportNodeTestRepository.findByUuid(parentReportId);
         assertTrue(parentReportEntity.isPresent());
-        assertReportsAreEqual(parentReportEntity.orElseThrow(), reportNode, Severity.UNKNOWN.toString());
+        assertReportsAreEqual(parentReportEntity.orElseThrow(), reportNode, Severity.UNKNOWN);
     }
 
     @Test
@@ -106,23 +147,23 @@ class ReportServiceTest {
 
         SQLStatementCountValidator.reset();
         reportService.createReport(parentReportId, reportNode);
-        assertRequestsCount(1, 1, 0, 0);
+        assertRequestsCount(3, 2, 0, 0);
 
         assertEquals(4, reportNodeRepository.findAll().size());
-        var parentReportEntity = reportNodeTestRepository.findById(parentReportId);
+        var parentReportEntity = reportNodeTestRepository.findByUuid(parentReportId);
         assertTrue(parentReportEntity.isPresent());
 
-        assertEquals(2, getChildren(parentReportEntity.get().getId()).size());
-        var childReportEntity = getReportEntity(getChildren(parentReportEntity.get().getId()).get(0).getId());
-        assertReportsAreEqual(childReportEntity, subReportNode1, Severity.INFO.toString());
-        assertReportsAreEqual(parentReportEntity.get(), reportNode, Severity.ERROR.toString());
+        assertEquals(2, getChildren(parentReportEntity.get().getUuid()).size());
+        var childReportEntity = getChildren(parentReportEntity.get().getUuid()).get(0);
+        assertReportsAreEqual(childReportEntity, subReportNode1, Severity.INFO);
+        assertReportsAreEqual(parentReportEntity.get(), reportNode, Severity.ERROR);
 
-        childReportEntity = getReportEntity(childReportEntity.getId());
-        assertEquals(1, getChildren(childReportEntity.getId()).size());
-        var subChildReportNode1 = getReportEntity(getChildren(childReportEntity.getId()).get(0).getId());
-        assertReportsAreEqual(subChildReportNode1, subSubReportNode1, Severity.INFO.toString());
-        var subChildReportNode2 = getReportEntity(getChildren(parentReportEntity.get().getId()).get(1).getId());
-        assertReportsAreEqual(subChildReportNode2, subReportNode2, Severity.ERROR.toString());
+        childReportEntity = getReportEntity(childReportEntity.getUuid());
+        assertEquals(1, getChildren(childReportEntity.getUuid()).size());
+        var subChildReportNode1 = getChildren(childReportEntity.getUuid()).get(0);
+        assertReportsAreEqual(subChildReportNode1, subSubReportNode1, Severity.INFO);
+        var subChildReportNode2 = getChildren(parentReportEntity.get().getUuid()).get(1);
+        assertReportsAreEqual(subChildReportNode2, subReportNode2, Severity.ERROR);
     }
 
     @Test
@@ -147,14 +188,15 @@ class ReportServiceTest {
 
         SQLStatementCountValidator.reset();
         reportService.createReport(parentReportId, anotherReport);
-        assertRequestsCount(2, 1, 1, 0);
+        // a leaf which does not change the severity of the root: the materialized tree is neither read nor written
+        assertRequestsCount(3, 1, 1, 0);
 
         assertEquals(2, reportNodeRepository.findAll().size());
-        var parentReportEntity = reportNodeTestRepository.findById(parentReportId);
+        var parentReportEntity = reportNodeTestRepository.findByUuid(parentReportId);
         assertTrue(parentReportEntity.isPresent());
-        assertEquals(1, getChildren(parentReportEntity.get().getId()).size());
-        var anotherChildReportEntity = getReportEntity(getChildren(parentReportEntity.get().getId()).get(0).getId());
-        assertReportsAreEqual(anotherChildReportEntity, anotherReport.getChildren().get(0), Severity.UNKNOWN.toString());
+        assertEquals(1, getChildren(parentReportEntity.get().getUuid()).size());
+        var anotherChildReportEntity = getChildren(parentReportEntity.get().getUuid()).get(0);
+        assertReportsAreEqual(anotherChildReportEntity, anotherReport.getChildren().get(0), Severity.UNKNOWN);
     }
 
     @Test
@@ -180,14 +222,14 @@ class ReportServiceTest {
             .add();
         SQLStatementCountValidator.reset();
         reportService.createReport(parentReportId, anotherReport);
-        assertRequestsCount(2, 1, 1, 0);
+        assertRequestsCount(3, 1, 1, 0);
 
         assertEquals(3, reportNodeRepository.findAll().size());
-        var parentReportEntity = reportNodeTestRepository.findById(parentReportId);
+        var parentReportEntity = reportNodeTestRepository.findByUuid(parentReportId);
         assertTrue(parentReportEntity.isPresent());
         // the two subreports "GENERATOR_MODIFICATION" and "TWO_WINDINGS_TRANSFORMER_MODIFICATION" are added to the same the parent report
-        assertEquals(2, getChildren(parentReportEntity.get().getId()).size());
-        assertEquals(0, getChildren(getChildren(parentReportEntity.get().getId()).get(0).getId()).size());
+        assertEquals(2, getChildren(parentReportEntity.get().getUuid()).size());
+        assertEquals(0, getChildren(getChildren(parentReportEntity.get().getUuid()).get(0).getUuid()).size());
     }
 
     @Test
@@ -211,13 +253,13 @@ class ReportServiceTest {
 
         assertEquals(3, reportNodeRepository.findAll().size());
         long parentLessNodes = reportNodeRepository.findAll().stream()
-            .filter(node -> node.getParentId() == null)
+            .filter(node -> node.getParentOrder() == null)
             .count();
         assertEquals(1, parentLessNodes);
 
         ReportNodeEntity rootReportEntity = getReportEntity(rootId);
-        assertEquals(1, getChildren(rootReportEntity.getId()).size());
-        assertEquals(generatedChildId, getChildren(rootReportEntity.getId()).getFirst().getId());
+        assertEquals(1, getChildren(rootReportEntity.getUuid()).size());
+        assertEquals(generatedChildId, getChildren(rootReportEntity.getUuid()).getFirst().getUuid());
     }
 
     @Test
@@ -232,7 +274,7 @@ class ReportServiceTest {
         UUID rootId = UUID.randomUUID();
         reportService.createReport(rootId, rootReportNode);
 
-        UUID nonRootId = getChildren(rootId).getFirst().getId();
+        UUID nonRootId = getChildren(rootId).getFirst().getUuid();
 
         var stepReportNode = ReportNode.newRootReportNode()
             .withResourceBundles("i18n.reports")
@@ -269,11 +311,11 @@ class ReportServiceTest {
         var parentReportId = UUID.randomUUID();
         reportService.createReport(parentReportId, reportNode);
         var rootReportNodeEntity = getReportEntity(parentReportId);
-        var reportNodeEntity = getReportEntity(getChildren(rootReportNodeEntity.getId()).get(2).getId());
-        assertEquals("WARN", rootReportNodeEntity.getSeverity());
+        var reportNodeEntity = getChildren(rootReportNodeEntity.getUuid()).get(2);
+        assertEquals(Severity.WARN, rootReportNodeEntity.getSeverity());
         assertEquals(0, rootReportNodeEntity.getDepth());
-        var subReportNodeEntity = getReportEntity(getChildren(reportNodeEntity.getId()).get(0).getId());
-        assertEquals("WARN", subReportNodeEntity.getSeverity());
+        var subReportNodeEntity = getChildren(reportNodeEntity.getUuid()).get(0);
+        assertEquals(Severity.WARN, subReportNodeEntity.getSeverity());
         assertEquals(2, subReportNodeEntity.getDepth());
 
         var anotherReport = ReportNode.newRootReportNode()
@@ -287,13 +329,13 @@ class ReportServiceTest {
             .add();
         SQLStatementCountValidator.reset();
         reportService.createReport(parentReportId, anotherReport);
-        assertRequestsCount(2, 1, 1, 0);
+        assertRequestsCount(4, 1, 2, 0);
 
         var rootReportNodeEntityBis = getReportEntity(parentReportId);
-        var reportNodeEntityBis = getReportEntity(getChildren(rootReportNodeEntityBis.getId()).get(3).getId());
-        assertEquals("ERROR", rootReportNodeEntityBis.getSeverity());
-        assertEquals(4, getChildren(rootReportNodeEntityBis.getId()).size());
-        assertEquals("ERROR", reportNodeEntityBis.getSeverity());
+        var reportNodeEntityBis = getChildren(rootReportNodeEntityBis.getUuid()).get(3);
+        assertEquals(Severity.ERROR, rootReportNodeEntityBis.getSeverity());
+        assertEquals(4, getChildren(rootReportNodeEntityBis.getUuid()).size());
+        assertEquals(Severity.ERROR, reportNodeEntityBis.getSeverity());
         assertEquals(1, reportNodeEntityBis.getDepth());
     }
 
@@ -318,7 +360,7 @@ class ReportServiceTest {
         var rootReportNodeEntity = getReportEntity(reportUuid);
         assertEquals(veryLongString.substring(0, MAX_MESSAGE_CHAR), rootReportNodeEntity.getMessage());
 
-        var reportNodeEntity = getReportEntity(getChildren(rootReportNodeEntity.getId()).get(0).getId());
+        var reportNodeEntity = getChildren(rootReportNodeEntity.getUuid()).get(0);
         assertEquals(veryLongString.substring(0, MAX_MESSAGE_CHAR), reportNodeEntity.getMessage());
     }
 
@@ -345,9 +387,427 @@ class ReportServiceTest {
         var parentReportId = UUID.randomUUID();
         reportService.createReport(parentReportId, reportNode);
         var rootReportNodeEntity = getReportEntity(parentReportId);
-        assertEquals("ERROR", rootReportNodeEntity.getSeverity());
-        var reportNodeEntity = getReportEntity(getChildren(rootReportNodeEntity.getId()).get(1).getId());
-        assertEquals("INFO", reportNodeEntity.getSeverity());
+        assertEquals(Severity.ERROR, rootReportNodeEntity.getSeverity());
+        var reportNodeEntity = getChildren(rootReportNodeEntity.getUuid()).get(1);
+        assertEquals(Severity.INFO, reportNodeEntity.getSeverity());
+    }
+
+    @Test
+    void materializedReportTreeFollowsAppends() throws Exception {
+        var reportNode = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test")
+            .withUntypedValue("message", "958de6eb-b5cb-4069-bd1f-fd75301b4a54")
+            .build();
+        reportNode.newReportNode()
+            .withMessageTemplate("genMod")
+            .add()
+            .newReportNode()
+            .withMessageTemplate("noidea")
+            .withSeverity(TypedValue.INFO_SEVERITY)
+            .add();
+        var parentReportId = UUID.randomUUID();
+        reportService.createReport(parentReportId, reportNode);
+        assertEquals(objectMapper.writeValueAsString(reportService.getReport(parentReportId)), reportService.getReportJson(parentReportId));
+
+        var anotherReport = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test")
+            .withUntypedValue("message", "958de6eb-b5cb-4069-bd1f-fd75301b4a54")
+            .build();
+        anotherReport.newReportNode()
+            .withMessageTemplate("twtMod")
+            .add()
+            .newReportNode()
+            .withMessageTemplate("hehehe")
+            .withSeverity(TypedValue.ERROR_SEVERITY)
+            .add();
+        reportService.createReport(parentReportId, anotherReport);
+        var childReportId = reportService.createChildReport(parentReportId, anotherReport);
+        // appended leaves leave the tree as is, unless they raise the severity of the container they are appended under
+        var leafReport = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test")
+            .build();
+        leafReport.newReportNode()
+            .withMessageTemplate("leaf")
+            .withSeverity(TypedValue.INFO_SEVERITY)
+            .add();
+        reportService.createReport(childReportId, leafReport);
+
+        SQLStatementCountValidator.reset();
+        String reportTree = reportService.getReportJson(parentReportId);
+        assertRequestsCount(1, 0, 0, 0);
+        assertEquals(objectMapper.writeValueAsString(reportService.getReport(parentReportId)), reportTree);
+        assertTrue(reportTree.contains(childReportId.toString()));
+    }
+
+    @Test
+    void concurrentWritesKeepTheirContainersInTheTree() throws Exception {
+        var reportNode = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test")
+            .build();
+        reportNode.newReportNode()
+            .withMessageTemplate("genMod")
+            .add()
+            .newReportNode()
+            .withMessageTemplate("noidea")
+            .withSeverity(TypedValue.INFO_SEVERITY)
+            .add();
+        var reportId = UUID.randomUUID();
+        reportService.createReport(reportId, reportNode);
+
+        // a write resumes the tree, then another one stores its containers before the first one stores the tree
+        ReportNodeEntity rootEntity = reportNodeRepository.findByUuid(reportId).orElseThrow();
+        MaterializedReportTree reportTree = MaterializedReportTree.resume(rootEntity);
+        UUID containerId = UUID.randomUUID();
+        reportTree.add(ReportNodeEntity.builder()
+            .uuid(containerId)
+            .message("container")
+            .order(rootEntity.getEndOrder() + 100)
+            .endOrder(rootEntity.getEndOrder() + 101)
+            .isLeaf(false)
+            .rootNodeId(reportId)
+            .createdOn(rootEntity.getCreatedOn())
+            .parentOrder(rootEntity.getOrder())
+            .severity(Severity.INFO)
+            .depth(rootEntity.getDepth() + 1)
+            .build());
+
+        var anotherReport = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test")
+            .build();
+        anotherReport.newReportNode()
+            .withMessageTemplate("twtMod")
+            .add()
+            .newReportNode()
+            .withMessageTemplate("hehehe")
+            .withSeverity(TypedValue.ERROR_SEVERITY)
+            .add();
+        reportService.createReport(reportId, anotherReport);
+        reportService.saveReportTree(rootEntity, reportTree, false);
+
+        Report storedTree = objectMapper.readValue(reportService.getReportJson(reportId), Report.class);
+        List<UUID> storedUuids = uuidsOf(storedTree);
+        assertTrue(storedUuids.contains(containerId));
+        assertTrue(storedUuids.containsAll(uuidsOf(reportService.getReport(reportId))));
+        // the severity raised by the other write is kept
+        assertEquals(Severity.ERROR, storedTree.getSeverity());
+    }
+
+    @Test
+    void writesToAContainerGoToItsRoot() {
+        var reportNode = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test")
+            .build();
+        reportNode.newReportNode()
+            .withMessageTemplate("genMod")
+            .add()
+            .newReportNode()
+            .withMessageTemplate("noidea")
+            .add();
+        var reportId = UUID.randomUUID();
+        reportService.createReport(reportId, reportNode);
+        UUID containerId = reportService.getReport(reportId).getSubReports().get(0).getId();
+        UUID duplicatedReportId = reportService.duplicateReport(reportId);
+        UUID aliasContainerId = reportService.getReport(duplicatedReportId).getSubReports().get(0).getId();
+        UUID newReportId = UUID.randomUUID();
+
+        assertEquals(reportId, reportService.getRootReportId(containerId));
+        assertEquals(duplicatedReportId, reportService.getRootReportId(aliasContainerId));
+        assertEquals(newReportId, reportService.getRootReportId(newReportId));
+    }
+
+    @Test
+    void severityCountsFollowAppends() {
+        var reportNode = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test")
+            .withUntypedValue("message", "958de6eb-b5cb-4069-bd1f-fd75301b4a54")
+            .build();
+        var subReportNode = reportNode.newReportNode()
+            .withMessageTemplate("genMod")
+            .add();
+        subReportNode.newReportNode()
+            .withMessageTemplate("noidea")
+            .withSeverity(TypedValue.INFO_SEVERITY)
+            .add();
+        subReportNode.newReportNode()
+            .withMessageTemplate("noidea")
+            .withSeverity(TypedValue.INFO_SEVERITY)
+            .add();
+        var parentReportId = UUID.randomUUID();
+        reportService.createReport(parentReportId, reportNode);
+        assertEquals(Map.of("INFO", 4L), reportService.getReportSeverityCounts(parentReportId));
+
+        var anotherReport = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test")
+            .withUntypedValue("message", "958de6eb-b5cb-4069-bd1f-fd75301b4a54")
+            .build();
+        anotherReport.newReportNode()
+            .withMessageTemplate("twtMod")
+            .withSeverity(TypedValue.ERROR_SEVERITY)
+            .add();
+        reportService.createReport(parentReportId, anotherReport);
+        // the root severity is raised from INFO to ERROR
+        assertEquals(Map.of("INFO", 3L, "ERROR", 2L), reportService.getReportSeverityCounts(parentReportId));
+        assertEquals(Set.of("INFO", "ERROR"), reportService.getReportAggregatedSeverities(parentReportId));
+
+        var childReportId = reportService.createChildReport(parentReportId, reportNode);
+        assertEquals(Map.of("INFO", 4L), reportService.getReportSeverityCounts(childReportId));
+        assertEquals(Map.of("INFO", 7L, "ERROR", 2L), reportService.getReportSeverityCounts(parentReportId));
+    }
+
+    @Test
+    void severityCountsIncludeContainers() {
+        var reportNode = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test")
+            .withUntypedValue("message", "958de6eb-b5cb-4069-bd1f-fd75301b4a54")
+            .build();
+        var subReportNode = reportNode.newReportNode()
+            .withMessageTemplate("genMod")
+            .add()
+            .newReportNode()
+            .withMessageTemplate("twtMod")
+            .add();
+        subReportNode.newReportNode()
+            .withMessageTemplate("hehehe")
+            .withSeverity(TypedValue.ERROR_SEVERITY)
+            .add();
+        subReportNode.newReportNode()
+            .withMessageTemplate("hehehe")
+            .withSeverity(new TypedValue("NOTICE", TypedValue.SEVERITY))
+            .add();
+        var reportId = UUID.randomUUID();
+        reportService.createReport(reportId, reportNode);
+
+        // the root and its two containers take the severity of the ERROR leaf, the unknown severity is stored as UNKNOWN
+        Map<String, Long> severityCounts = Map.of("ERROR", 4L, "UNKNOWN", 1L);
+        assertEquals(severityCounts, reportService.getReportSeverityCounts(reportId));
+
+        // the counts of nodes written before they were maintained are the same
+        var rootEntity = getReportEntity(reportId);
+        rootEntity.setSeverityCounts(null);
+        reportNodeRepository.save(rootEntity);
+        assertEquals(severityCounts, reportService.getReportSeverityCounts(reportId));
+    }
+
+    @Test
+    void duplicatedReportIsCopiedOnWrite() {
+        var reportNode = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test")
+            .withUntypedValue("message", "958de6eb-b5cb-4069-bd1f-fd75301b4a54")
+            .build();
+        reportNode.newReportNode()
+            .withMessageTemplate("genMod")
+            .add()
+            .newReportNode()
+            .withMessageTemplate("noidea")
+            .withSeverity(TypedValue.INFO_SEVERITY)
+            .add();
+        var sourceReportId = UUID.randomUUID();
+        reportService.createReport(sourceReportId, reportNode);
+
+        // the duplicates share the nodes of their source
+        var duplicatedReportId = reportService.duplicateReport(sourceReportId);
+        var otherDuplicatedReportId = reportService.duplicateReport(duplicatedReportId);
+        assertEquals(3, reportNodeRepository.findAll().size());
+        assertEquals(3, countLogs(duplicatedReportId));
+        assertEquals(reportService.getReportSeverityCounts(sourceReportId), reportService.getReportSeverityCounts(otherDuplicatedReportId));
+        assertEquals(duplicatedReportId, reportService.getReport(duplicatedReportId).getId());
+
+        // writing to a duplicate copies the nodes of its source first
+        var anotherReport = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test")
+            .build();
+        anotherReport.newReportNode()
+            .withMessageTemplate("twtMod")
+            .add();
+        reportService.createReport(duplicatedReportId, anotherReport);
+        assertEquals(7, reportNodeRepository.findAll().size());
+        assertEquals(4, countLogs(duplicatedReportId));
+        assertEquals(3, countLogs(sourceReportId));
+        assertEquals(3, countLogs(otherDuplicatedReportId));
+
+        // the nodes of a deleted source are kept as long as a duplicate reads them
+        reportService.deleteReport(sourceReportId);
+        assertEquals(7, reportNodeRepository.findAll().size());
+        assertEquals(0, countLogs(sourceReportId));
+        assertEquals(3, countLogs(otherDuplicatedReportId));
+        assertEquals(otherDuplicatedReportId, reportService.getReport(otherDuplicatedReportId).getId());
+
+        reportService.deleteReport(otherDuplicatedReportId);
+        assertEquals(4, reportNodeRepository.findAll().size());
+        reportService.deleteReport(duplicatedReportId);
+        assertEquals(0, reportNodeRepository.findAll().size());
+    }
+
+    @Test
+    void duplicatedReportKeepsItsUuids() {
+        var reportNode = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test")
+            .build();
+        reportNode.newReportNode()
+            .withMessageTemplate("genMod")
+            .add()
+            .newReportNode()
+            .withMessageTemplate("noidea")
+            .withSeverity(TypedValue.INFO_SEVERITY)
+            .add();
+        var sourceReportId = UUID.randomUUID();
+        reportService.createReport(sourceReportId, reportNode);
+        var duplicatedReportId = reportService.duplicateReport(sourceReportId);
+        var otherDuplicatedReportId = reportService.duplicateReport(duplicatedReportId);
+
+        // the containers of a duplicate have their own uuids, which are read through the duplicate
+        List<UUID> uuids = uuidsOf(reportService.getReport(duplicatedReportId));
+        List<UUID> otherUuids = uuidsOf(reportService.getReport(otherDuplicatedReportId));
+        UUID containerId = uuids.get(1);
+        assertEquals(duplicatedReportId, uuids.get(0));
+        assertEquals(otherDuplicatedReportId, otherUuids.get(0));
+        assertTrue(Collections.disjoint(uuids, uuidsOf(reportService.getReport(sourceReportId))));
+        assertTrue(Collections.disjoint(uuids, otherUuids));
+        assertEquals(containerId, reportService.getReportSubtree(containerId, 1).orElseThrow().getId());
+        assertEquals(2, countLogs(containerId));
+        assertEquals(Set.of(duplicatedReportId, containerId),
+            parentIdsOf(reportService.getReportLogs(duplicatedReportId, null, null, null, false, Pageable.unpaged())));
+        assertEquals(Set.of(otherDuplicatedReportId, otherUuids.get(1)),
+            parentIdsOf(reportService.getMultipleReportsLogsPage(List.of(otherDuplicatedReportId), null, null, false, Pageable.unpaged())));
+
+        // they do not change when the source is written to, deleted, or when the duplicates are written to
+        reportService.createReport(sourceReportId, reportNode);
+        assertEquals(uuids, uuidsOf(reportService.getReport(duplicatedReportId)));
+        assertEquals(otherUuids, uuidsOf(reportService.getReport(otherDuplicatedReportId)));
+        reportService.deleteReport(sourceReportId);
+        assertEquals(otherUuids, uuidsOf(reportService.getReport(otherDuplicatedReportId)));
+        reportService.createReport(otherDuplicatedReportId, reportNode);
+        assertEquals(otherUuids, uuidsOf(reportService.getReport(otherDuplicatedReportId)).subList(0, otherUuids.size()));
+        assertEquals(uuids, uuidsOf(reportService.getReport(duplicatedReportId)));
+        assertEquals(containerId, reportService.getReportSubtree(containerId, 1).orElseThrow().getId());
+        assertEquals(2, countLogs(containerId));
+    }
+
+    private static Set<UUID> parentIdsOf(Page<ReportLog> logs) {
+        return logs.stream().map(ReportLog::getParentId).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private static List<UUID> uuidsOf(Report report) {
+        List<UUID> uuids = new ArrayList<>();
+        List<Report> reports = new ArrayList<>(List.of(report));
+        while (!reports.isEmpty()) {
+            Report current = reports.remove(0);
+            uuids.add(current.getId());
+            reports.addAll(current.getSubReports());
+        }
+        return uuids;
+    }
+
+    @Test
+    void deleteReportsWithSingleStatements() {
+        var reportIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        reportIds.forEach(reportId -> reportService.createReport(reportId, newReportWithChildren(10)));
+        assertEquals(33, reportNodeRepository.findAll().size());
+
+        SQLStatementCountValidator.reset();
+        reportService.deleteReports(reportIds);
+        // 2 SELECT (aliases, aliased roots) + 3 DELETE (versions, trees, nodes) whatever the number of reports
+        assertRequestsCount(2, 0, 0, 3);
+        assertEquals(0, reportNodeRepository.findAll().size());
+    }
+
+    @Test
+    void deleteReportsInBackground() {
+        var reportId = UUID.randomUUID();
+        var otherReportId = UUID.randomUUID();
+        reportService.createReport(reportId, newReportWithChildren(10));
+        reportService.createReport(otherReportId, newReportWithChildren(10));
+
+        reportService.deleteReportsInBackground(List.of(reportId));
+        // hidden at once, but deleted later
+        assertEquals(22, reportNodeRepository.findAll().size());
+        assertEquals(0, countLogs(reportId));
+        assertEquals(Collections.emptyMap(), reportService.getReportSeverityCounts(reportId));
+        assertEquals(11, countLogs(otherReportId));
+
+        assertEquals(4, reportService.purgeDeletedReports(4, 2));
+        assertEquals(18, reportNodeRepository.findAll().size());
+        assertEquals(7, reportService.purgeDeletedReports(100, 2));
+        assertEquals(11, reportNodeRepository.findAll().size());
+        assertEquals(0, reportService.purgeDeletedReports(100, 2));
+
+        // a report deleted in background can be created again before it is purged
+        reportService.deleteReportsInBackground(List.of(otherReportId));
+        reportService.createReport(otherReportId, newReportWithChildren(1));
+        assertEquals(2, countLogs(otherReportId));
+        assertEquals(0, reportService.purgeDeletedReports(100, 2));
+    }
+
+    @Test
+    void purgeSkipsTheReportsPurgedByOtherInstances() throws Exception {
+        var reportIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        reportIds.forEach(reportId -> reportService.createReport(reportId, newReportWithChildren(10)));
+        reportService.deleteReportsInBackground(reportIds);
+
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        ExecutorService otherInstance = Executors.newSingleThreadExecutor();
+        try {
+            // another instance purging the first report keeps its tombstone locked
+            Future<?> otherPurge = otherInstance.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                assertTrue(reportTombstoneRepository.claimTombstone().isPresent());
+                claimed.countDown();
+                try {
+                    released.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(claimed.await(10, TimeUnit.SECONDS));
+            assertEquals(11, reportService.purgeDeletedReports(100, 2));
+            assertEquals(11, reportNodeRepository.findAll().size());
+            released.countDown();
+            otherPurge.get(10, TimeUnit.SECONDS);
+        } finally {
+            released.countDown();
+            otherInstance.shutdownNow();
+        }
+        assertEquals(11, reportService.purgeDeletedReports(100, 2));
+        assertEquals(0, reportNodeRepository.findAll().size());
+    }
+
+    @Test
+    void unknownSeverityNamesMatchNoLog() {
+        var reportId = UUID.randomUUID();
+        reportService.createReport(reportId, newReportWithChildren(3));
+
+        assertEquals(0, reportService.getMultipleReportsLogsPage(List.of(reportId), Set.of("FOO"), null, false, Pageable.unpaged()).getTotalElements());
+        assertEquals(3, reportService.getMultipleReportsLogsPage(List.of(reportId), Set.of("FOO", "INFO"), null, false, Pageable.unpaged()).getTotalElements());
+    }
+
+    private static ReportNode newReportWithChildren(int childrenCount) {
+        var reportNode = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test")
+            .build();
+        for (int i = 0; i < childrenCount; i++) {
+            reportNode.newReportNode()
+                .withMessageTemplate("noidea")
+                .withSeverity(TypedValue.INFO_SEVERITY)
+                .add();
+        }
+        return reportNode;
+    }
+
+    private long countLogs(UUID reportId) {
+        return reportService.getReportLogs(reportId, null, null, null, false, Pageable.unpaged()).getTotalElements();
     }
 
     @Test
@@ -366,10 +826,205 @@ class ReportServiceTest {
         var reportUuid = UUID.randomUUID();
         SQLStatementCountValidator.reset();
         reportService.createReport(reportUuid, rootReportNode);
-        assertRequestsCount(1, 5, 0, 0);
+        assertRequestsCount(3, 6, 0, 0);
+    }
+
+    @Test
+    void testSaveDeepReport() {
+        var reportUuid = UUID.randomUUID();
+        reportService.createReport(reportUuid, ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test2")
+            .build());
+        ReportNodeEntity rootEntity = reportNodeRepository.findByUuid(reportUuid).orElseThrow();
+        // a chain of containers down to a leaf, built from the leaf
+        SizedReportNode chain = null;
+        for (int order = DEEP_REPORT_DEPTH; order > 0; order--) {
+            List<SizedReportNode> children = chain == null ? new ArrayList<>() : new ArrayList<>(List.of(chain));
+            chain = new SizedReportNode("node " + order, order, DEEP_REPORT_DEPTH - order + 1, chain == null, children, "INFO", order);
+        }
+
+        List<ReportNodeEntity> entitiesToSave = new ArrayList<>();
+        MaterializedReportTree reportTree = MaterializedReportTree.create(rootEntity);
+        reportService.saveReportNodes(UuidUtil.newV7Generator(), reportUuid, rootEntity.getCreatedOn(), rootEntity.getOrder(), chain, entitiesToSave, reportTree);
+        reportService.saveBatchedReports(entitiesToSave);
+
+        assertEquals(DEEP_REPORT_DEPTH + 1L, reportNodeRepository.count());
+        // too deep to be stored as JSON, GET falls back on the containers
+        assertTrue(reportTree.isDropped());
+        // a single statement, instead of the node by node deletion of the tear-off
+        reportService.deleteReport(reportUuid);
+        assertEquals(0, reportNodeRepository.count());
+    }
+
+    @Test
+    void failedStreamLeavesTheReportUnchanged() throws Exception {
+        var reportUuid = UUID.randomUUID();
+        reportService.createReport(reportUuid, ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test2")
+            .build());
+        Long version = reportService.getReportVersion(reportUuid).orElseThrow();
+
+        var rootReportNode = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test2")
+            .build();
+        for (int i = 0; i < 1024; i++) {
+            rootReportNode.newReportNode()
+                .withMessageTemplate("test2")
+                .withSeverity(TypedValue.INFO_SEVERITY)
+                .add();
+        }
+        String json = objectMapper.writeValueAsString(rootReportNode);
+        // the full batches are written before the end of the document is found missing
+        byte[] truncatedJson = json.substring(0, json.length() - 2).getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(IOException.class, () -> reportService.createReport(reportUuid, new ByteArrayInputStream(truncatedJson)));
+
+        assertEquals(1, reportNodeRepository.findAll().size());
+        assertEquals(0, getReportEntity(reportUuid).getEndOrder());
+        assertEquals(version, reportService.getReportVersion(reportUuid).orElseThrow());
+    }
+
+    @Test
+    void streamedReportIsWrittenLikeADeserializedOne() throws Exception {
+        var reportNode = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("templateTest")
+            .withUntypedValue("test", "root")
+            .withUntypedValue("idea", "the root")
+            .build();
+        var container = reportNode.newReportNode()
+            .withMessageTemplate("hellohello")
+            .withUntypedValue("mood", "nested")
+            .withUntypedValue("smth", "values")
+            .add();
+        // formatted with the values of its ancestors
+        container.newReportNode()
+            .withMessageTemplate("test")
+            .withUntypedValue("message", "leaf")
+            .withSeverity(TypedValue.WARN_SEVERITY)
+            .add();
+        container.newReportNode()
+            .withMessageTemplate("genMod")
+            .add()
+            .newReportNode()
+            .withMessageTemplate("noidea")
+            .withSeverity(TypedValue.ERROR_SEVERITY)
+            .add();
+        reportNode.newReportNode()
+            .withMessageTemplate("templateTest2")
+            .withSeverity(TypedValue.INFO_SEVERITY)
+            .add();
+        // a container without children
+        reportNode.newReportNode()
+            .withMessageTemplate("twtMod")
+            .add();
+        var deserializedReportId = UUID.randomUUID();
+        var streamedReportId = UUID.randomUUID();
+
+        reportService.createReport(deserializedReportId, reportNode);
+        reportService.createReport(streamedReportId, new ByteArrayInputStream(objectMapper.writeValueAsBytes(reportNode)));
+
+        List<ReportNodeEntity> deserializedNodes = findNodes(deserializedReportId);
+        List<ReportNodeEntity> streamedNodes = findNodes(streamedReportId);
+        assertEquals(7, streamedNodes.size());
+        for (int i = 0; i < deserializedNodes.size(); i++) {
+            ReportNodeEntity deserializedNode = deserializedNodes.get(i);
+            ReportNodeEntity streamedNode = streamedNodes.get(i);
+            assertEquals(deserializedNode.getMessage(), streamedNode.getMessage());
+            assertEquals(deserializedNode.getOrder(), streamedNode.getOrder());
+            assertEquals(deserializedNode.getEndOrder(), streamedNode.getEndOrder());
+            assertEquals(deserializedNode.getParentOrder(), streamedNode.getParentOrder());
+            assertEquals(deserializedNode.getDepth(), streamedNode.getDepth());
+            assertEquals(deserializedNode.isLeaf(), streamedNode.isLeaf());
+            assertEquals(deserializedNode.getSeverity(), streamedNode.getSeverity());
+            assertEquals(deserializedNode.getSeverityCounts(), streamedNode.getSeverityCounts());
+            assertEquals(deserializedNode.getUuid() == null, streamedNode.getUuid() == null);
+        }
+        // the materialized trees only differ by their uuids
+        assertEquals(withoutUuids(reportService.getReportJson(deserializedReportId)), withoutUuids(reportService.getReportJson(streamedReportId)));
+    }
+
+    private static String withoutUuids(String json) {
+        return json.replaceAll("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}", "");
+    }
+
+    @Test
+    void streamWithValuesAfterChildrenIsRejected() {
+        var reportUuid = UUID.randomUUID();
+        // the children would have been formatted without the values of the root
+        String json = """
+            {
+              "version": "2.1",
+              "dictionaries": {"default": {"test": "${message}"}},
+              "reportRoot": {
+                "messageKey": "test",
+                "children": [{"messageKey": "test"}],
+                "values": {"message": {"value": "root", "type": "UNTYPED"}}
+              }
+            }
+            """;
+
+        assertThrows(IOException.class, () -> reportService.createReport(reportUuid, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))));
+        assertTrue(reportNodeRepository.findAll().isEmpty());
+    }
+
+    private List<ReportNodeEntity> findNodes(UUID reportId) {
+        return reportNodeRepository.findAll().stream()
+            .filter(node -> node.getRootNodeId().equals(reportId))
+            .sorted(Comparator.comparingInt(ReportNodeEntity::getOrder))
+            .toList();
+    }
+
+    @Test
+    void testIngestionAndSearchMetrics() {
+        var rootReportNode = ReportNode.newRootReportNode()
+            .withResourceBundles("i18n.reports")
+            .withMessageTemplate("test2")
+            .build();
+        for (int i = 0; i < 2048; i++) {
+            rootReportNode.newReportNode()
+                .withMessageTemplate("test2")
+                .add();
+        }
+        // meters are shared by the tests of the context, only their increments are checked
+        long createdReports = summaryCount(meterRegistry.find(ReportMetrics.INGESTED_NODES).tag("operation", "create"));
+        double createdNodes = summaryTotal(meterRegistry.find(ReportMetrics.INGESTED_NODES).tag("operation", "create"));
+        long flushes = timerCount(meterRegistry.find(ReportMetrics.FLUSH).tag("writer", "jpa"));
+        long sizings = timerCount(meterRegistry.find(ReportMetrics.SIZING));
+        long searches = summaryCount(meterRegistry.find(ReportMetrics.SEARCH_POSITIONS).tag("scope", "single"));
+        double searchPositions = summaryTotal(meterRegistry.find(ReportMetrics.SEARCH_POSITIONS).tag("scope", "single"));
+        long findByUuidCalls = summaryCount(meterRegistry.find(ReportMetrics.REPOSITORY_ROWS).tag("method", "findByUuid"));
+
+        var reportUuid = UUID.randomUUID();
+        reportService.createReport(reportUuid, rootReportNode);
+        List<MatchPosition> positions = reportService.searchTermMatchesInFilteredLogs(reportUuid, null, null, null, "test2", 100);
+
+        assertEquals(createdReports + 1, summaryCount(meterRegistry.find(ReportMetrics.INGESTED_NODES).tag("operation", "create")));
+        assertEquals(createdNodes + 2049, summaryTotal(meterRegistry.find(ReportMetrics.INGESTED_NODES).tag("operation", "create")));
+        // four full batches of 512 nodes, then the last node
+        assertEquals(flushes + 5, timerCount(meterRegistry.find(ReportMetrics.FLUSH).tag("writer", "jpa")));
+        assertEquals(sizings + 1, timerCount(meterRegistry.find(ReportMetrics.SIZING)));
+        assertEquals(searches + 1, summaryCount(meterRegistry.find(ReportMetrics.SEARCH_POSITIONS).tag("scope", "single")));
+        assertEquals(searchPositions + positions.size(), summaryTotal(meterRegistry.find(ReportMetrics.SEARCH_POSITIONS).tag("scope", "single")));
+        assertTrue(summaryCount(meterRegistry.find(ReportMetrics.REPOSITORY_ROWS).tag("method", "findByUuid")) > findByUuidCalls);
+    }
+
+    private static long summaryCount(Search search) {
+        return search.summary() != null ? search.summary().count() : 0;
+    }
+
+    private static double summaryTotal(Search search) {
+        return search.summary() != null ? search.summary().totalAmount() : 0;
+    }
+
+    private static long timerCount(Search search) {
+        return search.timer() != null ? search.timer().count() : 0;
     }
 
-    private static void assertReportsAreEqual(ReportNodeEntity entity, ReportNode reportNode, String severity) {
+    private static void assertReportsAreEqual(ReportNodeEntity entity, ReportNode reportNode, Severity severity) {
         assertEquals(reportNode.getMessage(), entity.getMessage());
         assertEquals(severity, entity.getSeverity());
     }
@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.repositories;
+
+import org.gridsuite.report.server.ReportService;
+import org.gridsuite.report.server.Severity;
+import org.gridsuite.report.server.entities.ReportNodeEntity;
+import org.gridsuite.report.server.utils.PostgresTestContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes report nodes with the binary COPY encoder of {@link ReportNodeCopyRepository} on PostgreSQL and reads them back
+ * with JPA, for every shape of column: null uuids, severities, parent orders and severity counts, empty and long
+ * multibyte messages. The comparison with the JPA inserts is only run with the load test.
+ * Skipped when Docker is not available.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class ReportNodeCopyRepositoryTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportNodeCopyRepositoryTest.class);
+
+    private static final int BATCH_SIZE = 512;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        PostgresTestContainer.registerProperties(registry);
+    }
+
+    @Autowired
+    private ReportNodeCopyRepository reportNodeCopyRepository;
+
+    @Autowired
+    private ReportNodeRepository reportNodeRepository;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearOff() {
+        reportService.deleteAll();
+    }
+
+    private static ReportNodeEntity.ReportNodeEntityBuilder node(UUID rootNodeId, int order, int depth, String message) {
+        return ReportNodeEntity.builder()
+            .rootNodeId(rootNodeId)
+            .order(order)
+            .endOrder(order)
+            .isLeaf(true)
+            .message(message)
+            .depth(depth)
+            .parentOrder(order == 0 ? null : 0)
+            .createdOn(LocalDate.now(ZoneOffset.UTC));
+    }
+
+    @Test
+    void testCopiedNodesAreReadBack() {
+        assertTrue(reportNodeCopyRepository.isEnabled());
+        UUID rootNodeId = UUID.randomUUID();
+        // longer than a page, and made of characters of 2 to 4 bytes in UTF-8
+        String longMessage = "é日😀".repeat(50_000);
+        List<ReportNodeEntity> nodes = List.of(
+            node(rootNodeId, 0, 0, "root").uuid(rootNodeId).endOrder(4).isLeaf(false).severity(Severity.ERROR)
+                .severityCounts(Map.of("ERROR", 2L, "INFO", 1L, "UNKNOWN", 2L)).build(),
+            node(rootNodeId, 1, 1, "container").uuid(UUID.randomUUID()).endOrder(3).isLeaf(false).severity(Severity.ERROR)
+                .severityCounts(Map.of("ERROR", 2L, "INFO", 1L)).build(),
+            node(rootNodeId, 2, 2, longMessage).parentOrder(1).severity(Severity.ERROR).build(),
+            node(rootNodeId, 3, 2, "").parentOrder(1).severity(Severity.INFO).build(),
+            // no uuid, severity nor counts
+            node(rootNodeId, 4, 1, null).build()
+        );
+
+        List<ReportNodeEntity> batch = new ArrayList<>(nodes);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> reportNodeCopyRepository.copy(batch));
+
+        nodes.forEach(node -> assertFalse(node.isNew()));
+        List<ReportNodeEntity> readNodes = reportNodeRepository.findAll().stream()
+            .sorted(Comparator.comparingInt(ReportNodeEntity::getOrder))
+            .toList();
+        assertEquals(nodes.size(), readNodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            assertNodesAreEqual(nodes.get(i), readNodes.get(i));
+        }
+    }
+
+    private static void assertNodesAreEqual(ReportNodeEntity expected, ReportNodeEntity actual) {
+        assertEquals(expected.getRootNodeId(), actual.getRootNodeId());
+        assertEquals(expected.getOrder(), actual.getOrder());
+        assertEquals(expected.getUuid(), actual.getUuid());
+        assertEquals(expected.getEndOrder(), actual.getEndOrder());
+        assertEquals(expected.isLeaf(), actual.isLeaf());
+        assertEquals(expected.getMessage(), actual.getMessage());
+        assertEquals(expected.getSeverity(), actual.getSeverity());
+        assertEquals(expected.getDepth(), actual.getDepth());
+        assertEquals(expected.getParentOrder(), actual.getParentOrder());
+        assertEquals(expected.getSeverityCounts(), actual.getSeverityCounts());
+        assertEquals(expected.getCreatedOn(), actual.getCreatedOn());
+    }
+
+    /**
+     * Inserts the same leaves by batches with COPY and with {@code saveAllAndFlush}, and logs the nodes written per second
+     * of each, which is the ratio the COPY writer is expected to improve by about 5 times.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "report-server.load-test.enabled", matches = "true")
+    void testCopyIsFasterThanJpaInserts() {
+        int nodeCount = Integer.getInteger("report-server.load-test.copy-node-count", 100_000);
+        // warm up both writers before measuring
+        insertLeaves(BATCH_SIZE, reportNodeCopyRepository::copy);
+        insertLeaves(BATCH_SIZE, reportNodeRepository::saveAllAndFlush);
+
+        long copyNanos = insertLeaves(nodeCount, reportNodeCopyRepository::copy);
+        long jpaNanos = insertLeaves(nodeCount, reportNodeRepository::saveAllAndFlush);
+
+        LOGGER.info("{} nodes: COPY {} nodes/s, JPA {} nodes/s, COPY is {} times faster", nodeCount,
+            String.format("%.0f", nodeCount * 1e9 / copyNanos), String.format("%.0f", nodeCount * 1e9 / jpaNanos),
+            String.format("%.1f", (double) jpaNanos / copyNanos));
+        assertTrue(copyNanos < jpaNanos);
+    }
+
+    private long insertLeaves(int nodeCount, Consumer<List<ReportNodeEntity>> writer) {
+        UUID rootNodeId = UUID.randomUUID();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long start = System.nanoTime();
+        for (int order = 0; order < nodeCount; order += BATCH_SIZE) {
+            List<ReportNodeEntity> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = order; i < Math.min(nodeCount, order + BATCH_SIZE); i++) {
+                batch.add(node(rootNodeId, i, 1, "Line LINE_" + i + " is overloaded").severity(Severity.INFO).build());
+            }
+            transactionTemplate.executeWithoutResult(status -> writer.accept(batch));
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -7,14 +7,25 @@
 package org.gridsuite.report.server.repositories;
 
 import org.gridsuite.report.server.entities.ReportNodeEntity;
+import org.gridsuite.report.server.entities.ReportNodeId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface ReportNodeTestRepository extends JpaRepository<ReportNodeEntity, UUID> {
+public interface ReportNodeTestRepository extends JpaRepository<ReportNodeEntity, ReportNodeId> {
 
-    List<ReportNodeEntity> findByParentIdOrderByOrderAsc(UUID parentId);
+    Optional<ReportNodeEntity> findByUuid(UUID uuid);
+
+    @Query("""
+        SELECT rn
+        FROM ReportNodeEntity rn, ReportNodeEntity parent
+        WHERE parent.uuid = :parentId AND rn.rootNodeId = parent.rootNodeId AND rn.parentOrder = parent.order
+        ORDER BY rn.order ASC
+        """)
+    List<ReportNodeEntity> findChildrenByParentId(UUID parentId);
 }
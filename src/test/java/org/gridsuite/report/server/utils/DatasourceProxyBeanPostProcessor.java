@@ -61,6 +61,7 @@ public class DatasourceProxyBeanPostProcessor implements BeanPostProcessor {
         ProxyDataSourceInterceptor(final DataSource dataSource) {
             ChainListener listener = new ChainListener();
             listener.addListener(new DataSourceQueryCountListener());
+            listener.addListener(new QueryRecorder());
             this.dataSource = ProxyDataSourceBuilder.create(dataSource)
                     .multiline()
                     .listener(listener)
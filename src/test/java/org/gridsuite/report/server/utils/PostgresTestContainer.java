@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.utils;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+
+/**
+ * PostgreSQL database shared by the tests of the features only available on PostgreSQL (partitions, COPY, trigram
+ * indexes, notifications). Started by the first test class that needs it and stopped with the JVM, the classes using
+ * it are annotated with {@code @Testcontainers(disabledWithoutDocker = true)} so that they are skipped without Docker.
+ */
+public final class PostgresTestContainer {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private PostgresTestContainer() {
+    }
+
+    /**
+     * Points the datasource of the test context to the container, to be called from a {@code @DynamicPropertySource}.
+     */
+    public static void registerProperties(DynamicPropertyRegistry registry) {
+        // does nothing once started
+        POSTGRES.start();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.jpa.database", () -> "POSTGRESQL");
+        registry.add("spring.jpa.properties.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    /**
+     * Creates an empty database in the container, for the tests that run the migrations themselves, replacing any
+     * database of the same name left by a former test.
+     */
+    public static DataSource createDatabase(String databaseName) {
+        POSTGRES.start();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()));
+        // not allowed in a transaction, each is sent on its own
+        jdbcTemplate.execute("DROP DATABASE IF EXISTS " + databaseName);
+        jdbcTemplate.execute("CREATE DATABASE " + databaseName);
+        String url = "jdbc:postgresql://" + POSTGRES.getHost() + ":" + POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + databaseName;
+        return new DriverManagerDataSource(url, POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+}
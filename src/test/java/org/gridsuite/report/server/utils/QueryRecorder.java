@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.utils;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the statements executed by the current thread between {@link #start()} and {@link #stop()}, with their
+ * parameters, so that tests can execute them again, to explain them for instance.
+ */
+public final class QueryRecorder implements QueryExecutionListener {
+
+    private static final ThreadLocal<List<QueryInfo>> RECORDED_QUERIES = new ThreadLocal<>();
+
+    public static void start() {
+        RECORDED_QUERIES.set(new ArrayList<>());
+    }
+
+    public static List<QueryInfo> stop() {
+        List<QueryInfo> queries = RECORDED_QUERIES.get();
+        RECORDED_QUERIES.remove();
+        return queries != null ? queries : List.of();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // recorded once executed
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<QueryInfo> queries = RECORDED_QUERIES.get();
+        if (queries != null && execInfo.isSuccess()) {
+            queries.addAll(queryInfoList);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.report.server.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+
+/**
+ * Writes synthetic reports in the JSON format of the powsybl ReportNodeJsonModule, without building them in memory.
+ * Reports have the shape of those of the computations: steps holding containers of 1 to 40 leaves (one per equipment or
+ * contingency), with mostly INFO and TRACE leaves. Reports of a given size are the same from one run to the other.
+ */
+public final class ReportJsonGenerator {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final String ROOT_KEY = "loadtest.root";
+    private static final String STEP_KEY = "loadtest.step";
+    private static final String CONTAINER_KEY = "loadtest.container";
+    private static final String LEAF_KEY = "loadtest.leaf";
+
+    private static final int MAX_CONTAINERS_PER_STEP = 100;
+    private static final int MAX_LEAVES_PER_CONTAINER = 40;
+
+    private ReportJsonGenerator() {
+    }
+
+    public static byte[] generate(int nodeCount) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("version", "2.1");
+            json.writeObjectFieldStart("dictionaries");
+            json.writeObjectFieldStart("default");
+            json.writeStringField(ROOT_KEY, "Load test report of ${nodeCount} nodes");
+            json.writeStringField(STEP_KEY, "Step ${index}");
+            json.writeStringField(CONTAINER_KEY, "Contingency ${index}");
+            json.writeStringField(LEAF_KEY, "Leaf ${index} of line ${lineId}");
+            json.writeEndObject();
+            json.writeEndObject();
+            json.writeFieldName("reportRoot");
+            writeNodes(json, nodeCount);
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeNodes(JsonGenerator json, int nodeCount) throws IOException {
+        Random random = new Random(nodeCount);
+        writeNodeStart(json, ROOT_KEY, "nodeCount", nodeCount, null);
+        int index = 1;
+        if (index < nodeCount) {
+            json.writeArrayFieldStart("children");
+            while (index < nodeCount) {
+                writeNodeStart(json, STEP_KEY, "index", index++, null);
+                int containerCount = 1 + random.nextInt(MAX_CONTAINERS_PER_STEP);
+                if (index < nodeCount) {
+                    json.writeArrayFieldStart("children");
+                    for (int i = 0; i < containerCount && index < nodeCount; i++) {
+                        writeNodeStart(json, CONTAINER_KEY, "index", index++, null);
+                        int leafCount = Math.min(nodeCount - index, 1 + random.nextInt(MAX_LEAVES_PER_CONTAINER));
+                        if (leafCount > 0) {
+                            json.writeArrayFieldStart("children");
+                            for (int j = 0; j < leafCount; j++) {
+                                writeNodeStart(json, LEAF_KEY, "index", index, severity(random));
+                                json.writeEndObject();
+                                index++;
+                            }
+                            json.writeEndArray();
+                        }
+                        json.writeEndObject();
+                    }
+                    json.writeEndArray();
+                }
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        }
+        json.writeEndObject();
+    }
+
+    private static void writeNodeStart(JsonGenerator json, String messageKey, String valueKey, int value, String severity) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("messageKey", messageKey);
+        json.writeObjectFieldStart("values");
+        json.writeObjectFieldStart(valueKey);
+        json.writeNumberField("value", value);
+        json.writeEndObject();
+        if (severity != null) {
+            json.writeObjectFieldStart("lineId");
+            json.writeStringField("value", "LINE_" + value % 997);
+            json.writeEndObject();
+            json.writeObjectFieldStart("reportSeverity");
+            json.writeStringField("value", severity);
+            json.writeStringField("type", "SEVERITY");
+            json.writeEndObject();
+        }
+        json.writeEndObject();
+    }
+
+    private static String severity(Random random) {
+        int percent = random.nextInt(100);
+        if (percent < 60) {
+            return "INFO";
+        } else if (percent < 85) {
+            return "TRACE";
+        } else if (percent < 95) {
+            return "WARN";
+        }
+        return "ERROR";
+    }
+}
@@ -7,6 +7,8 @@
 
 package org.gridsuite.report.server.utils;
 
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
 import org.gridsuite.report.server.dto.Report;
 import org.gridsuite.report.server.dto.ReportLog;
 
@@ -31,6 +33,17 @@ public final class TestUtils {
         assertDeleteCount(delete);
     }
 
+    /**
+     * Same as {@link #assertRequestsCount} for the statements whose count depends on the data, such as batched inserts.
+     */
+    public static void assertRequestsCountAtMost(long select, long insert, long update, long delete) {
+        QueryCount queryCount = QueryCountHolder.getGrandTotal();
+        assertTrue("At most " + select + " selects expected, got " + queryCount.getSelect(), queryCount.getSelect() <= select);
+        assertTrue("At most " + insert + " inserts expected, got " + queryCount.getInsert(), queryCount.getInsert() <= insert);
+        assertTrue("At most " + update + " updates expected, got " + queryCount.getUpdate(), queryCount.getUpdate() <= update);
+        assertTrue("At most " + delete + " deletes expected, got " + queryCount.getDelete(), queryCount.getDelete() <= delete);
+    }
+
     public static void assertReportsAreEqualIgnoringIds(Report expectedNode, Report actualNode) {
         assertEquals(expectedNode.getMessage(), actualNode.getMessage());
         assertEquals(expectedNode.getSeverity().toString(), actualNode.getSeverity().toString());